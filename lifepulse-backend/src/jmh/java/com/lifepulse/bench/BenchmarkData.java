@@ -0,0 +1,120 @@
+package com.lifepulse.bench;
+
+import com.lifepulse.entity.Goal;
+import com.lifepulse.entity.HydrationEntry;
+import com.lifepulse.entity.MeditationSession;
+import com.lifepulse.entity.ScheduleEvent;
+import com.lifepulse.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic fixtures shaped like production documents: same seed, same data, so results from
+ * different versions are comparable.
+ */
+public final class BenchmarkData {
+
+    public static final String USER_ID = "65f0c0ffee0000000000beef";
+    public static final String EMAIL = "bench.user@example.com";
+    // Fixed instant so payload sizes do not change with the wall clock
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 15, 9, 30);
+    private static final long SEED = 42L;
+
+    private BenchmarkData() {
+    }
+
+    public static User user() {
+        return User.builder()
+                .id(USER_ID)
+                .name("Bench User")
+                .email(EMAIL)
+                .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3Zp6V3T0YB5i4eY5l0z7VQe")
+                .bio("Morning runner, evening meditator.")
+                .profilePictureUrl("profile-pictures/0d1f6c2a9b7e4f3c8a5d2e1b0c9f8e7d6a5b4c3d2e1f0a9b8c7d6e5f4a3b2c1d.jpg")
+                .streak(12)
+                .createdAt(NOW.minusDays(200))
+                .build();
+    }
+
+    public static List<Goal> goals(int count) {
+        Random random = new Random(SEED);
+        Goal.GoalCategory[] categories = Goal.GoalCategory.values();
+        Goal.GoalPriority[] priorities = Goal.GoalPriority.values();
+        List<Goal> goals = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int target = 10 + random.nextInt(490);
+            goals.add(Goal.builder()
+                    .id(String.format("65f1%020x", i))
+                    .title("Goal " + i + ": read " + target + " pages")
+                    .description("Keep a steady pace and log progress every evening before bed.")
+                    .category(categories[random.nextInt(categories.length)])
+                    .targetValue(target)
+                    .currentValue(random.nextInt(target))
+                    .unit("pages")
+                    .deadline(NOW.plusDays(random.nextInt(90)))
+                    .completed(random.nextInt(4) == 0)
+                    .priority(priorities[random.nextInt(priorities.length)])
+                    .userId(USER_ID)
+                    .createdAt(NOW.minusDays(random.nextInt(120)))
+                    .updatedAt(NOW.minusHours(random.nextInt(72)))
+                    .build());
+        }
+        return goals;
+    }
+
+    public static List<ScheduleEvent> events(int count) {
+        Random random = new Random(SEED + 1);
+        ScheduleEvent.EventCategory[] categories = ScheduleEvent.EventCategory.values();
+        List<ScheduleEvent> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime start = NOW.plusHours(1 + i * 3L + random.nextInt(3));
+            events.add(ScheduleEvent.builder()
+                    .id(String.format("65f2%020x", i))
+                    .title("Event " + i)
+                    .description("Weekly sync with the team, agenda in the shared doc.")
+                    .startTime(start)
+                    .endTime(start.plusMinutes(30 + random.nextInt(90)))
+                    .category(categories[random.nextInt(categories.length)])
+                    .priority(ScheduleEvent.EventPriority.MEDIUM)
+                    .userId(USER_ID)
+                    .createdAt(NOW.minusDays(random.nextInt(30)))
+                    .updatedAt(NOW.minusDays(random.nextInt(5)))
+                    .build());
+        }
+        return events;
+    }
+
+    public static List<HydrationEntry> hydrationEntries(int count) {
+        Random random = new Random(SEED + 2);
+        List<HydrationEntry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entries.add(HydrationEntry.builder()
+                    .id(String.format("65f3%020x", i))
+                    .amount(150 + random.nextInt(8) * 50)
+                    .userId(USER_ID)
+                    .timestamp(NOW.minusMinutes(i * 45L))
+                    .build());
+        }
+        return entries;
+    }
+
+    public static List<MeditationSession> meditationSessions(int count) {
+        Random random = new Random(SEED + 3);
+        MeditationSession.MeditationType[] types = MeditationSession.MeditationType.values();
+        List<MeditationSession> sessions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            sessions.add(MeditationSession.builder()
+                    .id(String.format("65f4%020x", i))
+                    .duration(5 + random.nextInt(26))
+                    .type(types[random.nextInt(types.length)])
+                    .notes(i % 2 == 0 ? "Felt calm afterwards" : null)
+                    .userId(USER_ID)
+                    .timestamp(NOW.minusHours(i * 4L))
+                    .build());
+        }
+        return sessions;
+    }
+}
@@ -0,0 +1,111 @@
+package com.lifepulse.bench;
+
+import com.lifepulse.dto.dashboard.DashboardResponse;
+import com.lifepulse.entity.Goal;
+import com.lifepulse.entity.HydrationEntry;
+import com.lifepulse.entity.MeditationSession;
+import com.lifepulse.entity.ScheduleEvent;
+import com.lifepulse.service.DashboardService;
+import com.lifepulse.service.GoalService;
+import com.lifepulse.service.HydrationService;
+import com.lifepulse.service.MeditationService;
+import com.lifepulse.service.ScheduleService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The aggregation in {@link DashboardService} over in-memory services, i.e. everything the
+ * dashboard does after the data is loaded. The goal count shows the cost of loading every goal
+ * only to keep five.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DashboardServiceBenchmark {
+
+    @Param({"5", "50", "500"})
+    public int goals;
+
+    private DashboardService dashboardService;
+
+    @Setup
+    public void setUp() {
+        List<Goal> userGoals = BenchmarkData.goals(goals);
+        long completed = userGoals.stream().filter(Goal::isCompleted).count();
+        List<ScheduleEvent> events = BenchmarkData.events(20);
+        List<HydrationEntry> hydration = BenchmarkData.hydrationEntries(8);
+        List<MeditationSession> sessions = BenchmarkData.meditationSessions(2);
+
+        // Constructors only store their collaborators, so the stubs can pass null
+        GoalService goalService = new GoalService(null, null, null, null) {
+            @Override
+            public List<Goal> getUserGoals(String userId) {
+                return userGoals;
+            }
+
+            @Override
+            public long getTotalGoalsCount(String userId) {
+                return userGoals.size();
+            }
+
+            @Override
+            public long getCompletedGoalsCount(String userId) {
+                return completed;
+            }
+        };
+        HydrationService hydrationService = new HydrationService(null, null) {
+            @Override
+            public List<HydrationEntry> getTodayEntries(String userId) {
+                return hydration;
+            }
+        };
+        MeditationService meditationService = new MeditationService(null, null, null) {
+            @Override
+            public List<MeditationSession> getTodayDurations(String userId) {
+                return sessions;
+            }
+        };
+        ScheduleService scheduleService = new ScheduleService(null, null, null) {
+            @Override
+            public List<ScheduleEvent> getUpcomingEvents(String userId) {
+                return events;
+            }
+
+            @Override
+            public long getTodayEventsCount(String userId) {
+                return 6;
+            }
+
+            @Override
+            public long getTodayUpcomingEventsCount(String userId) {
+                return 4;
+            }
+
+            @Override
+            public long getTodayPastEventsCount(String userId) {
+                return 2;
+            }
+        };
+        dashboardService = new DashboardService(goalService, hydrationService, meditationService, scheduleService);
+    }
+
+    @Benchmark
+    public DashboardResponse dashboard() {
+        return dashboardService.getDashboardData(BenchmarkData.USER_ID);
+    }
+}
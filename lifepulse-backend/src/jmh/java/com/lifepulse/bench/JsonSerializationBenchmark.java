@@ -0,0 +1,81 @@
+package com.lifepulse.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lifepulse.config.JacksonConfig;
+import com.lifepulse.dto.ApiResponse;
+import com.lifepulse.dto.dashboard.DashboardResponse;
+import com.lifepulse.dto.hydration.HydrationResponse;
+import com.lifepulse.entity.HydrationEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response bodies as the controllers write them, with the application's ObjectMapper configuration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JsonSerializationBenchmark {
+
+    // A typical day is around 8 entries; 64 covers the heavy history views
+    @Param({"8", "64"})
+    public int hydrationEntries;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<DashboardResponse> dashboard;
+    private ApiResponse<HydrationResponse> hydration;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new JacksonConfig().objectMapper();
+
+        DashboardResponse.TodayStats today = DashboardResponse.TodayStats.builder()
+                .goals(DashboardResponse.GoalStats.builder().total(14).completed(5).active(9).percentage(35.7).build())
+                .hydration(DashboardResponse.HydrationStats.builder().amount(1450).goal(2000).percentage(72.5).build())
+                .meditation(DashboardResponse.MeditationStats.builder().minutes(25).sessions(2).goal(20).build())
+                .schedule(DashboardResponse.ScheduleStats.builder().total(6).upcoming(4).past(2).build())
+                .build();
+        dashboard = ApiResponse.success(DashboardResponse.builder()
+                .today(today)
+                .recentGoals(BenchmarkData.goals(5))
+                .upcomingEvents(BenchmarkData.events(5))
+                .build());
+
+        List<HydrationEntry> entries = BenchmarkData.hydrationEntries(hydrationEntries);
+        hydration = ApiResponse.success(HydrationResponse.builder()
+                .entries(entries)
+                .totalAmount(entries.stream().mapToInt(HydrationEntry::getAmount).sum())
+                .entryCount(entries.size())
+                .build());
+    }
+
+    @Benchmark
+    public byte[] dashboard() throws Exception {
+        return objectMapper.writeValueAsBytes(dashboard);
+    }
+
+    @Benchmark
+    public byte[] hydration() throws Exception {
+        return objectMapper.writeValueAsBytes(hydration);
+    }
+
+    @Benchmark
+    public byte[] error() throws Exception {
+        return objectMapper.writeValueAsBytes(ApiResponse.error("Failed to fetch dashboard data: timeout"));
+    }
+}
@@ -0,0 +1,105 @@
+package com.lifepulse.loadtest;
+
+import com.lifepulse.LifePulseBackendApplication;
+import com.lifepulse.loadtest.dataset.DatasetGenerator;
+import com.lifepulse.loadtest.dataset.DatasetSpec;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The application booted in-process against a throwaway mongod. Images go to the local store
+ * under target/ and the batch jobs that would compete with the measured traffic (image GC, deadline
+ * sweeper, history compaction, upload-intent cleanup) are disabled. Reminders and live session
+ * checkpoints stay on because the replayed traffic exercises them.
+ */
+public class EmbeddedBackend implements AutoCloseable {
+
+    private static final String DATA_DIRECTORY = "target/loadtest";
+    private static final String DATABASE = "lifepulse-loadtest";
+    private static final long DISABLED_DELAY_MS = 7L * 24 * 60 * 60 * 1000;
+
+    private final TransitionWalker.ReachedState<RunningMongodProcess> mongod;
+    private final ConfigurableApplicationContext context;
+
+    private EmbeddedBackend(TransitionWalker.ReachedState<RunningMongodProcess> mongod,
+                            ConfigurableApplicationContext context) {
+        this.mongod = mongod;
+        this.context = context;
+    }
+
+    /**
+     * With {@code --dataset-documents} set, a synthetic dataset is loaded into the fresh database
+     * before the app starts, so startup caches and the measured queries see production-sized collections.
+     */
+    public static EmbeddedBackend start(LoadTestConfig config) throws InterruptedException {
+        System.out.println("Starting embedded mongod");
+        TransitionWalker.ReachedState<RunningMongodProcess> mongod = Mongod.instance().start(Version.Main.V6_0);
+        try {
+            ServerAddress address = mongod.current().getServerAddress();
+            String uri = "mongodb://" + address.getHost().getHostAddress() + ":" + address.getPort() + "/" + DATABASE;
+            if (config.getDatasetDocuments() > 0) {
+                loadDataset(uri, config);
+            }
+
+            Map<String, Object> properties = new LinkedHashMap<>();
+            properties.put("spring.data.mongodb.uri", uri);
+            properties.put("server.port", "0");
+            properties.put("jwt.secret", "bG9hZHRlc3Qtc2VjcmV0LWtleS1mb3ItbGlmZXB1bHNlLWJhY2tlbmQtaG1hYy1zaGEyNTY=");
+            properties.put("image-store.type", "local");
+            properties.put("image-store.local.directory", DATA_DIRECTORY + "/images");
+            properties.put("avatars.proxy.cache-directory", DATA_DIRECTORY + "/avatar-cache");
+            properties.put("images.gc.enabled", "false");
+            properties.put("goals.sweeper.enabled", "false");
+            // No enabled flags; push the first run past any realistic test duration
+            properties.put("goals.history.compact-initial-delay-ms", String.valueOf(DISABLED_DELAY_MS));
+            properties.put("uploads.intents.cleanup-interval-ms", String.valueOf(DISABLED_DELAY_MS));
+            properties.put("logging.level.org.springframework.security", "INFO");
+            properties.put("logging.level.com.lifepulse", "INFO");
+
+            // Command-line arguments outrank application.properties; SpringApplicationBuilder.properties() does not
+            String[] args = properties.entrySet().stream()
+                    .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                    .toArray(String[]::new);
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(LifePulseBackendApplication.class)
+                    .run(args);
+            return new EmbeddedBackend(mongod, context);
+        } catch (RuntimeException | InterruptedException e) {
+            mongod.close();
+            throw e;
+        }
+    }
+
+    private static void loadDataset(String uri, LoadTestConfig config) throws InterruptedException {
+        try (MongoClient client = MongoClients.create(uri)) {
+            DatasetSpec spec = DatasetSpec.builder()
+                    .seed(config.getSeed())
+                    .targetDocuments(config.getDatasetDocuments())
+                    .build();
+            new DatasetGenerator(new MongoTemplate(client, DATABASE)).generate(spec).print();
+        }
+    }
+
+    public String getBaseUrl() {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    @Override
+    public void close() {
+        try {
+            context.close();
+        } finally {
+            mongod.close();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.lifepulse.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and outcomes of one scenario (or replayed endpoint) within the measured window.
+ */
+public class EndpointStats {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final String name;
+    private final Histogram latencies = new ConcurrentHistogram(3);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final Map<Integer, AtomicLong> statusCodes = new ConcurrentHashMap<>();
+
+    public EndpointStats(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @param status HTTP status, or 0 if the request failed without a response
+     */
+    public void record(long latencyNanos, int status) {
+        latencies.recordValue(Math.max(latencyNanos, 0));
+        statusCodes.computeIfAbsent(status, s -> new AtomicLong()).incrementAndGet();
+        if (status < 200 || status >= 400) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * An arrival that was not sent because too many requests were already in flight.
+     */
+    public void recordDropped() {
+        dropped.increment();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCount() {
+        return latencies.getTotalCount();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Failed and dropped requests over all arrivals.
+     */
+    public double getErrorRate() {
+        long arrivals = getCount() + getDropped();
+        return arrivals == 0 ? 0 : (double) (getErrors() + getDropped()) / arrivals;
+    }
+
+    public double percentileMillis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+    }
+
+    public double getMaxMillis() {
+        return latencies.getMaxValue() / NANOS_PER_MILLI;
+    }
+
+    public double getMeanMillis() {
+        return latencies.getMean() / NANOS_PER_MILLI;
+    }
+
+    public Map<Integer, Long> getStatusCodes() {
+        Map<Integer, Long> codes = new TreeMap<>();
+        statusCodes.forEach((status, count) -> codes.put(status, count.get()));
+        return codes;
+    }
+}
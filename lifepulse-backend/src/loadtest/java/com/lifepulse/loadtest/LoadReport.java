@@ -0,0 +1,102 @@
+package com.lifepulse.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the per-endpoint results as JSON and as a console table, and checks them against the
+ * optional thresholds.
+ */
+public class LoadReport {
+
+    private final LoadTestConfig config;
+    private final Map<Scenario, EndpointStats> stats;
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    public LoadReport(LoadTestConfig config, Map<Scenario, EndpointStats> stats) {
+        this.config = config;
+        this.stats = stats;
+    }
+
+    public void write(Path path) throws IOException {
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("generatedAt", Instant.now().toString());
+        ObjectNode options = root.putObject("config");
+        config.asMap().forEach(options::put);
+
+        double seconds = config.getDuration().getSeconds();
+        ArrayNode endpoints = root.putArray("endpoints");
+        for (EndpointStats endpoint : stats.values()) {
+            ObjectNode node = endpoints.addObject();
+            node.put("scenario", endpoint.getName());
+            node.put("count", endpoint.getCount());
+            node.put("errors", endpoint.getErrors());
+            node.put("dropped", endpoint.getDropped());
+            node.put("errorRate", endpoint.getErrorRate());
+            node.put("throughputPerSecond", endpoint.getCount() / seconds);
+            ObjectNode latency = node.putObject("latencyMs");
+            latency.put("p50", endpoint.percentileMillis(50));
+            latency.put("p90", endpoint.percentileMillis(90));
+            latency.put("p99", endpoint.percentileMillis(99));
+            latency.put("p999", endpoint.percentileMillis(99.9));
+            latency.put("max", endpoint.getMaxMillis());
+            latency.put("mean", endpoint.getMeanMillis());
+            ObjectNode codes = node.putObject("statusCodes");
+            endpoint.getStatusCodes().forEach((status, count) -> codes.put(String.valueOf(status), count));
+        }
+
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        objectMapper.writeValue(path.toFile(), root);
+        System.out.println("Report written to " + path.toAbsolutePath());
+    }
+
+    public void print() {
+        double seconds = config.getDuration().getSeconds();
+        System.out.println(String.format("%-18s %8s %8s %8s %9s %9s %9s %9s",
+                "scenario", "count", "req/s", "err%", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (EndpointStats endpoint : stats.values()) {
+            System.out.println(String.format("%-18s %8d %8.1f %8.2f %9.2f %9.2f %9.2f %9.2f",
+                    endpoint.getName(),
+                    endpoint.getCount(),
+                    endpoint.getCount() / seconds,
+                    endpoint.getErrorRate() * 100,
+                    endpoint.percentileMillis(50),
+                    endpoint.percentileMillis(99),
+                    endpoint.percentileMillis(99.9),
+                    endpoint.getMaxMillis()));
+        }
+    }
+
+    /**
+     * Threshold violations, empty if the run passed or no thresholds were given.
+     */
+    public List<String> violations() {
+        List<String> violations = new ArrayList<>();
+        for (EndpointStats endpoint : stats.values()) {
+            if (endpoint.getCount() == 0 && endpoint.getDropped() == 0) {
+                continue;
+            }
+            if (config.getMaxErrorRate() >= 0 && endpoint.getErrorRate() > config.getMaxErrorRate()) {
+                violations.add(endpoint.getName() + ": error rate " + endpoint.getErrorRate()
+                        + " exceeds " + config.getMaxErrorRate());
+            }
+            if (config.getMaxP99Millis() >= 0 && endpoint.percentileMillis(99) > config.getMaxP99Millis()) {
+                violations.add(endpoint.getName() + ": p99 " + endpoint.percentileMillis(99)
+                        + "ms exceeds " + config.getMaxP99Millis() + "ms");
+            }
+        }
+        return violations;
+    }
+}
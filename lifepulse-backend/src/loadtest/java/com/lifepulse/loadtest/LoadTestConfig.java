@@ -0,0 +1,168 @@
+package com.lifepulse.loadtest;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command line options, given as {@code --name=value}. Every option has a default, so a bare run
+ * boots the app against an embedded Mongo and drives a moderate load.
+ */
+public class LoadTestConfig {
+
+    private final Map<String, String> options = new LinkedHashMap<>();
+
+    public LoadTestConfig(String[] args) {
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            int equals = arg.indexOf('=');
+            if (equals < 0) {
+                options.put(arg.substring(2), "true");
+            } else {
+                options.put(arg.substring(2, equals), arg.substring(equals + 1));
+            }
+        }
+    }
+
+    /**
+     * Base URL of a running deployment; empty (the default) boots the app in-process against an embedded Mongo.
+     */
+    public String getTarget() {
+        return options.getOrDefault("target", "");
+    }
+
+    /**
+     * Mean arrival rate in requests per second, independent of how fast responses come back.
+     */
+    public double getRate() {
+        return Double.parseDouble(options.getOrDefault("rate", "50"));
+    }
+
+    /**
+     * {@code poisson} (exponential gaps, the default) or {@code constant}.
+     */
+    public String getArrival() {
+        return options.getOrDefault("arrival", "poisson");
+    }
+
+    public Duration getWarmup() {
+        return Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup-seconds", "15")));
+    }
+
+    public Duration getDuration() {
+        return Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration-seconds", "60")));
+    }
+
+    /**
+     * Requests allowed in flight; arrivals beyond it are counted as dropped instead of queued.
+     */
+    public int getMaxInFlight() {
+        return Integer.parseInt(options.getOrDefault("max-in-flight", "512"));
+    }
+
+    public int getUsers() {
+        return Integer.parseInt(options.getOrDefault("users", "50"));
+    }
+
+    public int getGoalsPerUser() {
+        return Integer.parseInt(options.getOrDefault("goals-per-user", "8"));
+    }
+
+    public int getEventsPerUser() {
+        return Integer.parseInt(options.getOrDefault("events-per-user", "20"));
+    }
+
+    /**
+     * Synthetic documents to load into the embedded database before boot; 0 (the default) starts empty.
+     */
+    public long getDatasetDocuments() {
+        return Long.parseLong(options.getOrDefault("dataset-documents", "0"));
+    }
+
+    public long getSeed() {
+        return Long.parseLong(options.getOrDefault("seed", "42"));
+    }
+
+    /**
+     * Scenario weights, e.g. {@code dashboard:40,hydration-add:20}. Scenarios left out keep their default weight.
+     */
+    public Map<String, Integer> getMix() {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        String value = options.get("mix");
+        if (value != null && !value.isBlank()) {
+            for (String entry : value.split(",")) {
+                String[] parts = entry.split(":");
+                mix.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+            }
+        }
+        return mix;
+    }
+
+    public Path getReport() {
+        String defaultReport = getReplay().isEmpty() ? "target/loadtest-report.json" : "target/replay-report.json";
+        return Paths.get(options.getOrDefault("report", defaultReport));
+    }
+
+    /**
+     * Traffic recording (file or directory) to replay instead of the synthetic mix; empty by default.
+     */
+    public String getReplay() {
+        return options.getOrDefault("replay", "");
+    }
+
+    /**
+     * Replay speed-up: 1 keeps recorded timing, 4 compresses think times and gaps fourfold.
+     */
+    public double getSpeed() {
+        return Double.parseDouble(options.getOrDefault("speed", "1"));
+    }
+
+    /**
+     * Earlier replay report to compare against; empty by default.
+     */
+    public String getBaseline() {
+        return options.getOrDefault("baseline", "");
+    }
+
+    /**
+     * Fail a replay when an endpoint's p50 or p99 grew by more than this over the baseline; negative disables.
+     */
+    public double getMaxRegressionPercent() {
+        return Double.parseDouble(options.getOrDefault("max-regression-pct", "-1"));
+    }
+
+    /**
+     * Fail the run (non-zero exit) when any endpoint exceeds these; negative disables the check.
+     */
+    public double getMaxErrorRate() {
+        return Double.parseDouble(options.getOrDefault("max-error-rate", "-1"));
+    }
+
+    public double getMaxP99Millis() {
+        return Double.parseDouble(options.getOrDefault("max-p99-ms", "-1"));
+    }
+
+    public Map<String, String> asMap() {
+        Map<String, String> effective = new LinkedHashMap<>();
+        effective.put("target", getTarget().isEmpty() ? "embedded" : getTarget());
+        effective.put("rate", String.valueOf(getRate()));
+        effective.put("arrival", getArrival());
+        effective.put("warmupSeconds", String.valueOf(getWarmup().getSeconds()));
+        effective.put("durationSeconds", String.valueOf(getDuration().getSeconds()));
+        effective.put("maxInFlight", String.valueOf(getMaxInFlight()));
+        effective.put("users", String.valueOf(getUsers()));
+        effective.put("goalsPerUser", String.valueOf(getGoalsPerUser()));
+        effective.put("eventsPerUser", String.valueOf(getEventsPerUser()));
+        effective.put("datasetDocuments", String.valueOf(getDatasetDocuments()));
+        effective.put("seed", String.valueOf(getSeed()));
+        if (!getReplay().isEmpty()) {
+            effective.put("replay", getReplay());
+            effective.put("speed", String.valueOf(getSpeed()));
+        }
+        return effective;
+    }
+}
@@ -0,0 +1,74 @@
+package com.lifepulse.loadtest;
+
+import com.lifepulse.loadtest.replay.ReplayReport;
+import com.lifepulse.loadtest.replay.TrafficLog;
+import com.lifepulse.loadtest.replay.TrafficReplayer;
+
+import java.net.http.HttpClient;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entry point of the load test ({@code mvn -Ploadtest test-compile exec:java -Dexec.args="--rate=100"}) and of
+ * traffic replay ({@code --replay=data/traffic}).
+ * See {@link LoadTestConfig} for the options.
+ */
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = new LoadTestConfig(args);
+        EmbeddedBackend backend = config.getTarget().isEmpty() ? EmbeddedBackend.start(config) : null;
+        int exitCode;
+        try {
+            String baseUrl = backend != null ? backend.getBaseUrl() : config.getTarget();
+            exitCode = run(config, baseUrl);
+        } finally {
+            if (backend != null) {
+                backend.close();
+            }
+        }
+        System.exit(exitCode);
+    }
+
+    private static int run(LoadTestConfig config, String baseUrl) throws Exception {
+        // The app speaks plain HTTP/1.1; the default client would attempt an h2c upgrade on every connection
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        System.out.println("Seeding " + config.getUsers() + " users against " + baseUrl);
+        List<VirtualUser> users = new Seeder(client, baseUrl).seed(config);
+
+        if (!config.getReplay().isEmpty()) {
+            return replay(config, client, baseUrl, users);
+        }
+
+        Map<Scenario, EndpointStats> stats = new OpenLoadDriver(client, baseUrl, users, config).run();
+
+        LoadReport report = new LoadReport(config, stats);
+        report.print();
+        report.write(config.getReport());
+
+        List<String> violations = report.violations();
+        violations.forEach(violation -> System.err.println("Threshold exceeded: " + violation));
+        return violations.isEmpty() ? 0 : 1;
+    }
+
+    private static int replay(LoadTestConfig config, HttpClient client, String baseUrl, List<VirtualUser> users)
+            throws Exception {
+        TrafficLog log = TrafficLog.read(Paths.get(config.getReplay()));
+        TrafficReplayer replayer = new TrafficReplayer(client, baseUrl, users, config.getSpeed());
+        replayer.run(log);
+
+        ReplayReport report = new ReplayReport(config, log, replayer);
+        report.print();
+        report.write(config.getReport());
+
+        List<String> violations = report.violations();
+        violations.forEach(violation -> System.err.println("Threshold exceeded: " + violation));
+        return violations.isEmpty() ? 0 : 1;
+    }
+}
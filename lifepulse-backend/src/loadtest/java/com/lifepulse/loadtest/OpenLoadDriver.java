@@ -0,0 +1,135 @@
+package com.lifepulse.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load: requests are started on a precomputed arrival schedule whether or not earlier
+ * ones have completed, so a slow server shows up as latency rather than as a lower request rate.
+ * The arrival times, scenario choices and users all come from one seed, so two runs with the same
+ * options send the same sequence of requests.
+ */
+public class OpenLoadDriver {
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final List<VirtualUser> users;
+    private final LoadTestConfig config;
+    private final Scenario[] weightedScenarios;
+    private final Map<Scenario, EndpointStats> stats = new LinkedHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public OpenLoadDriver(HttpClient client, String baseUrl, List<VirtualUser> users, LoadTestConfig config) {
+        if (users.isEmpty()) {
+            throw new IllegalArgumentException("At least one seeded user is required");
+        }
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.users = users;
+        this.config = config;
+        this.weightedScenarios = weightedScenarios(config.getMix());
+        for (Scenario scenario : Scenario.values()) {
+            stats.put(scenario, new EndpointStats(scenario.getId()));
+        }
+    }
+
+    /**
+     * Runs warmup then the measured window and waits for outstanding requests.
+     *
+     * @return per-scenario stats for the measured window only
+     */
+    public Map<Scenario, EndpointStats> run() throws InterruptedException {
+        Random random = new Random(config.getSeed());
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / config.getRate();
+        boolean poisson = "poisson".equalsIgnoreCase(config.getArrival());
+
+        long start = System.nanoTime();
+        long measureFrom = start + config.getWarmup().toNanos();
+        long end = measureFrom + config.getDuration().toNanos();
+        double offset = 0;
+
+        System.out.println("Warming up for " + config.getWarmup().getSeconds() + "s at " + config.getRate() + " req/s");
+        boolean announced = false;
+        while (true) {
+            long intended = start + (long) offset;
+            if (intended >= end) {
+                break;
+            }
+            if (!announced && intended >= measureFrom) {
+                System.out.println("Measuring for " + config.getDuration().getSeconds() + "s");
+                announced = true;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Scenario scenario = weightedScenarios[random.nextInt(weightedScenarios.length)];
+            VirtualUser user = users.get(random.nextInt(users.size()));
+            if (!scenario.applicable(user)) {
+                scenario = Scenario.DASHBOARD;
+            }
+            HttpRequest request = scenario.request(baseUrl, user, random).timeout(Scenario.REQUEST_TIMEOUT).build();
+            fire(scenario, request, intended, intended >= measureFrom);
+
+            offset += poisson ? -Math.log(1 - random.nextDouble()) * meanGapNanos : meanGapNanos;
+        }
+
+        long drainDeadline = System.nanoTime() + Scenario.REQUEST_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(50);
+        }
+        return stats;
+    }
+
+    private void fire(Scenario scenario, HttpRequest request, long intended, boolean measured) {
+        EndpointStats endpoint = stats.get(scenario);
+        if (inFlight.incrementAndGet() > config.getMaxInFlight()) {
+            inFlight.decrementAndGet();
+            if (measured) {
+                endpoint.recordDropped();
+            }
+            return;
+        }
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    long latency = System.nanoTime() - intended;
+                    inFlight.decrementAndGet();
+                    if (measured) {
+                        endpoint.record(latency, error == null ? response.statusCode() : 0);
+                    }
+                });
+    }
+
+    private static Scenario[] weightedScenarios(Map<String, Integer> overrides) {
+        for (String id : overrides.keySet()) {
+            boolean known = false;
+            for (Scenario scenario : Scenario.values()) {
+                known |= scenario.getId().equals(id);
+            }
+            if (!known) {
+                throw new IllegalArgumentException("Unknown scenario in --mix: " + id);
+            }
+        }
+        List<Scenario> weighted = new ArrayList<>();
+        for (Scenario scenario : Scenario.values()) {
+            int weight = overrides.getOrDefault(scenario.getId(), scenario.getDefaultWeight());
+            for (int i = 0; i < weight; i++) {
+                weighted.add(scenario);
+            }
+        }
+        if (weighted.isEmpty()) {
+            throw new IllegalArgumentException("Scenario mix has no weight");
+        }
+        return weighted.toArray(new Scenario[0]);
+    }
+}
@@ -0,0 +1,95 @@
+package com.lifepulse.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * The request mix. Each scenario is one HTTP call made as a random seeded user; weights are the
+ * defaults and can be overridden with {@code --mix}.
+ */
+public enum Scenario {
+
+    SIGNIN("signin", 5) {
+        @Override
+        HttpRequest.Builder request(String baseUrl, VirtualUser user, Random random) {
+            String body = "{\"email\":\"" + user.getEmail() + "\",\"password\":\"" + user.getPassword() + "\"}";
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/signin"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body));
+        }
+    },
+    DASHBOARD("dashboard", 35) {
+        @Override
+        HttpRequest.Builder request(String baseUrl, VirtualUser user, Random random) {
+            return authorized(baseUrl + "/api/dashboard", user).GET();
+        }
+    },
+    HYDRATION_ADD("hydration-add", 20) {
+        @Override
+        HttpRequest.Builder request(String baseUrl, VirtualUser user, Random random) {
+            // Quick-add buttons: a glass, a bottle, a large bottle
+            int[] amounts = {250, 500, 750};
+            String body = "{\"amount\":" + amounts[random.nextInt(amounts.length)] + "}";
+            return authorized(baseUrl + "/api/hydration", user)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body));
+        }
+    },
+    GOAL_PROGRESS("goal-progress", 15) {
+        @Override
+        HttpRequest.Builder request(String baseUrl, VirtualUser user, Random random) {
+            String goalId = user.getGoalIds().get(random.nextInt(user.getGoalIds().size()));
+            return authorized(baseUrl + "/api/goals/" + goalId + "/progress/increment", user)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"amount\":1}"));
+        }
+
+        @Override
+        boolean applicable(VirtualUser user) {
+            return !user.getGoalIds().isEmpty();
+        }
+    },
+    SCHEDULE_UPCOMING("schedule-upcoming", 15) {
+        @Override
+        HttpRequest.Builder request(String baseUrl, VirtualUser user, Random random) {
+            return authorized(baseUrl + "/api/schedule/upcoming", user).GET();
+        }
+    },
+    SCHEDULE_LIST("schedule-list", 10) {
+        @Override
+        HttpRequest.Builder request(String baseUrl, VirtualUser user, Random random) {
+            return authorized(baseUrl + "/api/schedule", user).GET();
+        }
+    };
+
+    static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String id;
+    private final int defaultWeight;
+
+    Scenario(String id, int defaultWeight) {
+        this.id = id;
+        this.defaultWeight = defaultWeight;
+    }
+
+    abstract HttpRequest.Builder request(String baseUrl, VirtualUser user, Random random);
+
+    boolean applicable(VirtualUser user) {
+        return true;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public int getDefaultWeight() {
+        return defaultWeight;
+    }
+
+    private static HttpRequest.Builder authorized(String url, VirtualUser user) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Authorization", "Bearer " + user.getToken());
+    }
+}
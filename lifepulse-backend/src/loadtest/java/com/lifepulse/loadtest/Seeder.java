@@ -0,0 +1,122 @@
+package com.lifepulse.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Creates the accounts, goals and schedule events the scenarios read and write, through the public
+ * API so the data goes through the same validation and indexes as real traffic. Accounts that
+ * already exist (a re-run against a persistent target) are signed in instead.
+ */
+public class Seeder {
+
+    static final String PASSWORD = "loadtest-password";
+
+    private static final String[] GOAL_CATEGORIES = {"WORK", "PERSONAL", "HEALTH", "FITNESS", "OTHER"};
+    private static final String[] EVENT_CATEGORIES = {"WORK", "PERSONAL", "HEALTH", "SOCIAL", "OTHER"};
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public Seeder(HttpClient client, String baseUrl) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+    }
+
+    public List<VirtualUser> seed(LoadTestConfig config) throws IOException, InterruptedException {
+        Random random = new Random(config.getSeed());
+        List<VirtualUser> users = new ArrayList<>();
+        for (int i = 0; i < config.getUsers(); i++) {
+            String email = "loadtest-user-" + i + "@example.com";
+            String token = register(email, "Load Test " + i);
+
+            List<String> goalIds = new ArrayList<>();
+            for (int g = 0; g < config.getGoalsPerUser(); g++) {
+                ObjectNode goal = objectMapper.createObjectNode()
+                        .put("title", "Goal " + g)
+                        .put("category", GOAL_CATEGORIES[random.nextInt(GOAL_CATEGORIES.length)])
+                        .put("targetValue", 10 + random.nextInt(90))
+                        .put("unit", "times");
+                goalIds.add(post("/api/goals", token, json(goal)).path("data").path("id").asText());
+            }
+
+            List<String> eventIds = new ArrayList<>();
+            LocalDateTime dayStart = LocalDate.now().atStartOfDay();
+            for (int e = 0; e < config.getEventsPerUser(); e++) {
+                // Spread over the past and next two weeks so both the list and upcoming views have rows
+                LocalDateTime startTime = dayStart.plusDays(random.nextInt(28) - 14).plusHours(7 + random.nextInt(12));
+                ObjectNode event = objectMapper.createObjectNode()
+                        .put("title", "Event " + e)
+                        .put("startTime", startTime.toString())
+                        .put("endTime", startTime.plusMinutes(30L * (1 + random.nextInt(4))).toString())
+                        .put("category", EVENT_CATEGORIES[random.nextInt(EVENT_CATEGORIES.length)]);
+                eventIds.add(post("/api/schedule", token, json(event)).path("data").path("id").asText());
+            }
+
+            users.add(new VirtualUser(email, PASSWORD, token, goalIds, eventIds));
+            if ((i + 1) % 10 == 0 || i + 1 == config.getUsers()) {
+                System.out.println("Seeded " + (i + 1) + "/" + config.getUsers() + " users");
+            }
+        }
+        return users;
+    }
+
+    private String register(String email, String name) throws IOException, InterruptedException {
+        ObjectNode credentials = objectMapper.createObjectNode()
+                .put("email", email)
+                .put("password", PASSWORD);
+        ObjectNode registration = objectMapper.createObjectNode()
+                .put("name", name)
+                .put("email", email)
+                .put("password", PASSWORD);
+
+        HttpResponse<String> response = send(jsonRequest("/api/auth/register", null, json(registration)));
+        if (response.statusCode() != 200) {
+            response = send(jsonRequest("/api/auth/signin", null, json(credentials)));
+        }
+        return checked("/api/auth/signin", response).path("data").path("token").asText();
+    }
+
+    private JsonNode post(String path, String token, String body) throws IOException, InterruptedException {
+        return checked(path, send(jsonRequest(path, token, body)));
+    }
+
+    private HttpRequest jsonRequest(String path, String token, String body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Scenario.REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private String json(ObjectNode node) throws IOException {
+        return objectMapper.writeValueAsString(node);
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private JsonNode checked(String path, HttpResponse<String> response) throws IOException {
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Seeding failed at " + path + ": " + response.statusCode() + " " + response.body());
+        }
+        return objectMapper.readTree(response.body());
+    }
+}
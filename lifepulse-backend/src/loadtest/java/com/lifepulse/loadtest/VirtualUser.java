@@ -0,0 +1,43 @@
+package com.lifepulse.loadtest;
+
+import java.util.List;
+
+/**
+ * A seeded account the scenarios act as.
+ */
+public class VirtualUser {
+
+    private final String email;
+    private final String password;
+    private final String token;
+    private final List<String> goalIds;
+    private final List<String> eventIds;
+
+    public VirtualUser(String email, String password, String token, List<String> goalIds, List<String> eventIds) {
+        this.email = email;
+        this.password = password;
+        this.token = token;
+        this.goalIds = goalIds;
+        this.eventIds = eventIds;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public List<String> getGoalIds() {
+        return goalIds;
+    }
+
+    public List<String> getEventIds() {
+        return eventIds;
+    }
+}
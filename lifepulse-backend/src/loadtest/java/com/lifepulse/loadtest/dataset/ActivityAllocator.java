@@ -0,0 +1,96 @@
+package com.lifepulse.loadtest.dataset;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Splits the activity documents over users along a Zipf curve, capped at what one person could
+ * plausibly log over the history window, so the per-user counts add up to exactly the target.
+ */
+class ActivityAllocator {
+
+    private ActivityAllocator() {
+    }
+
+    /**
+     * @return activity documents per user index; user order is a seeded shuffle of the Zipf ranks
+     */
+    static long[] allocate(long activityDocuments, int users, double skew, long maxPerUser, long seed) {
+        if (maxPerUser * users < activityDocuments) {
+            throw new IllegalArgumentException(activityDocuments + " activity documents need at least "
+                    + (activityDocuments + maxPerUser - 1) / maxPerUser + " users at " + maxPerUser + " per user");
+        }
+
+        int[] rankOf = new int[users];
+        for (int i = 0; i < users; i++) {
+            rankOf[i] = i;
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = users - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = rankOf[i];
+            rankOf[i] = rankOf[j];
+            rankOf[j] = swap;
+        }
+
+        double[] weights = new double[users];
+        for (int i = 0; i < users; i++) {
+            weights[i] = 1.0 / Math.pow(rankOf[i] + 1, skew);
+        }
+
+        // Water-fill: users whose share exceeds the cap get the cap, the rest is re-spread over the others
+        long[] budgets = new long[users];
+        boolean[] capped = new boolean[users];
+        long remaining = activityDocuments;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            double weightSum = 0;
+            for (int i = 0; i < users; i++) {
+                if (!capped[i]) {
+                    weightSum += weights[i];
+                }
+            }
+            long pool = remaining;
+            for (int i = 0; i < users; i++) {
+                if (!capped[i] && pool * weights[i] / weightSum > maxPerUser) {
+                    capped[i] = true;
+                    budgets[i] = maxPerUser;
+                    remaining -= maxPerUser;
+                    changed = true;
+                }
+            }
+        }
+
+        // Largest remainder over the uncapped users so the total is exact
+        double weightSum = 0;
+        for (int i = 0; i < users; i++) {
+            if (!capped[i]) {
+                weightSum += weights[i];
+            }
+        }
+        double[] fractions = new double[users];
+        long assigned = 0;
+        for (int i = 0; i < users; i++) {
+            if (!capped[i]) {
+                double share = remaining * weights[i] / weightSum;
+                budgets[i] = (long) share;
+                fractions[i] = share - budgets[i];
+                assigned += budgets[i];
+            }
+        }
+        Integer[] order = new Integer[users];
+        for (int i = 0; i < users; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(fractions[b], fractions[a]));
+        for (int k = 0; assigned < remaining; k++) {
+            int i = order[k % users];
+            if (!capped[i] && budgets[i] < maxPerUser) {
+                budgets[i]++;
+                assigned++;
+            }
+        }
+        return budgets;
+    }
+}
@@ -0,0 +1,71 @@
+package com.lifepulse.loadtest.dataset;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Generates a dataset into a Mongo database:
+ * {@code mvn -Ploadtest test-compile exec:java -Dloadtest.main=com.lifepulse.loadtest.dataset.DatasetCli
+ * -Dexec.args="--uri=mongodb://localhost:27017/lifepulse --documents=5000000 --drop"}.
+ */
+public class DatasetCli {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            int equals = arg.indexOf('=');
+            options.put(equals < 0 ? arg.substring(2) : arg.substring(2, equals),
+                    equals < 0 ? "true" : arg.substring(equals + 1));
+        }
+
+        DatasetSpec.Builder spec = DatasetSpec.builder();
+        if (options.containsKey("documents")) {
+            spec.targetDocuments(Long.parseLong(options.get("documents")));
+        }
+        if (options.containsKey("users")) {
+            spec.users(Integer.parseInt(options.get("users")));
+        }
+        if (options.containsKey("skew")) {
+            spec.skew(Double.parseDouble(options.get("skew")));
+        }
+        if (options.containsKey("years")) {
+            spec.historyYears(Integer.parseInt(options.get("years")));
+        }
+        if (options.containsKey("seed")) {
+            spec.seed(Long.parseLong(options.get("seed")));
+        }
+        if (options.containsKey("today")) {
+            spec.today(LocalDate.parse(options.get("today")));
+        }
+        if (options.containsKey("threads")) {
+            spec.threads(Integer.parseInt(options.get("threads")));
+        }
+        if (options.containsKey("batch-size")) {
+            spec.batchSize(Integer.parseInt(options.get("batch-size")));
+        }
+        if (options.containsKey("password")) {
+            spec.password(options.get("password"));
+        }
+
+        String uri = options.getOrDefault("uri", "mongodb://localhost:27017/lifepulse-dataset");
+        ConnectionString connectionString = new ConnectionString(uri);
+        String database = connectionString.getDatabase() != null ? connectionString.getDatabase() : "lifepulse-dataset";
+        try (MongoClient client = MongoClients.create(connectionString)) {
+            DatasetGenerator generator = new DatasetGenerator(new MongoTemplate(client, database));
+            if (Boolean.parseBoolean(options.getOrDefault("drop", "false"))) {
+                System.out.println("Dropping existing dataset collections");
+                generator.drop();
+            }
+            generator.generate(spec.build()).print();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.lifepulse.loadtest.dataset;
+
+import com.lifepulse.entity.Goal;
+import com.lifepulse.entity.HydrationEntry;
+import com.lifepulse.entity.MeditationDailyStats;
+import com.lifepulse.entity.MeditationSession;
+import com.lifepulse.entity.MeditationUserStats;
+import com.lifepulse.entity.ScheduleEvent;
+import com.lifepulse.entity.User;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Loads a synthetic dataset through unordered bulk inserts, users generated in parallel across a
+ * fixed pool. Indexes declared on the entities are created after the load, which is much faster
+ * than maintaining them during it.
+ * <p>
+ * Meditation stats are not written: the app rebuilds them from the sessions on first read.
+ * Use a plain {@link MongoTemplate} rather than the application's, since auditing would overwrite
+ * the generated {@code updatedAt} timestamps.
+ */
+public class DatasetGenerator {
+
+    private static final List<Class<?>> ENTITIES = List.of(
+            User.class, HydrationEntry.class, MeditationSession.class, ScheduleEvent.class, Goal.class);
+    private static final int USERS_PER_TASK = 16;
+
+    private final MongoTemplate mongoTemplate;
+
+    public DatasetGenerator(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Drops the generated collections and the meditation stats derived from them.
+     */
+    public void drop() {
+        for (Class<?> entity : ENTITIES) {
+            mongoTemplate.dropCollection(entity);
+        }
+        mongoTemplate.dropCollection(MeditationDailyStats.class);
+        mongoTemplate.dropCollection(MeditationUserStats.class);
+    }
+
+    public DatasetSummary generate(DatasetSpec spec) throws InterruptedException {
+        long started = System.nanoTime();
+        long[] budgets = ActivityAllocator.allocate(spec.getTargetDocuments() - spec.getUsers(), spec.getUsers(),
+                spec.getSkew(), UserHistory.maxDocuments(spec.getHistoryYears()), spec.getSeed());
+        String encodedPassword = new BCryptPasswordEncoder().encode(spec.getPassword());
+
+        Map<Class<?>, LongAdder> inserted = new LinkedHashMap<>();
+        for (Class<?> entity : ENTITIES) {
+            inserted.put(entity, new LongAdder());
+        }
+
+        System.out.println("Generating " + spec.getTargetDocuments() + " documents for " + spec.getUsers()
+                + " users on " + spec.getThreads() + " threads (seed " + spec.getSeed() + ", today " + spec.getToday() + ")");
+        ExecutorService pool = Executors.newFixedThreadPool(spec.getThreads());
+        ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor();
+        progress.scheduleAtFixedRate(() -> System.out.println("Inserted " + total(inserted) + "/" + spec.getTargetDocuments()),
+                10, 10, TimeUnit.SECONDS);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int from = 0; from < spec.getUsers(); from += USERS_PER_TASK) {
+                int first = from;
+                int last = Math.min(from + USERS_PER_TASK, spec.getUsers());
+                tasks.add(pool.submit(() -> {
+                    BulkLoader loader = new BulkLoader(spec.getBatchSize(), inserted);
+                    for (int user = first; user < last; user++) {
+                        new UserHistory(spec.getSeed(), user, budgets[user], spec.getToday(), spec.getHistoryYears())
+                                .generate(encodedPassword, loader::add);
+                    }
+                    loader.flush();
+                }));
+            }
+            for (Future<?> task : tasks) {
+                try {
+                    task.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Dataset generation failed: " + e.getCause().getMessage(), e.getCause());
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+            progress.shutdownNow();
+        }
+        long loadedNanos = System.nanoTime() - started;
+
+        System.out.println("Creating indexes");
+        ensureIndexes();
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        inserted.forEach((entity, count) -> counts.put(mongoTemplate.getCollectionName(entity), count.sum()));
+        return new DatasetSummary(counts, budgets, loadedNanos, System.nanoTime() - started);
+    }
+
+    private void ensureIndexes() {
+        MongoPersistentEntityIndexResolver resolver =
+                new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+        for (Class<?> entity : ENTITIES) {
+            IndexOperations indexOps = mongoTemplate.indexOps(entity);
+            resolver.resolveIndexFor(entity).forEach(indexOps::ensureIndex);
+        }
+    }
+
+    private static long total(Map<Class<?>, LongAdder> inserted) {
+        return inserted.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * Per-thread batches, one per collection.
+     */
+    private class BulkLoader {
+        private final int batchSize;
+        private final Map<Class<?>, LongAdder> inserted;
+        private final Map<Class<?>, List<Object>> batches = new LinkedHashMap<>();
+
+        BulkLoader(int batchSize, Map<Class<?>, LongAdder> inserted) {
+            this.batchSize = batchSize;
+            this.inserted = inserted;
+        }
+
+        void add(Object document) {
+            List<Object> batch = batches.computeIfAbsent(document.getClass(), c -> new ArrayList<>(batchSize));
+            batch.add(document);
+            if (batch.size() >= batchSize) {
+                write(document.getClass(), batch);
+            }
+        }
+
+        void flush() {
+            batches.forEach(this::write);
+        }
+
+        private void write(Class<?> entity, List<Object> batch) {
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, entity).insert(batch).execute();
+            } catch (BulkOperationException e) {
+                throw new IllegalStateException("Bulk insert into " + mongoTemplate.getCollectionName(entity)
+                        + " failed (" + e.getErrors().size() + " errors); drop the existing dataset first", e);
+            }
+            inserted.get(entity).add(batch.size());
+            batch.clear();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.lifepulse.loadtest.dataset;
+
+import java.time.LocalDate;
+
+/**
+ * What to generate. The same spec (including {@code today}) always produces the same documents,
+ * whatever the thread count; only the salt of the shared password hash differs between runs.
+ */
+public class DatasetSpec {
+
+    private final long seed;
+    private final long targetDocuments;
+    private final int users;
+    private final double skew;
+    private final int historyYears;
+    private final LocalDate today;
+    private final int threads;
+    private final int batchSize;
+    private final String password;
+
+    private DatasetSpec(Builder builder) {
+        this.seed = builder.seed;
+        this.targetDocuments = builder.targetDocuments;
+        this.users = builder.users > 0 ? builder.users : (int) Math.max(1, builder.targetDocuments / 400);
+        this.skew = builder.skew;
+        this.historyYears = builder.historyYears;
+        this.today = builder.today;
+        this.threads = builder.threads;
+        this.batchSize = builder.batchSize;
+        this.password = builder.password;
+
+        if (targetDocuments < users) {
+            throw new IllegalArgumentException("Target of " + targetDocuments + " documents cannot hold " + users + " users");
+        }
+        if (skew < 0) {
+            throw new IllegalArgumentException("Skew must not be negative");
+        }
+        if (historyYears < 1 || threads < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("History years, threads and batch size must be positive");
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Total documents across users, hydration entries, meditation sessions, schedule events and goals.
+     */
+    public long getTargetDocuments() {
+        return targetDocuments;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    /**
+     * Zipf exponent of activity over users: 0 gives every user the same history, larger values
+     * concentrate documents on fewer users, up to the per-user cap implied by the history window.
+     */
+    public double getSkew() {
+        return skew;
+    }
+
+    /**
+     * Longest history any user has; the most active users reach it, light users have weeks.
+     */
+    public int getHistoryYears() {
+        return historyYears;
+    }
+
+    public LocalDate getToday() {
+        return today;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Plain-text password of every generated account, so load tests can sign in as them.
+     */
+    public String getPassword() {
+        return password;
+    }
+
+    public static class Builder {
+        private long seed = 42;
+        private long targetDocuments = 1_000_000;
+        private int users;
+        private double skew = 1.0;
+        private int historyYears = 3;
+        private LocalDate today = LocalDate.now();
+        private int threads = Runtime.getRuntime().availableProcessors();
+        private int batchSize = 1000;
+        private String password = "dataset-password";
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public Builder targetDocuments(long targetDocuments) {
+            this.targetDocuments = targetDocuments;
+            return this;
+        }
+
+        /**
+         * Number of accounts; defaults to one per 400 target documents.
+         */
+        public Builder users(int users) {
+            this.users = users;
+            return this;
+        }
+
+        public Builder skew(double skew) {
+            this.skew = skew;
+            return this;
+        }
+
+        public Builder historyYears(int historyYears) {
+            this.historyYears = historyYears;
+            return this;
+        }
+
+        public Builder today(LocalDate today) {
+            this.today = today;
+            return this;
+        }
+
+        public Builder threads(int threads) {
+            this.threads = threads;
+            return this;
+        }
+
+        public Builder batchSize(int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        public Builder password(String password) {
+            this.password = password;
+            return this;
+        }
+
+        public DatasetSpec build() {
+            return new DatasetSpec(this);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.lifepulse.loadtest.dataset;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Documents written per collection and the shape of the per-user distribution.
+ */
+public class DatasetSummary {
+
+    private final Map<String, Long> counts;
+    private final long[] activityPerUser;
+    private final long loadNanos;
+    private final long totalNanos;
+
+    public DatasetSummary(Map<String, Long> counts, long[] activityPerUser, long loadNanos, long totalNanos) {
+        this.counts = counts;
+        this.activityPerUser = activityPerUser.clone();
+        Arrays.sort(this.activityPerUser);
+        this.loadNanos = loadNanos;
+        this.totalNanos = totalNanos;
+    }
+
+    public Map<String, Long> getCounts() {
+        return counts;
+    }
+
+    public long getTotal() {
+        return counts.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Activity documents of the user at this percentile (0-100).
+     */
+    public long perUserPercentile(double percentile) {
+        int index = (int) Math.ceil(percentile / 100 * activityPerUser.length) - 1;
+        return activityPerUser[Math.max(0, Math.min(index, activityPerUser.length - 1))];
+    }
+
+    /**
+     * Fraction of activity documents owned by the most active 1% of users.
+     */
+    public double topPercentShare() {
+        long total = 0;
+        long top = 0;
+        int topUsers = Math.max(1, activityPerUser.length / 100);
+        for (int i = 0; i < activityPerUser.length; i++) {
+            total += activityPerUser[i];
+            if (i >= activityPerUser.length - topUsers) {
+                top += activityPerUser[i];
+            }
+        }
+        return total == 0 ? 0 : (double) top / total;
+    }
+
+    public void print() {
+        counts.forEach((collection, count) -> System.out.println(String.format("%-22s %,14d", collection, count)));
+        System.out.println(String.format("%-22s %,14d", "total", getTotal()));
+        System.out.println(String.format("Per user: p50 %d, p90 %d, p99 %d, max %d; top 1%% of users own %.1f%%",
+                perUserPercentile(50), perUserPercentile(90), perUserPercentile(99), perUserPercentile(100),
+                topPercentShare() * 100));
+        double loadSeconds = loadNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        System.out.println(String.format("Loaded in %.1fs (%,.0f docs/s), %.1fs including indexes",
+                loadSeconds, getTotal() / loadSeconds, totalNanos / (double) TimeUnit.SECONDS.toNanos(1)));
+    }
+}
@@ -0,0 +1,284 @@
+package com.lifepulse.loadtest.dataset;
+
+import com.lifepulse.entity.Goal;
+import com.lifepulse.entity.HydrationEntry;
+import com.lifepulse.entity.MeditationSession;
+import com.lifepulse.entity.ScheduleEvent;
+import com.lifepulse.entity.User;
+import org.bson.types.ObjectId;
+
+import java.nio.ByteBuffer;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+/**
+ * One account and its history: hydration logged through the day, morning and evening meditation,
+ * calendars made mostly of repeating series, and goals spread over active, completed and overdue.
+ * Everything is drawn from a random stream keyed by (seed, user index), and ids are built from the
+ * same inputs, so a user's documents do not depend on which thread generates them.
+ */
+class UserHistory {
+
+    static final int MAX_HYDRATION_PER_DAY = 12;
+    static final double HYDRATION_SHARE = 0.74;
+
+    private static final double EVENT_SHARE = 0.15;
+    private static final double MEDITATION_SHARE = 0.10;
+    private static final double GOAL_SHARE = 0.01;
+    private static final int MAX_GOALS = 150;
+    private static final int TYPICAL_HYDRATION_PER_DAY = 6;
+    private static final int MIN_HISTORY_DAYS = 14;
+    private static final int EVENT_HORIZON_DAYS = 28;
+
+    private static final int KIND_USER = 0;
+    private static final int KIND_HYDRATION = 1;
+    private static final int KIND_MEDITATION = 2;
+    private static final int KIND_EVENT = 3;
+    private static final int KIND_GOAL = 4;
+
+    private static final int[] HYDRATION_AMOUNTS = {150, 200, 250, 250, 250, 330, 500, 500, 750};
+    private static final int[] MEDITATION_MINUTES = {5, 10, 10, 10, 15, 15, 20, 30, 45};
+    private static final MeditationSession.MeditationType[] MEDITATION_TYPES = {
+            MeditationSession.MeditationType.BREATHING, MeditationSession.MeditationType.MINDFULNESS,
+            MeditationSession.MeditationType.MINDFULNESS, MeditationSession.MeditationType.GUIDED,
+            MeditationSession.MeditationType.GUIDED, MeditationSession.MeditationType.OTHER};
+
+    private static final Series[] SERIES = {
+            new Series("Team standup", ScheduleEvent.EventCategory.WORK, 9, 30, 15, 1),
+            new Series("Sprint planning", ScheduleEvent.EventCategory.WORK, 10, 0, 60, 14),
+            new Series("1:1 with manager", ScheduleEvent.EventCategory.WORK, 14, 0, 30, 7),
+            new Series("Gym", ScheduleEvent.EventCategory.HEALTH, 18, 0, 60, 2),
+            new Series("Yoga class", ScheduleEvent.EventCategory.HEALTH, 7, 0, 60, 7),
+            new Series("Therapy", ScheduleEvent.EventCategory.HEALTH, 16, 0, 50, 14),
+            new Series("Grocery run", ScheduleEvent.EventCategory.PERSONAL, 10, 0, 45, 7),
+            new Series("Call parents", ScheduleEvent.EventCategory.PERSONAL, 19, 0, 30, 7),
+            new Series("Dinner with friends", ScheduleEvent.EventCategory.SOCIAL, 19, 30, 120, 14),
+            new Series("Book club", ScheduleEvent.EventCategory.SOCIAL, 19, 0, 90, 28)};
+    private static final String[] ONE_OFF_EVENTS = {"Dentist", "Car service", "Birthday party", "Flight", "Haircut", "Plumber"};
+    private static final String[] GOAL_TITLES = {"Read books", "Run sessions", "Ship side project", "Learn Spanish lessons",
+            "Declutter rooms", "Cook new recipes", "Save for holiday", "Finish online course"};
+
+    private final int userIndex;
+    private final long budget;
+    private final LocalDate today;
+    private final int maxHistoryDays;
+    private final SplittableRandom random;
+
+    UserHistory(long seed, int userIndex, long budget, LocalDate today, int historyYears) {
+        this.userIndex = userIndex;
+        this.budget = budget;
+        this.today = today;
+        this.maxHistoryDays = historyYears * 365;
+        this.random = new SplittableRandom(seed * 0x9E3779B97F4A7C15L + userIndex);
+    }
+
+    /**
+     * Most activity documents one user can get over {@code historyYears} without logging more
+     * hydration per day than anyone would.
+     */
+    static long maxDocuments(int historyYears) {
+        return (long) (historyYears * 365L * MAX_HYDRATION_PER_DAY / HYDRATION_SHARE);
+    }
+
+    static String email(int userIndex) {
+        return "dataset-user-" + userIndex + "@example.com";
+    }
+
+    /**
+     * Emits the user followed by exactly {@code budget} activity documents.
+     */
+    void generate(String encodedPassword, Consumer<Object> sink) {
+        int goals = budget == 0 ? 0 : (int) Math.min(MAX_GOALS, Math.max(1, Math.round(budget * GOAL_SHARE)));
+        int events = (int) Math.round(budget * EVENT_SHARE);
+        int meditations = (int) Math.round(budget * MEDITATION_SHARE);
+        long hydration = budget - goals - events - meditations;
+        if (hydration < 0) {
+            events += hydration;
+            hydration = 0;
+        }
+
+        int historyDays = (int) Math.max(MIN_HISTORY_DAYS,
+                Math.min(maxHistoryDays, (hydration + TYPICAL_HYDRATION_PER_DAY - 1) / TYPICAL_HYDRATION_PER_DAY));
+        LocalDate firstDay = today.minusDays(historyDays);
+        String userId = id(firstDay.atTime(8, 0), KIND_USER, 0);
+
+        sink.accept(user(userId, encodedPassword, firstDay, hydration > 0));
+        for (int i = 0; i < hydration; i++) {
+            sink.accept(hydrationEntry(userId, i, firstDay, historyDays));
+        }
+        for (int i = 0; i < meditations; i++) {
+            sink.accept(meditationSession(userId, i, firstDay, historyDays));
+        }
+        emitEvents(userId, events, firstDay, historyDays, sink);
+        for (int i = 0; i < goals; i++) {
+            sink.accept(goal(userId, i, firstDay, historyDays));
+        }
+    }
+
+    private User user(String userId, String encodedPassword, LocalDate firstDay, boolean active) {
+        LocalDateTime createdAt = firstDay.atTime(8, 0);
+        User user = new User();
+        user.setId(userId);
+        user.setName("Dataset User " + userIndex);
+        user.setEmail(email(userIndex));
+        user.setPassword(encodedPassword);
+        user.setStreak(active ? random.nextInt(31) : 0);
+        user.setLastLoginDate(active ? today.minusDays(random.nextInt(3)) : firstDay);
+        user.setCreatedAt(createdAt);
+        user.setUpdatedAt(createdAt);
+        return user;
+    }
+
+    private HydrationEntry hydrationEntry(String userId, int seq, LocalDate firstDay, int historyDays) {
+        LocalDateTime timestamp = firstDay.plusDays(random.nextInt(historyDays + 1))
+                .atTime(7, 0)
+                .plusMinutes(random.nextInt(15 * 60))
+                .plusSeconds(random.nextInt(60));
+        return new HydrationEntry(id(timestamp, KIND_HYDRATION, seq),
+                HYDRATION_AMOUNTS[random.nextInt(HYDRATION_AMOUNTS.length)], userId, timestamp);
+    }
+
+    private MeditationSession meditationSession(String userId, int seq, LocalDate firstDay, int historyDays) {
+        int startHour = random.nextInt(3) == 0 ? 21 : 6;
+        LocalDateTime timestamp = firstDay.plusDays(random.nextInt(historyDays + 1))
+                .atTime(startHour, 0)
+                .plusMinutes(random.nextInt(150));
+        String notes = random.nextInt(10) == 0 ? "Felt calmer afterwards" : null;
+        return new MeditationSession(id(timestamp, KIND_MEDITATION, seq),
+                MEDITATION_MINUTES[random.nextInt(MEDITATION_MINUTES.length)],
+                MEDITATION_TYPES[random.nextInt(MEDITATION_TYPES.length)], notes, userId, timestamp);
+    }
+
+    private void emitEvents(String userId, int count, LocalDate firstDay, int historyDays, Consumer<Object> sink) {
+        int windowDays = historyDays + EVENT_HORIZON_DAYS;
+        LocalDate lastDay = firstDay.plusDays(windowDays);
+        int seq = 0;
+        while (seq < count) {
+            if (random.nextInt(5) == 0) {
+                LocalDateTime start = firstDay.plusDays(random.nextInt(windowDays + 1)).atTime(8 + random.nextInt(11), 0);
+                sink.accept(event(userId, seq++, ONE_OFF_EVENTS[random.nextInt(ONE_OFF_EVENTS.length)],
+                        ScheduleEvent.EventCategory.OTHER, start, 30 + 30 * random.nextInt(4), firstDay));
+                continue;
+            }
+            Series series = SERIES[random.nextInt(SERIES.length)];
+            int occurrences = Math.min(count - seq, 4 + random.nextInt(40));
+            LocalDate day = firstDay.plusDays(random.nextInt(windowDays + 1));
+            for (int i = 0; i < occurrences && !day.isAfter(lastDay); day = day.plusDays(series.cadenceDays)) {
+                if (series.cadenceDays == 1 && day.getDayOfWeek().getValue() >= DayOfWeek.SATURDAY.getValue()) {
+                    continue;
+                }
+                LocalDateTime start = day.atTime(series.hour, series.minute);
+                sink.accept(event(userId, seq++, series.title, series.category, start, series.durationMinutes, firstDay));
+                i++;
+            }
+        }
+    }
+
+    private ScheduleEvent event(String userId, int seq, String title, ScheduleEvent.EventCategory category,
+                                LocalDateTime start, int durationMinutes, LocalDate firstDay) {
+        LocalDateTime createdAt = start.minusDays(random.nextInt(14));
+        if (createdAt.isBefore(firstDay.atStartOfDay())) {
+            createdAt = firstDay.atTime(8, 0);
+        }
+        ScheduleEvent.EventPriority priority = ScheduleEvent.EventPriority.values()[random.nextInt(3)];
+        return new ScheduleEvent(id(start, KIND_EVENT, seq), title, null, start, start.plusMinutes(durationMinutes),
+                category, priority, userId, null, createdAt, createdAt);
+    }
+
+    private Goal goal(String userId, int seq, LocalDate firstDay, int historyDays) {
+        LocalDateTime createdAt = firstDay.plusDays(random.nextInt(historyDays + 1)).atTime(20, 0);
+        Goal.GoalCategory category = Goal.GoalCategory.values()[random.nextInt(Goal.GoalCategory.values().length)];
+        Goal.GoalPriority priority = Goal.GoalPriority.values()[random.nextInt(3)];
+
+        String title = GOAL_TITLES[random.nextInt(GOAL_TITLES.length)];
+        String unit = "times";
+        int target = 5 + random.nextInt(96);
+        Goal.TrackerMetric metric = null;
+        Integer dailyThreshold = null;
+        if (random.nextInt(5) == 0) {
+            // Tracker-bound: counts days on which the tracker crossed the threshold
+            metric = Goal.TrackerMetric.values()[random.nextInt(Goal.TrackerMetric.values().length)];
+            category = Goal.GoalCategory.HEALTH;
+            unit = "days";
+            target = 30;
+            switch (metric) {
+                case HYDRATION_ML:
+                    title = "Drink 2L a day";
+                    dailyThreshold = 2000;
+                    break;
+                case MEDITATION_MINUTES:
+                    title = "Meditate 10 minutes a day";
+                    dailyThreshold = 10;
+                    break;
+                default:
+                    title = "Meditate every day";
+                    dailyThreshold = 1;
+                    break;
+            }
+        }
+
+        int state = random.nextInt(100);
+        LocalDateTime deadline;
+        int current;
+        boolean completed = false;
+        boolean overdue = false;
+        if (state < 45) {
+            deadline = today.plusDays(1 + random.nextInt(90)).atTime(23, 59);
+            current = random.nextInt(target);
+        } else if (state < 75) {
+            deadline = createdAt.plusDays(7 + random.nextInt(120));
+            current = target;
+            completed = true;
+        } else if (state < 90) {
+            deadline = createdAt.plusDays(7 + random.nextInt(60));
+            if (!deadline.toLocalDate().isBefore(today)) {
+                deadline = today.minusDays(1).atTime(23, 59);
+            }
+            current = random.nextInt(target);
+            overdue = true;
+        } else {
+            deadline = null;
+            current = random.nextInt(target);
+        }
+
+        return new Goal(id(createdAt, KIND_GOAL, seq), title + " (" + (seq + 1) + ")", null, category,
+                target, current, unit, metric, dailyThreshold, deadline, completed, overdue, overdue, priority,
+                userId, createdAt, createdAt);
+    }
+
+    /**
+     * ObjectId from the document's own time (so ids sort like real ones), the user, the kind of
+     * document and its sequence number.
+     */
+    private String id(LocalDateTime time, int kind, int seq) {
+        ByteBuffer bytes = ByteBuffer.allocate(12);
+        bytes.putInt((int) time.toEpochSecond(ZoneOffset.UTC));
+        bytes.putInt(userIndex);
+        bytes.put((byte) kind);
+        bytes.put((byte) (seq >>> 16));
+        bytes.putShort((short) seq);
+        return new ObjectId(bytes.array()).toHexString();
+    }
+
+    private static class Series {
+        private final String title;
+        private final ScheduleEvent.EventCategory category;
+        private final int hour;
+        private final int minute;
+        private final int durationMinutes;
+        private final int cadenceDays;
+
+        Series(String title, ScheduleEvent.EventCategory category, int hour, int minute, int durationMinutes, int cadenceDays) {
+            this.title = title;
+            this.category = category;
+            this.hour = hour;
+            this.minute = minute;
+            this.durationMinutes = durationMinutes;
+            this.cadenceDays = cadenceDays;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.lifepulse.loadtest.replay;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One line of a traffic recording; see {@code TrafficRecordingFilter} for the field names.
+ */
+public class RecordedRequest {
+
+    private final long timeMillis;
+    private final String userKey;
+    private final String method;
+    private final String pathTemplate;
+    private final Map<String, String> pathVariables;
+    private final Map<String, List<String>> query;
+    private final JsonNode body;
+    private final String contentType;
+    private final int status;
+    private final long durationMicros;
+    private final String responseId;
+
+    private RecordedRequest(JsonNode line) {
+        this.timeMillis = line.path("t").asLong();
+        this.userKey = line.path("u").asText();
+        this.method = line.path("m").asText();
+        this.pathTemplate = line.path("p").asText();
+        this.pathVariables = new LinkedHashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> variables = line.path("v").fields();
+        while (variables.hasNext()) {
+            Map.Entry<String, JsonNode> variable = variables.next();
+            pathVariables.put(variable.getKey(), variable.getValue().asText());
+        }
+        this.query = new LinkedHashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> parameters = line.path("q").fields();
+        while (parameters.hasNext()) {
+            Map.Entry<String, JsonNode> parameter = parameters.next();
+            List<String> values = new ArrayList<>();
+            parameter.getValue().forEach(value -> values.add(value.asText()));
+            query.put(parameter.getKey(), values);
+        }
+        this.body = line.has("b") ? line.get("b") : null;
+        this.contentType = line.has("c") ? line.get("c").asText() : null;
+        this.status = line.path("s").asInt();
+        this.durationMicros = line.path("d").asLong();
+        this.responseId = line.has("r") ? line.get("r").asText() : null;
+    }
+
+    public static RecordedRequest parse(JsonNode line) {
+        return new RecordedRequest(line);
+    }
+
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    public String getUserKey() {
+        return userKey;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getPathTemplate() {
+        return pathTemplate;
+    }
+
+    public Map<String, String> getPathVariables() {
+        return pathVariables;
+    }
+
+    public Map<String, List<String>> getQuery() {
+        return query;
+    }
+
+    /**
+     * Shaped JSON body, or null if the request had none or it was not JSON.
+     */
+    public JsonNode getBody() {
+        return body;
+    }
+
+    /**
+     * Content type of a non-JSON body, which cannot be replayed; null otherwise.
+     */
+    public String getContentType() {
+        return contentType;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public long getDurationMicros() {
+        return durationMicros;
+    }
+
+    /**
+     * Shaped id of the entity the request created ({@code #token}), or null.
+     */
+    public String getResponseId() {
+        return responseId;
+    }
+
+    /**
+     * Key the results are grouped by, e.g. {@code POST /api/goals/{id}/progress/increment}.
+     */
+    public String getEndpoint() {
+        return method + " " + pathTemplate;
+    }
+}
@@ -0,0 +1,176 @@
+package com.lifepulse.loadtest.replay;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.lifepulse.loadtest.EndpointStats;
+import com.lifepulse.loadtest.LoadTestConfig;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Results of a replay per endpoint, next to the recorded handler times, plus the traffic
+ * fingerprint and speed. Two reports are comparable when both of those match; {@code --baseline}
+ * compares against an earlier report and flags p50/p99 regressions.
+ */
+public class ReplayReport {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final LoadTestConfig config;
+    private final TrafficLog log;
+    private final TrafficReplayer replayer;
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final List<String> violations = new ArrayList<>();
+
+    public ReplayReport(LoadTestConfig config, TrafficLog log, TrafficReplayer replayer) {
+        this.config = config;
+        this.log = log;
+        this.replayer = replayer;
+    }
+
+    public void write(Path path) throws IOException {
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("generatedAt", Instant.now().toString());
+        ObjectNode options = root.putObject("config");
+        config.asMap().forEach(options::put);
+
+        ObjectNode traffic = root.putObject("traffic");
+        traffic.put("fingerprint", log.getFingerprint());
+        traffic.put("files", log.getFiles());
+        traffic.put("requests", log.getRequests().size());
+        traffic.put("users", log.getUsers());
+        traffic.put("spanSeconds", log.getSpanMillis() / 1000.0);
+        root.put("speed", config.getSpeed());
+
+        ObjectNode skipped = root.putObject("skipped");
+        replayer.getSkipped().forEach(skipped::put);
+        Histogram lag = replayer.getLag();
+        ObjectNode lagMs = root.putObject("startLagMs");
+        lagMs.put("p50", lag.getValueAtPercentile(50) / NANOS_PER_MILLI);
+        lagMs.put("p99", lag.getValueAtPercentile(99) / NANOS_PER_MILLI);
+        lagMs.put("max", lag.getMaxValue() / NANOS_PER_MILLI);
+
+        Map<String, EndpointStats> recorded = replayer.getRecorded();
+        ArrayNode endpoints = root.putArray("endpoints");
+        for (EndpointStats endpoint : replayer.getReplayed().values()) {
+            ObjectNode node = endpoints.addObject();
+            node.put("endpoint", endpoint.getName());
+            node.put("count", endpoint.getCount());
+            node.put("errors", endpoint.getErrors());
+            node.put("errorRate", endpoint.getErrorRate());
+            ObjectNode latency = node.putObject("latencyMs");
+            latency.put("p50", endpoint.percentileMillis(50));
+            latency.put("p90", endpoint.percentileMillis(90));
+            latency.put("p99", endpoint.percentileMillis(99));
+            latency.put("max", endpoint.getMaxMillis());
+            latency.put("mean", endpoint.getMeanMillis());
+            ObjectNode codes = node.putObject("statusCodes");
+            endpoint.getStatusCodes().forEach((status, count) -> codes.put(String.valueOf(status), count));
+
+            EndpointStats original = recorded.get(endpoint.getName());
+            if (original != null) {
+                ObjectNode recordedNode = node.putObject("recorded");
+                recordedNode.put("count", original.getCount());
+                recordedNode.put("errorRate", original.getErrorRate());
+                recordedNode.put("handlerP50Ms", original.percentileMillis(50));
+                recordedNode.put("handlerP99Ms", original.percentileMillis(99));
+            }
+        }
+
+        if (!config.getBaseline().isEmpty()) {
+            root.set("comparison", compare(objectMapper.readTree(Path.of(config.getBaseline()).toFile()), endpoints));
+        }
+        checkThresholds();
+
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        objectMapper.writeValue(path.toFile(), root);
+        System.out.println("Report written to " + path.toAbsolutePath());
+    }
+
+    private JsonNode compare(JsonNode baseline, ArrayNode endpoints) {
+        ObjectNode comparison = objectMapper.createObjectNode();
+        boolean comparable = log.getFingerprint().equals(baseline.path("traffic").path("fingerprint").asText())
+                && config.getSpeed() == baseline.path("speed").asDouble();
+        comparison.put("comparable", comparable);
+        if (!comparable) {
+            System.err.println("Baseline replayed different traffic or speed; skipping comparison");
+            return comparison;
+        }
+
+        double maxRegression = config.getMaxRegressionPercent();
+        ArrayNode deltas = comparison.putArray("endpoints");
+        for (JsonNode current : endpoints) {
+            String endpoint = current.path("endpoint").asText();
+            for (JsonNode previous : baseline.path("endpoints")) {
+                if (!endpoint.equals(previous.path("endpoint").asText())) {
+                    continue;
+                }
+                ObjectNode delta = deltas.addObject();
+                delta.put("endpoint", endpoint);
+                for (String percentile : new String[]{"p50", "p99"}) {
+                    double before = previous.path("latencyMs").path(percentile).asDouble();
+                    double after = current.path("latencyMs").path(percentile).asDouble();
+                    double change = before == 0 ? 0 : (after - before) / before * 100;
+                    delta.put(percentile + "ChangePercent", change);
+                    if (maxRegression >= 0 && change > maxRegression) {
+                        violations.add(endpoint + ": " + percentile + " " + String.format("%.2f", before) + "ms -> "
+                                + String.format("%.2f", after) + "ms (+" + String.format("%.1f", change) + "%)");
+                    }
+                }
+                delta.put("errorRateChange", current.path("errorRate").asDouble() - previous.path("errorRate").asDouble());
+            }
+        }
+        return comparison;
+    }
+
+    private void checkThresholds() {
+        for (EndpointStats endpoint : replayer.getReplayed().values()) {
+            if (config.getMaxErrorRate() >= 0 && endpoint.getErrorRate() > config.getMaxErrorRate()) {
+                violations.add(endpoint.getName() + ": error rate " + endpoint.getErrorRate()
+                        + " exceeds " + config.getMaxErrorRate());
+            }
+            if (config.getMaxP99Millis() >= 0 && endpoint.percentileMillis(99) > config.getMaxP99Millis()) {
+                violations.add(endpoint.getName() + ": p99 " + endpoint.percentileMillis(99)
+                        + "ms exceeds " + config.getMaxP99Millis() + "ms");
+            }
+        }
+    }
+
+    public void print() {
+        System.out.println(String.format("%-52s %8s %8s %9s %9s %12s", "endpoint", "count", "err%", "p50 ms", "p99 ms", "rec p99 ms"));
+        Map<String, EndpointStats> recorded = replayer.getRecorded();
+        for (EndpointStats endpoint : replayer.getReplayed().values()) {
+            EndpointStats original = recorded.get(endpoint.getName());
+            System.out.println(String.format("%-52s %8d %8.2f %9.2f %9.2f %12.2f",
+                    endpoint.getName(),
+                    endpoint.getCount(),
+                    endpoint.getErrorRate() * 100,
+                    endpoint.percentileMillis(50),
+                    endpoint.percentileMillis(99),
+                    original != null ? original.percentileMillis(99) : 0));
+        }
+        if (!replayer.getSkipped().isEmpty()) {
+            System.out.println("Skipped: " + replayer.getSkipped());
+        }
+        System.out.println(String.format("Start lag p99 %.1fms", replayer.getLag().getValueAtPercentile(99) / NANOS_PER_MILLI));
+    }
+
+    /**
+     * Threshold and baseline violations; only complete after {@link #write}.
+     */
+    public List<String> violations() {
+        return violations;
+    }
+}
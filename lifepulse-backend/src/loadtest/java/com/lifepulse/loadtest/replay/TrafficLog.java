@@ -0,0 +1,119 @@
+package com.lifepulse.loadtest.replay;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * The requests of one or more recording files, in time order, with a fingerprint of their content
+ * so reports from different builds can tell whether they replayed the same traffic.
+ */
+public class TrafficLog {
+
+    private final List<RecordedRequest> requests;
+    private final String fingerprint;
+    private final int files;
+
+    private TrafficLog(List<RecordedRequest> requests, String fingerprint, int files) {
+        this.requests = requests;
+        this.fingerprint = fingerprint;
+        this.files = files;
+    }
+
+    /**
+     * Reads a recording file, or every {@code .jsonl.gz} / {@code .jsonl} file in a directory.
+     */
+    public static TrafficLog read(Path path) throws IOException {
+        List<Path> paths;
+        if (Files.isDirectory(path)) {
+            try (Stream<Path> listing = Files.list(path)) {
+                paths = listing.filter(p -> p.toString().endsWith(".jsonl.gz") || p.toString().endsWith(".jsonl"))
+                        .sorted()
+                        .collect(Collectors.toList());
+            }
+        } else {
+            paths = List.of(path);
+        }
+        if (paths.isEmpty()) {
+            throw new IllegalArgumentException("No traffic recordings in " + path);
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        MessageDigest digest = sha256();
+        List<RecordedRequest> requests = new ArrayList<>();
+        for (Path file : paths) {
+            try (BufferedReader reader = open(file)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    digest.update(line.getBytes(StandardCharsets.UTF_8));
+                    requests.add(RecordedRequest.parse(objectMapper.readTree(line)));
+                }
+            } catch (IOException e) {
+                // A file cut off mid-write (recorder killed) still yields the records before the cut
+                System.err.println("Stopped reading " + file + " early: " + e.getMessage());
+            }
+        }
+        requests.sort(Comparator.comparingLong(RecordedRequest::getTimeMillis));
+        return new TrafficLog(requests, HexFormat.of().formatHex(digest.digest()), paths.size());
+    }
+
+    public List<RecordedRequest> getRequests() {
+        return requests;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public int getFiles() {
+        return files;
+    }
+
+    public long getUsers() {
+        return requests.stream().map(RecordedRequest::getUserKey).distinct().count();
+    }
+
+    public long getSpanMillis() {
+        return requests.isEmpty() ? 0
+                : requests.get(requests.size() - 1).getTimeMillis() - requests.get(0).getTimeMillis();
+    }
+
+    private static BufferedReader open(Path file) throws IOException {
+        InputStream in = Files.newInputStream(file);
+        try {
+            if (file.toString().endsWith(".gz")) {
+                in = new GZIPInputStream(in);
+            }
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.lifepulse.loadtest.replay;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.lifepulse.loadtest.EndpointStats;
+import com.lifepulse.loadtest.VirtualUser;
+import com.lifepulse.util.TrafficShape;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Re-issues recorded traffic against a test instance. Each recorded user becomes a sequential
+ * stream on one of the seeded accounts: a request is sent at its recorded offset (divided by the
+ * speed-up) or, if the user's previous request is still running, as soon as that one completes.
+ * Per-user ordering and think times are therefore preserved; when the target cannot keep up the
+ * shortfall shows up as start lag rather than as reordered requests.
+ *
+ * <p>Entity ids are resolved through the tokens in the recording: ids created by replayed POSTs
+ * are reused for later requests carrying the same token, and unknown tokens fall back to the
+ * account's seeded goals or events. Requests that still cannot be built (non-JSON bodies, ids of
+ * other resources) are skipped and counted.
+ */
+public class TrafficReplayer {
+
+    private static final Pattern TEMPLATE_VARIABLE = Pattern.compile("\\{([^}:]+)(:[^}]*)?}");
+    private static final long START_DELAY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final List<VirtualUser> accounts;
+    private final double speed;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Map<String, EndpointStats> replayedStats = new ConcurrentHashMap<>();
+    private final Map<String, EndpointStats> recordedStats = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> skipped = new ConcurrentHashMap<>();
+    private final Histogram lag = new ConcurrentHistogram(3);
+    // Token of an entity in the recording -> id of the entity the replay created for it
+    private final Map<String, String> createdIds = new ConcurrentHashMap<>();
+    private final AtomicLong registrations = new AtomicLong();
+
+    public TrafficReplayer(HttpClient client, String baseUrl, List<VirtualUser> accounts, double speed) {
+        if (accounts.isEmpty()) {
+            throw new IllegalArgumentException("At least one seeded account is required");
+        }
+        if (speed <= 0) {
+            throw new IllegalArgumentException("Speed must be positive");
+        }
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.accounts = accounts;
+        this.speed = speed;
+    }
+
+    public void run(TrafficLog log) throws InterruptedException {
+        List<RecordedRequest> requests = log.getRequests();
+        if (requests.isEmpty()) {
+            return;
+        }
+        Map<String, Deque<RecordedRequest>> byUser = new LinkedHashMap<>();
+        for (RecordedRequest request : requests) {
+            byUser.computeIfAbsent(request.getUserKey(), u -> new ArrayDeque<>()).add(request);
+            recordedStats.computeIfAbsent(request.getEndpoint(), EndpointStats::new)
+                    .record(TimeUnit.MICROSECONDS.toNanos(request.getDurationMicros()), request.getStatus());
+        }
+
+        long firstMillis = requests.get(0).getTimeMillis();
+        long startNanos = System.nanoTime() + START_DELAY_NANOS;
+        CountDownLatch done = new CountDownLatch(byUser.size());
+        int index = 0;
+        for (Deque<RecordedRequest> stream : byUser.values()) {
+            VirtualUser account = accounts.get(index++ % accounts.size());
+            next(stream, account, firstMillis, startNanos, done);
+        }
+        System.out.println("Replaying " + requests.size() + " requests from " + byUser.size() + " users at " + speed + "x");
+        done.await();
+    }
+
+    private void next(Queue<RecordedRequest> stream, VirtualUser account, long firstMillis, long startNanos,
+                      CountDownLatch done) {
+        RecordedRequest request = stream.poll();
+        if (request == null) {
+            done.countDown();
+            return;
+        }
+        long intended = startNanos + (long) (TimeUnit.MILLISECONDS.toNanos(request.getTimeMillis() - firstMillis) / speed);
+        long delay = Math.max(0, intended - System.nanoTime());
+        CompletableFuture.runAsync(() -> {
+            CompletableFuture<Void> sent;
+            try {
+                sent = send(request, account, intended);
+            } catch (RuntimeException e) {
+                // A synchronous failure must still move the stream on, or run() never returns
+                skip("send-failed");
+                sent = CompletableFuture.completedFuture(null);
+            }
+            sent.whenComplete((ignored, error) -> next(stream, account, firstMillis, startNanos, done));
+        }, CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS));
+    }
+
+    private CompletableFuture<Void> send(RecordedRequest recordedRequest, VirtualUser account, long intended) {
+        HttpRequest request;
+        try {
+            request = build(recordedRequest, account);
+        } catch (RuntimeException | IOException e) {
+            request = null;
+        }
+        if (request == null) {
+            skip(recordedRequest.getContentType() != null ? "non-json-body" : "unresolved-id");
+            return CompletableFuture.completedFuture(null);
+        }
+
+        long started = System.nanoTime();
+        lag.recordValue(Math.max(0, started - intended));
+        EndpointStats stats = replayedStats.computeIfAbsent(recordedRequest.getEndpoint(), EndpointStats::new);
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .handle((response, error) -> {
+                    stats.record(System.nanoTime() - started, error == null ? response.statusCode() : 0);
+                    if (error == null && recordedRequest.getResponseId() != null && response.statusCode() < 300) {
+                        rememberCreatedId(recordedRequest.getResponseId(), response.body());
+                    }
+                    return null;
+                });
+    }
+
+    private HttpRequest build(RecordedRequest recorded, VirtualUser account) throws IOException {
+        if (recorded.getContentType() != null) {
+            return null;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        String template = recorded.getPathTemplate();
+
+        StringBuilder path = new StringBuilder();
+        Matcher matcher = TEMPLATE_VARIABLE.matcher(template);
+        while (matcher.find()) {
+            String shaped = recorded.getPathVariables().get(matcher.group(1));
+            String value = shaped == null ? null : TrafficShape.unshape(shaped, now, token -> resolveId(token, template, account));
+            if (value == null) {
+                return null;
+            }
+            matcher.appendReplacement(path, Matcher.quoteReplacement(encode(value)));
+        }
+        matcher.appendTail(path);
+
+        StringBuilder query = new StringBuilder();
+        for (Map.Entry<String, List<String>> parameter : recorded.getQuery().entrySet()) {
+            for (String shaped : parameter.getValue()) {
+                String value = TrafficShape.unshape(shaped, now, token -> resolveId(token, template, account));
+                if (value == null) {
+                    return null;
+                }
+                query.append(query.length() == 0 ? '?' : '&')
+                        .append(encode(parameter.getKey())).append('=').append(encode(value));
+            }
+        }
+
+        JsonNode rebuilt = null;
+        if (recorded.getBody() != null) {
+            rebuilt = TrafficShape.unshape(recorded.getBody(), now, token -> resolveId(token, template, account));
+            if (rebuilt == null) {
+                return null;
+            }
+        }
+        if (template.endsWith("/signin") || template.endsWith("/register")) {
+            rebuilt = credentials(rebuilt, template, account);
+        }
+        HttpRequest.BodyPublisher body = rebuilt != null
+                ? HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(rebuilt))
+                : HttpRequest.BodyPublishers.noBody();
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path + query))
+                .timeout(Duration.ofSeconds(30))
+                .method(recorded.getMethod(), body);
+        if (rebuilt != null) {
+            builder.header("Content-Type", "application/json");
+        }
+        if (!template.startsWith("/api/auth/")) {
+            builder.header("Authorization", "Bearer " + account.getToken());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Credential bodies are not recorded (older recordings hold only shapes): sign-ins use the account's
+     * credentials, registrations a fresh address.
+     */
+    private ObjectNode credentials(JsonNode recordedBody, String template, VirtualUser account) {
+        ObjectNode credentials = recordedBody instanceof ObjectNode ? (ObjectNode) recordedBody : objectMapper.createObjectNode();
+        if (template.endsWith("/register")) {
+            if (!credentials.has("name")) {
+                credentials.set("name", TextNode.valueOf("Replay User"));
+            }
+            credentials.set("email", TextNode.valueOf(
+                    "replay-" + System.currentTimeMillis() + "-" + registrations.incrementAndGet() + "@example.com"));
+            credentials.set("password", TextNode.valueOf(account.getPassword()));
+        } else {
+            credentials.set("email", TextNode.valueOf(account.getEmail()));
+            credentials.set("password", TextNode.valueOf(account.getPassword()));
+        }
+        return credentials;
+    }
+
+    private String resolveId(String token, String template, VirtualUser account) {
+        String created = createdIds.get(token);
+        if (created != null) {
+            return created;
+        }
+        List<String> pool = template.startsWith("/api/goals") ? account.getGoalIds()
+                : template.startsWith("/api/schedule") ? account.getEventIds()
+                : List.of();
+        return pool.isEmpty() ? null : pool.get(Math.floorMod(token.hashCode(), pool.size()));
+    }
+
+    private void rememberCreatedId(String shapedId, String responseBody) {
+        if (!shapedId.startsWith("#")) {
+            return;
+        }
+        try {
+            JsonNode id = objectMapper.readTree(responseBody).path("data").path("id");
+            if (id.isTextual()) {
+                createdIds.put(shapedId.substring(1), id.asText());
+            }
+        } catch (IOException e) {
+            // Not JSON; later requests fall back to seeded entities
+        }
+    }
+
+    private void skip(String reason) {
+        skipped.computeIfAbsent(reason, r -> new AtomicLong()).incrementAndGet();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    /**
+     * Replayed latency per endpoint, measured from when the request was actually sent.
+     */
+    public Map<String, EndpointStats> getReplayed() {
+        return new TreeMap<>(replayedStats);
+    }
+
+    /**
+     * Handler times and statuses from the recording itself, per endpoint.
+     */
+    public Map<String, EndpointStats> getRecorded() {
+        return new TreeMap<>(recordedStats);
+    }
+
+    public Map<String, Long> getSkipped() {
+        Map<String, Long> counts = new TreeMap<>();
+        skipped.forEach((reason, count) -> counts.put(reason, count.get()));
+        return counts;
+    }
+
+    /**
+     * How late requests started relative to their schedule, in nanoseconds.
+     */
+    public Histogram getLag() {
+        return lag;
+    }
+}
@@ -0,0 +1,48 @@
+package com.lifepulse.config;
+
+import com.mongodb.event.CommandEvent;
+import com.mongodb.event.CommandStartedEvent;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.mongodb.DefaultMongoCommandTagsProvider;
+import io.micrometer.core.instrument.binder.mongodb.MongoCommandTagsProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Metric customisations on top of what Actuator registers. Spring Boot already times every Mongo
+ * command through the driver's command listener ({@code mongodb.driver.commands}); this keeps its tags
+ * to command, collection and status. The default also adds the server address and a cluster id that
+ * is new on every start, which would give each restart and replica its own series.
+ */
+@Configuration
+public class MetricsConfig {
+
+    private static final Set<String> MONGO_COMMAND_TAGS = Set.of("command", "collection", "status");
+
+    @Bean
+    public MongoCommandTagsProvider mongoCommandTagsProvider() {
+        DefaultMongoCommandTagsProvider defaults = new DefaultMongoCommandTagsProvider();
+        return new MongoCommandTagsProvider() {
+            @Override
+            public void commandStarted(CommandStartedEvent event) {
+                // Collection names are only in the started event; the default provider remembers them
+                defaults.commandStarted(event);
+            }
+
+            @Override
+            public Iterable<Tag> commandTags(CommandEvent event) {
+                List<Tag> tags = new ArrayList<>(MONGO_COMMAND_TAGS.size());
+                for (Tag tag : defaults.commandTags(event)) {
+                    if (MONGO_COMMAND_TAGS.contains(tag.getKey())) {
+                        tags.add(tag);
+                    }
+                }
+                return tags;
+            }
+        };
+    }
+}
@@ -0,0 +1,18 @@
+package com.lifepulse.config;
+
+import com.lifepulse.service.LogReminderSink;
+import com.lifepulse.service.ReminderSink;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ReminderConfig {
+    
+    // Falls back to the log sink unless another ReminderSink bean is registered
+    @Bean
+    @ConditionalOnMissingBean(ReminderSink.class)
+    public ReminderSink reminderSink() {
+        return new LogReminderSink();
+    }
+}
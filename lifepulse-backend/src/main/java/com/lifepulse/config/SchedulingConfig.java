@@ -0,0 +1,10 @@
+package com.lifepulse.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+    // Background jobs use @Scheduled; pool size is set via spring.task.scheduling.pool.size
+}
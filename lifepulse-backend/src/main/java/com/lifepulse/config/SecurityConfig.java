@@ -1,20 +1,30 @@
 package com.lifepulse.config;
 
 import com.lifepulse.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -31,16 +41,46 @@ public class SecurityConfig {
     
     private final JwtAuthenticationFilter jwtAuthFilter;
     private final UserService userService;
+    private final MeterRegistry meterRegistry;
     
     @Value("${cors.allowed-origins}")
     private String allowedOrigins;
     
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthFilter, UserService userService) {
+    @Value("${metrics.scrape.username:prometheus}")
+    private String scrapeUsername;
+    
+    @Value("${metrics.scrape.password:}")
+    private String scrapePassword;
+    
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthFilter, UserService userService, MeterRegistry meterRegistry) {
         this.jwtAuthFilter = jwtAuthFilter;
         this.userService = userService;
+        this.meterRegistry = meterRegistry;
     }
     
+    /**
+     * Actuator gets its own chain: health and info stay public for load balancers, everything else
+     * (the Prometheus scrape in particular) needs HTTP Basic with the scrape credentials. With no
+     * scrape password configured those endpoints are closed entirely.
+     */
     @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher("/actuator/**")
+                .csrf(AbstractHttpConfigurer::disable)
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers("/actuator/health", "/actuator/health/**", "/actuator/info").permitAll()
+                        .anyRequest().hasRole("METRICS"))
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authenticationManager(scrapeAuthenticationManager())
+                .httpBasic(Customizer.withDefaults());
+        
+        return http.build();
+    }
+    
+    @Bean
+    @Order(2)
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
@@ -48,7 +88,11 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/test/**").permitAll()
-                        .requestMatchers("/actuator/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/calendar/*.ics").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/meditation/guided/*/audio").permitAll()
+                        .requestMatchers(HttpMethod.HEAD, "/api/meditation/guided/*/audio").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/images/**").permitAll()
+                        .requestMatchers(HttpMethod.HEAD, "/api/images/**").permitAll()
                         .requestMatchers("/test-upload.html").permitAll()
                         .requestMatchers("/static/**", "/css/**", "/js/**", "/images/**").permitAll()
                         .anyRequest().authenticated())
@@ -87,6 +131,24 @@ public class SecurityConfig {
     
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry);
+    }
+    
+    // Deliberately not a bean: a second UserDetailsService would replace UserService for the API
+    private AuthenticationManager scrapeAuthenticationManager() {
+        if (scrapePassword == null || scrapePassword.isBlank()) {
+            return authentication -> {
+                throw new BadCredentialsException("Metrics scraping is disabled");
+            };
+        }
+        PasswordEncoder encoder = PasswordEncoderFactories.createDelegatingPasswordEncoder();
+        UserDetails scraper = User.withUsername(scrapeUsername)
+                .password(encoder.encode(scrapePassword))
+                .roles("METRICS")
+                .build();
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(new InMemoryUserDetailsManager(scraper));
+        provider.setPasswordEncoder(encoder);
+        return new ProviderManager(provider);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,223 @@
+package com.lifepulse.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.lifepulse.service.TrafficRecorder;
+import com.lifepulse.util.TrafficShape;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Opt-in ({@code traffic.recording.enabled}) recording of sampled API traffic for replay: method,
+ * path template, path variables, query and JSON body in {@link TrafficShape} form, status and
+ * handler time. Sampling is per user, so a sampled user's session is recorded in full and keeps
+ * its ordering and think times.
+ *
+ * <p>Runs after the security filter chain so the authenticated user is known up front. Sign-in and
+ * registration are keyed by the email in the body, which hashes to the same user key as the
+ * authenticated requests that follow; their bodies are never recorded. The ids returned by sampled POSTs are recorded as tokens so
+ * the replayer can route later requests to the entities it created itself.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
+@ConditionalOnProperty(name = "traffic.recording.enabled", havingValue = "true")
+public class TrafficRecordingFilter extends OncePerRequestFilter {
+
+    private static final List<String> CREDENTIAL_PATHS = List.of("/api/auth/signin", "/api/auth/register");
+
+    private final TrafficRecorder recorder;
+    private final ObjectMapper objectMapper;
+    private final TrafficShape shape;
+    private final double sampleRate;
+    private final int maxBodyBytes;
+
+    public TrafficRecordingFilter(TrafficRecorder recorder, ObjectMapper objectMapper,
+                                  @Value("${traffic.recording.sample-rate:0.05}") double sampleRate,
+                                  @Value("${traffic.recording.salt:}") String salt,
+                                  @Value("${traffic.recording.max-body-bytes:16384}") int maxBodyBytes) {
+        this.recorder = recorder;
+        this.objectMapper = objectMapper;
+        this.sampleRate = sampleRate;
+        this.maxBodyBytes = maxBodyBytes;
+
+        byte[] key;
+        if (salt.isEmpty()) {
+            // Tokens are then only stable for the lifetime of this process
+            key = new byte[32];
+            new SecureRandom().nextBytes(key);
+        } else {
+            key = salt.getBytes(StandardCharsets.UTF_8);
+        }
+        this.shape = new TrafficShape(key);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean credentialRequest = CREDENTIAL_PATHS.contains(request.getRequestURI());
+        String userKey = credentialRequest ? null : userKey(request);
+        if (userKey != null && !sampled(userKey)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        LocalDateTime requestTime = LocalDateTime.now();
+        long startMillis = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        ContentCachingRequestWrapper cachedRequest = new ContentCachingRequestWrapper(request, maxBodyBytes);
+        ContentCachingResponseWrapper cachedResponse = "POST".equals(request.getMethod()) && !credentialRequest
+                && !isMultipart(request) ? new ContentCachingResponseWrapper(response) : null;
+        try {
+            filterChain.doFilter(cachedRequest, cachedResponse != null ? cachedResponse : response);
+        } finally {
+            long durationMicros = (System.nanoTime() - startNanos) / 1000;
+            try {
+                if (credentialRequest) {
+                    userKey = credentialKey(cachedRequest);
+                }
+                if (userKey != null && sampled(userKey)) {
+                    ObjectNode record = record(cachedRequest, cachedResponse, credentialRequest, userKey, requestTime,
+                            startMillis, durationMicros, (cachedResponse != null ? cachedResponse : response).getStatus());
+                    if (record != null) {
+                        recorder.record(record);
+                    }
+                }
+            } catch (RuntimeException e) {
+                System.err.println("Failed to record request " + request.getRequestURI() + ": " + e.getMessage());
+            }
+            if (cachedResponse != null) {
+                cachedResponse.copyBodyToResponse();
+            }
+        }
+    }
+
+    private ObjectNode record(ContentCachingRequestWrapper request, ContentCachingResponseWrapper response,
+                              boolean credentialRequest, String userKey, LocalDateTime requestTime,
+                              long startMillis, long durationMicros, int status) {
+        Object template = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (template == null) {
+            // No handler matched; nothing a replay could usefully re-issue
+            return null;
+        }
+
+        ObjectNode record = objectMapper.createObjectNode();
+        record.put("t", startMillis);
+        record.put("u", userKey);
+        record.put("m", request.getMethod());
+        record.put("p", template.toString());
+
+        @SuppressWarnings("unchecked")
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (variables != null && !variables.isEmpty()) {
+            ObjectNode shapedVariables = record.putObject("v");
+            variables.forEach((name, value) -> shapedVariables.put(name, shape.shape(name, value, requestTime)));
+        }
+
+        if (request.getQueryString() != null) {
+            MultiValueMap<String, String> query = UriComponentsBuilder.newInstance()
+                    .query(request.getQueryString()).build().getQueryParams();
+            ObjectNode shapedQuery = record.putObject("q");
+            query.forEach((encodedName, values) -> {
+                String name = UriUtils.decode(encodedName, StandardCharsets.UTF_8);
+                ArrayNode shapedValues = shapedQuery.putArray(name);
+                for (String value : values) {
+                    shapedValues.add(value == null ? "" : shape.shape(name, UriUtils.decode(value, StandardCharsets.UTF_8), requestTime));
+                }
+            });
+        }
+
+        byte[] body = request.getContentAsByteArray();
+        if (isJson(request.getContentType())) {
+            // Credential bodies are never written, not even shaped; the replayer sends its own
+            if (!credentialRequest && body.length > 0 && body.length < maxBodyBytes) {
+                record.set("b", shape.shape(readTree(body), requestTime));
+            }
+        } else if (request.getContentType() != null) {
+            // Only the type: binary and multipart bodies are not replayable
+            MediaType contentType = MediaType.parseMediaType(request.getContentType());
+            record.put("c", contentType.getType() + "/" + contentType.getSubtype());
+        }
+
+        record.put("s", status);
+        record.put("d", durationMicros);
+
+        if (response != null && status < 300 && isJson(response.getContentType())) {
+            JsonNode id = readTree(response.getContentAsByteArray()).path("data").path("id");
+            if (id.isTextual()) {
+                record.put("r", shape.shape(id.asText(), requestTime));
+            }
+        }
+        return record;
+    }
+
+    private String userKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated() && authentication.getName() != null
+                && !"anonymousUser".equals(authentication.getName())) {
+            return shape.token(authentication.getName().toLowerCase());
+        }
+        return shape.token("addr:" + request.getRemoteAddr());
+    }
+
+    private String credentialKey(ContentCachingRequestWrapper request) {
+        JsonNode email = readTree(request.getContentAsByteArray()).path("email");
+        return email.isTextual() ? shape.token(email.asText().trim().toLowerCase()) : null;
+    }
+
+    /**
+     * Deterministic per user: the first 32 bits of the key, as a fraction.
+     */
+    private boolean sampled(String userKey) {
+        return Long.parseLong(userKey.substring(0, 8), 16) < sampleRate * 0x1_0000_0000L;
+    }
+
+    private JsonNode readTree(byte[] content) {
+        if (content.length == 0) {
+            return objectMapper.missingNode();
+        }
+        try {
+            return objectMapper.readTree(content);
+        } catch (IOException e) {
+            return objectMapper.missingNode();
+        }
+    }
+
+    private static boolean isJson(String contentType) {
+        return contentType != null && contentType.toLowerCase().contains("json");
+    }
+
+    private static boolean isMultipart(HttpServletRequest request) {
+        return request.getContentType() != null && request.getContentType().toLowerCase().startsWith("multipart/");
+    }
+}
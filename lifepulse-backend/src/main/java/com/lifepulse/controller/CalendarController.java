@@ -0,0 +1,71 @@
+package com.lifepulse.controller;
+
+import com.lifepulse.dto.ApiResponse;
+import com.lifepulse.service.CalendarService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/calendar")
+@CrossOrigin(origins = "${cors.allowed-origins}")
+public class CalendarController {
+    
+    private static final MediaType TEXT_CALENDAR = MediaType.parseMediaType("text/calendar;charset=UTF-8");
+    
+    private final CalendarService calendarService;
+    
+    public CalendarController(CalendarService calendarService) {
+        this.calendarService = calendarService;
+    }
+    
+    @PostMapping("/token")
+    public ResponseEntity<ApiResponse<Map<String, String>>> rotateFeedToken() {
+        try {
+            String userId = getCurrentUserId();
+            String token = calendarService.rotateFeedToken(userId);
+            
+            Map<String, String> response = new HashMap<>();
+            response.put("token", token);
+            response.put("feedUrl", "/api/calendar/" + token + ".ics");
+            return ResponseEntity.ok(ApiResponse.success(response, "Calendar feed token generated"));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    // Public: calendar clients cannot send bearer tokens, so the feed token itself is the credential
+    @GetMapping("/{token}.ics")
+    public ResponseEntity<StreamingResponseBody> getFeed(@PathVariable String token, WebRequest webRequest) {
+        String userId = calendarService.findUserIdByFeedToken(token).orElse(null);
+        if (userId == null) {
+            return ResponseEntity.notFound().build();
+        }
+        
+        CalendarService.FeedVersion version = calendarService.getFeedVersion(userId);
+        // Sets ETag/Last-Modified and answers 304 when the client's copy is current
+        if (webRequest.checkNotModified(version.getEtag(), version.getLastModified())) {
+            return null;
+        }
+        
+        StreamingResponseBody body = outputStream -> calendarService.writeFeed(userId, outputStream);
+        return ResponseEntity.ok()
+                .contentType(TEXT_CALENDAR)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(body);
+    }
+    
+    private String getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        com.lifepulse.entity.User user = (com.lifepulse.entity.User) authentication.getPrincipal();
+        return user.getId();
+    }
+}
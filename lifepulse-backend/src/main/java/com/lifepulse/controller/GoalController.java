@@ -1,9 +1,14 @@
 package com.lifepulse.controller;
 
 import com.lifepulse.dto.ApiResponse;
+import com.lifepulse.dto.goal.GoalHistoryResponse;
+import com.lifepulse.dto.goal.GoalIncrementRequest;
 import com.lifepulse.dto.goal.GoalProgressRequest;
+import com.lifepulse.dto.goal.GoalProgressResponse;
+import com.lifepulse.dto.goal.GoalQuery;
 import com.lifepulse.dto.goal.GoalRequest;
 import com.lifepulse.entity.Goal;
+import com.lifepulse.service.GoalQueryService;
 import com.lifepulse.service.GoalService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -19,9 +24,11 @@ import java.util.List;
 public class GoalController {
     
     private final GoalService goalService;
+    private final GoalQueryService goalQueryService;
     
-    public GoalController(GoalService goalService) {
+    public GoalController(GoalService goalService, GoalQueryService goalQueryService) {
         this.goalService = goalService;
+        this.goalQueryService = goalQueryService;
     }
     
     @PostMapping
@@ -36,10 +43,28 @@ public class GoalController {
     }
     
     @GetMapping
-    public ResponseEntity<ApiResponse<List<Goal>>> getAllGoals() {
+    public ResponseEntity<ApiResponse<List<Goal>>> getAllGoals(@ModelAttribute GoalQuery query) {
         try {
             String userId = getCurrentUserId();
-            List<Goal> goals = goalService.getUserGoals(userId);
+            if (query.isEmpty()) {
+                List<Goal> goals = goalService.getUserGoals(userId);
+                return ResponseEntity.ok(ApiResponse.success(goals));
+            }
+            GoalQueryService.Result result = goalQueryService.find(query, userId);
+            if (result.getWarning() != null) {
+                return ResponseEntity.ok(ApiResponse.success(result.getGoals(), result.getWarning()));
+            }
+            return ResponseEntity.ok(ApiResponse.success(result.getGoals()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/overdue")
+    public ResponseEntity<ApiResponse<List<Goal>>> getOverdueGoals() {
+        try {
+            String userId = getCurrentUserId();
+            List<Goal> goals = goalService.getOverdueGoals(userId);
             return ResponseEntity.ok(ApiResponse.success(goals));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
@@ -69,23 +94,45 @@ public class GoalController {
         }
     }
     
+    @GetMapping("/{id}/history")
+    public ResponseEntity<ApiResponse<GoalHistoryResponse>> getGoalHistory(@PathVariable String id) {
+        try {
+            String userId = getCurrentUserId();
+            GoalHistoryResponse history = goalService.getGoalHistory(id, userId);
+            return ResponseEntity.ok(ApiResponse.success(history));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
     @PutMapping("/{id}/progress")
-    public ResponseEntity<ApiResponse<Goal>> updateGoalProgress(@PathVariable String id, @Valid @RequestBody GoalProgressRequest request) {
+    public ResponseEntity<ApiResponse<GoalProgressResponse>> updateGoalProgress(@PathVariable String id, @Valid @RequestBody GoalProgressRequest request) {
         try {
             String userId = getCurrentUserId();
-            Goal goal = goalService.updateGoalProgress(id, request, userId);
-            return ResponseEntity.ok(ApiResponse.success(goal, "Goal progress updated successfully"));
+            GoalProgressResponse progress = goalService.updateGoalProgress(id, request, userId);
+            return ResponseEntity.ok(ApiResponse.success(progress, "Goal progress updated successfully"));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
     }
     
     @PostMapping("/{id}/progress")
-    public ResponseEntity<ApiResponse<Goal>> updateGoalProgressPost(@PathVariable String id, @Valid @RequestBody GoalProgressRequest request) {
+    public ResponseEntity<ApiResponse<GoalProgressResponse>> updateGoalProgressPost(@PathVariable String id, @Valid @RequestBody GoalProgressRequest request) {
+        try {
+            String userId = getCurrentUserId();
+            GoalProgressResponse progress = goalService.updateGoalProgress(id, request, userId);
+            return ResponseEntity.ok(ApiResponse.success(progress, "Goal progress updated successfully"));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    @PostMapping("/{id}/progress/increment")
+    public ResponseEntity<ApiResponse<GoalProgressResponse>> incrementGoalProgress(@PathVariable String id, @Valid @RequestBody GoalIncrementRequest request) {
         try {
             String userId = getCurrentUserId();
-            Goal goal = goalService.updateGoalProgress(id, request, userId);
-            return ResponseEntity.ok(ApiResponse.success(goal, "Goal progress updated successfully"));
+            GoalProgressResponse progress = goalService.incrementGoalProgress(id, request.getAmount(), userId);
+            return ResponseEntity.ok(ApiResponse.success(progress, "Goal progress updated successfully"));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
@@ -0,0 +1,49 @@
+package com.lifepulse.controller;
+
+import com.lifepulse.dto.ApiResponse;
+import com.lifepulse.dto.meditation.GuidedAudioTrack;
+import com.lifepulse.service.GuidedAudioCatalog;
+import com.lifepulse.util.FileStreamer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/meditation/guided")
+@CrossOrigin(origins = "${cors.allowed-origins}")
+public class GuidedAudioController {
+    
+    // Content is addressed by a content-derived ETag, so clients may cache for a day and revalidate cheaply
+    private static final String CACHE_CONTROL = "public, max-age=86400";
+    
+    private final GuidedAudioCatalog guidedAudioCatalog;
+    
+    public GuidedAudioController(GuidedAudioCatalog guidedAudioCatalog) {
+        this.guidedAudioCatalog = guidedAudioCatalog;
+    }
+    
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<GuidedAudioTrack>>> getTracks() {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(guidedAudioCatalog.getTracks()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    // Public: <audio> elements cannot send bearer tokens
+    @RequestMapping(value = "/{id}/audio", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void streamTrack(@PathVariable String id, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        GuidedAudioTrack track = guidedAudioCatalog.getTrack(id).orElse(null);
+        if (track == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        FileStreamer.serve(request, response, track.getPath(), track.getSize(), track.getContentType(),
+                track.getEtag(), track.getLastModified(), CACHE_CONTROL);
+    }
+}
@@ -0,0 +1,64 @@
+package com.lifepulse.controller;
+
+import com.lifepulse.service.ImageStore;
+import com.lifepulse.service.LocalImageStore;
+import com.lifepulse.util.FileStreamer;
+import com.lifepulse.util.ImageHeaderProbe;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Serves images from the local image store. Keys are content hashes, so responses are immutable
+ * and the hash doubles as a strong ETag.
+ */
+@RestController
+@RequestMapping("/api/images")
+@CrossOrigin(origins = "${cors.allowed-origins}")
+@ConditionalOnProperty(name = "image-store.type", havingValue = "local")
+public class ImageController {
+    
+    private static final String PATH_PREFIX = "/api/images/";
+    
+    private final LocalImageStore localImageStore;
+    
+    public ImageController(LocalImageStore localImageStore) {
+        this.localImageStore = localImageStore;
+    }
+    
+    // Public like presigned S3 URLs: <img> elements cannot send bearer tokens
+    @RequestMapping(value = "/**", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void serveImage(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String key = request.getRequestURI().substring(request.getContextPath().length() + PATH_PREFIX.length());
+        Path path;
+        try {
+            path = localImageStore.resolve(key);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        if (!Files.isRegularFile(path)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        
+        String fileName = path.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        String extension = dot > 0 ? fileName.substring(dot + 1) : "";
+        String contentType = "application/octet-stream";
+        for (ImageHeaderProbe.Format format : ImageHeaderProbe.Format.values()) {
+            if (format.getExtension().equals(extension)) {
+                contentType = format.getContentType();
+            }
+        }
+        String etag = "\"" + (dot > 0 ? fileName.substring(0, dot) : fileName) + "\"";
+        
+        FileStreamer.serve(request, response, path, Files.size(path), contentType, etag,
+                Files.getLastModifiedTime(path).toMillis(), ImageStore.IMMUTABLE_CACHE_CONTROL);
+    }
+}
@@ -1,8 +1,12 @@
 package com.lifepulse.controller;
 
 import com.lifepulse.dto.ApiResponse;
+import com.lifepulse.dto.meditation.LiveSessionResponse;
+import com.lifepulse.dto.meditation.LiveSessionStartRequest;
 import com.lifepulse.dto.meditation.MeditationRequest;
+import com.lifepulse.dto.meditation.MeditationStatsResponse;
 import com.lifepulse.entity.MeditationSession;
+import com.lifepulse.service.LiveMeditationService;
 import com.lifepulse.service.MeditationService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -18,9 +22,11 @@ import java.util.List;
 public class MeditationController {
     
     private final MeditationService meditationService;
+    private final LiveMeditationService liveMeditationService;
     
-    public MeditationController(MeditationService meditationService) {
+    public MeditationController(MeditationService meditationService, LiveMeditationService liveMeditationService) {
         this.meditationService = meditationService;
+        this.liveMeditationService = liveMeditationService;
     }
     
     @PostMapping
@@ -58,6 +64,99 @@ public class MeditationController {
         }
     }
     
+    @GetMapping("/stats")
+    public ResponseEntity<ApiResponse<MeditationStatsResponse>> getStats(
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate) {
+        try {
+            String userId = getCurrentUserId();
+            MeditationStatsResponse stats = meditationService.getStats(userId, startDate, endDate);
+            return ResponseEntity.ok(ApiResponse.success(stats));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    @PostMapping("/live")
+    public ResponseEntity<ApiResponse<LiveSessionResponse>> startLiveSession(@Valid @RequestBody LiveSessionStartRequest request) {
+        try {
+            String userId = getCurrentUserId();
+            LiveSessionResponse session = liveMeditationService.start(request, userId);
+            return ResponseEntity.ok(ApiResponse.success(session, "Live session started"));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/live")
+    public ResponseEntity<ApiResponse<LiveSessionResponse>> getLiveSession() {
+        try {
+            String userId = getCurrentUserId();
+            LiveSessionResponse session = liveMeditationService.getCurrent(userId);
+            return ResponseEntity.ok(ApiResponse.success(session));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    @PostMapping("/live/pause")
+    public ResponseEntity<ApiResponse<LiveSessionResponse>> pauseLiveSession() {
+        try {
+            String userId = getCurrentUserId();
+            LiveSessionResponse session = liveMeditationService.pause(userId);
+            return ResponseEntity.ok(ApiResponse.success(session, "Live session paused"));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    @PostMapping("/live/resume")
+    public ResponseEntity<ApiResponse<LiveSessionResponse>> resumeLiveSession() {
+        try {
+            String userId = getCurrentUserId();
+            LiveSessionResponse session = liveMeditationService.resume(userId);
+            return ResponseEntity.ok(ApiResponse.success(session, "Live session resumed"));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    @PostMapping("/live/heartbeat")
+    public ResponseEntity<ApiResponse<LiveSessionResponse>> heartbeatLiveSession() {
+        try {
+            String userId = getCurrentUserId();
+            LiveSessionResponse session = liveMeditationService.heartbeat(userId);
+            return ResponseEntity.ok(ApiResponse.success(session));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    @PostMapping("/live/finish")
+    public ResponseEntity<ApiResponse<MeditationSession>> finishLiveSession() {
+        try {
+            String userId = getCurrentUserId();
+            MeditationSession session = liveMeditationService.finish(userId);
+            if (session == null) {
+                return ResponseEntity.ok(ApiResponse.success(null, "Live session too short to record"));
+            }
+            return ResponseEntity.ok(ApiResponse.success(session, "Meditation session added successfully"));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    @DeleteMapping("/live")
+    public ResponseEntity<ApiResponse<Void>> cancelLiveSession() {
+        try {
+            String userId = getCurrentUserId();
+            liveMeditationService.cancel(userId);
+            return ResponseEntity.ok(ApiResponse.success(null, "Live session cancelled"));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponse<Void>> deleteSession(@PathVariable String id) {
         try {
@@ -1,13 +1,20 @@
 package com.lifepulse.controller;
 
 import com.lifepulse.dto.ApiResponse;
+import com.lifepulse.dto.schedule.BulkCopyRequest;
+import com.lifepulse.dto.schedule.BulkDeleteRequest;
+import com.lifepulse.dto.schedule.BulkScheduleResponse;
+import com.lifepulse.dto.schedule.BulkShiftRequest;
+import com.lifepulse.dto.schedule.IcsImportResponse;
 import com.lifepulse.dto.schedule.ScheduleEventRequest;
 import com.lifepulse.entity.ScheduleEvent;
+import com.lifepulse.service.CalendarService;
 import com.lifepulse.service.ScheduleService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import jakarta.validation.Valid;
 import java.util.List;
@@ -18,9 +25,11 @@ import java.util.List;
 public class ScheduleController {
     
     private final ScheduleService scheduleService;
+    private final CalendarService calendarService;
     
-    public ScheduleController(ScheduleService scheduleService) {
+    public ScheduleController(ScheduleService scheduleService, CalendarService calendarService) {
         this.scheduleService = scheduleService;
+        this.calendarService = calendarService;
     }
     
     @PostMapping
@@ -90,6 +99,53 @@ public class ScheduleController {
         }
     }
     
+    @PostMapping("/bulk/shift")
+    public ResponseEntity<ApiResponse<BulkScheduleResponse>> shiftEvents(@Valid @RequestBody BulkShiftRequest request) {
+        try {
+            String userId = getCurrentUserId();
+            BulkScheduleResponse result = scheduleService.shiftEvents(request, userId);
+            return ResponseEntity.ok(ApiResponse.success(result, "Events shifted successfully"));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    @PostMapping("/bulk/copy")
+    public ResponseEntity<ApiResponse<BulkScheduleResponse>> copyEvents(@Valid @RequestBody BulkCopyRequest request) {
+        try {
+            String userId = getCurrentUserId();
+            BulkScheduleResponse result = scheduleService.copyEvents(request, userId);
+            return ResponseEntity.ok(ApiResponse.success(result, "Events copied successfully"));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<ApiResponse<BulkScheduleResponse>> deleteEvents(@Valid @RequestBody BulkDeleteRequest request) {
+        try {
+            String userId = getCurrentUserId();
+            BulkScheduleResponse result = scheduleService.deleteEvents(request, userId);
+            return ResponseEntity.ok(ApiResponse.success(result, "Events deleted successfully"));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    @PostMapping("/import")
+    public ResponseEntity<ApiResponse<IcsImportResponse>> importCalendar(@RequestParam("file") MultipartFile file) {
+        try {
+            if (file.isEmpty()) {
+                return ResponseEntity.badRequest().body(ApiResponse.error("File is empty"));
+            }
+            String userId = getCurrentUserId();
+            IcsImportResponse result = calendarService.importIcs(file.getInputStream(), userId);
+            return ResponseEntity.ok(ApiResponse.success(result, "Calendar imported successfully"));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
     private String getCurrentUserId() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         com.lifepulse.entity.User user = (com.lifepulse.entity.User) authentication.getPrincipal();
@@ -2,32 +2,78 @@ package com.lifepulse.controller;
 
 import com.lifepulse.dto.ApiResponse;
 import com.lifepulse.dto.user.ProfileUpdateRequest;
+import com.lifepulse.dto.user.UploadIntentRequest;
+import com.lifepulse.dto.user.UploadIntentResponse;
 import com.lifepulse.entity.User;
-import com.lifepulse.service.S3Service;
+import com.lifepulse.service.AvatarCacheService;
+import com.lifepulse.service.AvatarVariantService;
+import com.lifepulse.service.ImageStore;
+import com.lifepulse.service.ProfileImageService;
+import com.lifepulse.service.UploadIntentService;
 import com.lifepulse.service.UserService;
+import com.lifepulse.util.FileStreamer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @RestController
 @RequestMapping("/api/user")
 @CrossOrigin(origins = "http://localhost:3000")
 public class UserController {
 
+    private static final int MAX_AVATAR_BATCH = 100;
+    // Versioned proxy URLs name a content hash, so the browser may keep them forever
+    private static final String VERSIONED_AVATAR_CACHE_CONTROL = "private, max-age=31536000, immutable";
+    // Unversioned URLs follow the user's current picture; revalidation is a cheap 304
+    private static final String AVATAR_CACHE_CONTROL = "private, no-cache";
+    private static final long AVATAR_FETCH_TIMEOUT_SECONDS = 10;
+
     @Autowired
     private UserService userService;
 
     @Autowired
-    private S3Service s3Service;
+    private ProfileImageService profileImageService;
+
+    @Autowired
+    private ImageStore imageStore;
+
+    @Autowired
+    private AvatarVariantService avatarVariantService;
+
+    @Autowired
+    private AvatarCacheService avatarCacheService;
+
+    @Autowired
+    private UploadIntentService uploadIntentService;
+
+    @Value("${avatars.proxy.enabled:false}")
+    private boolean avatarProxyEnabled;
+
+    @Value("${avatars.proxy.public-base-url:}")
+    private String avatarProxyBaseUrl;
 
     @GetMapping("/profile")
-    public ResponseEntity<ApiResponse> getUserProfile(Authentication authentication) {
+    public ResponseEntity<ApiResponse> getUserProfile(
+            @RequestParam(required = false) Integer size,
+            Authentication authentication) {
         try {
             String userEmail = authentication.getName();
             User user = userService.findByEmail(userEmail);
@@ -43,18 +89,9 @@ public class UserController {
             profileData.put("bio", user.getBio());
             profileData.put("streak", user.getStreak());
             
-            // Generate presigned URL for secure image access (1 hour expiry)
-            String profilePictureUrl = null;
-            if (user.getProfilePictureUrl() != null) {
-                if (user.getProfilePictureUrl().startsWith("http")) {
-                    // It's already a URL (placeholder or old format)
-                    profilePictureUrl = user.getProfilePictureUrl();
-                } else {
-                    // It's an S3 key - generate presigned URL
-                    profilePictureUrl = s3Service.generatePresignedViewUrl(user.getProfilePictureUrl());
-                }
-            }
-            profileData.put("profilePictureUrl", profilePictureUrl);
+            // Presigned URL for secure image access, reused from the cache until shortly before expiry;
+            // with a display size, the smallest variant that still covers it
+            profileData.put("profilePictureUrl", avatarUrl(user, size));
             
             return ResponseEntity.ok(ApiResponse.success(profileData));
         } catch (Exception e) {
@@ -91,7 +128,7 @@ public class UserController {
             @RequestParam String fileName,
             @RequestParam String contentType) {
         try {
-            String uploadUrl = s3Service.generatePresignedUploadUrl(fileName, contentType);
+            String uploadUrl = imageStore.generatePresignedUploadUrl(fileName, contentType);
             
             Map<String, String> response = new HashMap<>();
             response.put("uploadUrl", uploadUrl);
@@ -103,97 +140,136 @@ public class UserController {
         }
     }
 
-    @PostMapping("/profile/picture")
-    public ResponseEntity<ApiResponse> uploadProfilePicture(
-            @RequestParam("file") MultipartFile file,
+    @PostMapping("/profile/picture/intents")
+    public ResponseEntity<ApiResponse> createUploadIntent(
+            @Valid @RequestBody UploadIntentRequest request,
             Authentication authentication) {
         try {
-            System.out.println("=== Profile Picture Upload Debug ===");
-            System.out.println("File name: " + file.getOriginalFilename());
-            System.out.println("File size: " + file.getSize());
-            System.out.println("Content type: " + file.getContentType());
-            
-            String userEmail = authentication.getName();
-            System.out.println("User email: " + userEmail);
-            
-            User user = userService.findByEmail(userEmail);
-            
+            User user = userService.findByEmail(authentication.getName());
             if (user == null) {
-                System.out.println("ERROR: User not found for email: " + userEmail);
                 return ResponseEntity.badRequest()
                         .body(ApiResponse.error("User not found"));
             }
             
-            System.out.println("User found: " + user.getId());
-
-            // Validate file
-            if (file.isEmpty()) {
-                return ResponseEntity.badRequest()
-                        .body(ApiResponse.error("File is empty"));
-            }
-
-            // Basic file validation
-            String contentType = file.getContentType();
-            if (contentType == null || (!contentType.startsWith("image/"))) {
-                return ResponseEntity.badRequest()
-                        .body(ApiResponse.error("File must be an image"));
-            }
+            UploadIntentResponse intent = uploadIntentService.create(user.getId(), request);
+            return ResponseEntity.ok(ApiResponse.success(intent));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to create upload intent: " + e.getMessage()));
+        }
+    }
 
-            if (file.getSize() > 5 * 1024 * 1024) { // 5MB limit
+    @PostMapping("/profile/picture/intents/{intentId}/complete")
+    public ResponseEntity<ApiResponse> completeUploadIntent(
+            @PathVariable String intentId,
+            Authentication authentication) {
+        try {
+            User user = userService.findByEmail(authentication.getName());
+            if (user == null) {
                 return ResponseEntity.badRequest()
-                        .body(ApiResponse.error("File size must be less than 5MB"));
-            }
-
-            // Try S3 upload, fall back to placeholder if S3 fails
-            String profilePictureRef; // Can be S3 key or placeholder URL
-            try {
-                System.out.println("Attempting S3 upload...");
-                
-                // Delete old profile picture if exists (only if it's an S3 key, not placeholder)
-                if (user.getProfilePictureUrl() != null && !user.getProfilePictureUrl().startsWith("http")) {
-                    s3Service.deleteFileByKey(user.getProfilePictureUrl());
-                }
-                
-                // Upload new picture (returns S3 key, not URL)
-                profilePictureRef = s3Service.uploadFile(file, user.getId());
-                System.out.println("S3 upload successful. S3 key: " + profilePictureRef);
-                
-            } catch (Exception s3Error) {
-                System.out.println("S3 upload failed: " + s3Error.getMessage());
-                System.out.println("Falling back to placeholder URL...");
-                
-                // Fallback: Use a placeholder URL (for testing without S3)
-                profilePictureRef = "https://via.placeholder.com/150x150.png?text=" + user.getName().charAt(0);
-                System.out.println("Using placeholder URL: " + profilePictureRef);
+                        .body(ApiResponse.error("User not found"));
             }
-
-            // Update user profile with new image reference (S3 key or placeholder URL)
-            ProfileUpdateRequest updateRequest = new ProfileUpdateRequest();
-            updateRequest.setName(user.getName());
-            updateRequest.setBio(user.getBio());
-            updateRequest.setProfilePictureUrl(profilePictureRef);
-            
-            User updatedUser = userService.updateProfile(userEmail, updateRequest);
-            System.out.println("Profile updated successfully with reference: " + updatedUser.getProfilePictureUrl());
             
-            // Generate presigned URL for immediate use (if it's an S3 key)
-            String responseUrl = updatedUser.getProfilePictureUrl();
-            if (responseUrl != null && !responseUrl.startsWith("http")) {
-                // It's an S3 key - generate presigned URL for response
-                responseUrl = s3Service.generatePresignedViewUrl(responseUrl);
-            }
+            String key = uploadIntentService.complete(user.getId(), intentId);
             
             Map<String, String> response = new HashMap<>();
-            response.put("profilePictureUrl", responseUrl);
+            response.put("profilePictureUrl", profileImageService.resolveViewUrl(key));
             
             return ResponseEntity.ok(ApiResponse.success(response));
-            
         } catch (Exception e) {
-            System.out.println("UPLOAD ERROR: " + e.getMessage());
-            e.printStackTrace();
             return ResponseEntity.badRequest()
-                    .body(ApiResponse.error("Failed to upload profile picture: " + e.getMessage()));
+                    .body(ApiResponse.error("Failed to complete upload: " + e.getMessage()));
+        }
+    }
+
+    @PostMapping("/profile/picture")
+    public CompletableFuture<ResponseEntity<ApiResponse>> uploadProfilePicture(
+            @RequestParam("file") MultipartFile file,
+            Authentication authentication) {
+        System.out.println("=== Profile Picture Upload Debug ===");
+        System.out.println("File name: " + file.getOriginalFilename());
+        System.out.println("File size: " + file.getSize());
+        System.out.println("Content type: " + file.getContentType());
+        
+        String userEmail = authentication.getName();
+        System.out.println("User email: " + userEmail);
+        
+        User user = userService.findByEmail(userEmail);
+        
+        if (user == null) {
+            System.out.println("ERROR: User not found for email: " + userEmail);
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(ApiResponse.error("User not found")));
+        }
+        
+        System.out.println("User found: " + user.getId());
+
+        String previousRef = user.getProfilePictureUrl();
+        Map<String, String> previousVariants = user.getProfilePictureVariants();
+        
+        // Upload new picture (validates the file, returns the content-addressed key, not URL); the request thread is
+        // released while storage works and the rest runs when the upload completes
+        CompletableFuture<String> upload;
+        try {
+            System.out.println("Attempting image upload...");
+            upload = profileImageService.store(file);
+        } catch (IllegalArgumentException invalidFile) {
+            // Validation failures are the client's problem, not a storage outage
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(ApiResponse.error(invalidFile.getMessage())));
+        } catch (Exception storeError) {
+            upload = CompletableFuture.failedFuture(storeError);
         }
+        
+        return upload
+                .handle((storedKey, storeError) -> {
+                    if (storeError == null) {
+                        System.out.println("Image upload successful. Key: " + storedKey);
+                        
+                        // Old picture is released once the new one is stored; re-uploading the same
+                        // image yields the same content-addressed key, which must be kept
+                        if (!storedKey.equals(previousRef)) {
+                            profileImageService.release(user.getId(), previousRef, previousVariants);
+                        }
+                        return storedKey;
+                    }
+                    System.out.println("Image upload failed: " + storeError.getMessage());
+                    System.out.println("Falling back to placeholder URL...");
+                    
+                    // Fallback: Use a placeholder URL (for testing without a working image store)
+                    String placeholder = "https://via.placeholder.com/150x150.png?text=" + user.getName().charAt(0);
+                    System.out.println("Using placeholder URL: " + placeholder);
+                    return placeholder;
+                })
+                .<ResponseEntity<ApiResponse>>thenApply(profilePictureRef -> {
+                    // Update user profile with new image reference (store key or placeholder URL)
+                    ProfileUpdateRequest updateRequest = new ProfileUpdateRequest();
+                    updateRequest.setName(user.getName());
+                    updateRequest.setBio(user.getBio());
+                    updateRequest.setProfilePictureUrl(profilePictureRef);
+                    
+                    User updatedUser = userService.updateProfile(userEmail, updateRequest);
+                    System.out.println("Profile updated successfully with reference: " + updatedUser.getProfilePictureUrl());
+                    
+                    // Resized variants are generated in the background once the new key is saved
+                    if (!profilePictureRef.startsWith("http")) {
+                        avatarVariantService.submit(profilePictureRef);
+                    }
+                    
+                    // Resolve a viewable URL for immediate use (if it's a store key)
+                    String responseUrl = profileImageService.resolveViewUrl(updatedUser.getProfilePictureUrl());
+                    
+                    Map<String, String> response = new HashMap<>();
+                    response.put("profilePictureUrl", responseUrl);
+                    
+                    return ResponseEntity.ok(ApiResponse.success(response));
+                })
+                .exceptionally(e -> {
+                    System.out.println("UPLOAD ERROR: " + e.getMessage());
+                    e.printStackTrace();
+                    return ResponseEntity.badRequest()
+                            .body(ApiResponse.error("Failed to upload profile picture: " + e.getMessage()));
+                });
     }
 
     @DeleteMapping("/profile/picture")
@@ -207,10 +283,8 @@ public class UserController {
                         .body(ApiResponse.error("User not found"));
             }
 
-            // Delete from S3 (only if it's an S3 key, not a placeholder URL)
-            if (user.getProfilePictureUrl() != null && !user.getProfilePictureUrl().startsWith("http")) {
-                s3Service.deleteFileByKey(user.getProfilePictureUrl());
-            }
+            // Delete from storage (only if it's a store key, not a placeholder URL, and no one else shares it)
+            profileImageService.release(user.getId(), user.getProfilePictureUrl(), user.getProfilePictureVariants());
 
             // Update user profile to remove image URL
             ProfileUpdateRequest updateRequest = new ProfileUpdateRequest();
@@ -227,6 +301,109 @@ public class UserController {
         }
     }
 
+    @GetMapping("/avatars")
+    public ResponseEntity<ApiResponse> getAvatarUrls(
+            @RequestParam List<String> ids,
+            @RequestParam(required = false) Integer size) {
+        try {
+            if (ids.size() > MAX_AVATAR_BATCH) {
+                return ResponseEntity.badRequest()
+                        .body(ApiResponse.error("At most " + MAX_AVATAR_BATCH + " ids per request"));
+            }
+            
+            Map<String, String> referencesByUser = new LinkedHashMap<>();
+            List<String> storeKeys = new ArrayList<>();
+            for (User user : userService.findAllByIds(ids)) {
+                if (avatarProxyEnabled) {
+                    referencesByUser.put(user.getId(), avatarUrl(user, size));
+                    continue;
+                }
+                String reference = avatarVariantService.selectKey(user, size);
+                referencesByUser.put(user.getId(), reference);
+                if (reference != null && !reference.startsWith("http")) {
+                    storeKeys.add(reference);
+                }
+            }
+            
+            // Sign every key in one pass; cached URLs are reused so list views stay browser-cacheable
+            Map<String, String> signed = profileImageService.viewUrls(storeKeys);
+            Map<String, String> response = new LinkedHashMap<>();
+            referencesByUser.forEach((userId, reference) -> response.put(userId,
+                    reference == null || reference.startsWith("http") ? reference : signed.get(reference)));
+            
+            return ResponseEntity.ok(ApiResponse.success(response));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to fetch avatar URLs: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/{id}/avatar")
+    public void getAvatar(
+            @PathVariable String id,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String v,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        User user;
+        try {
+            user = userService.findById(id);
+        } catch (RuntimeException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        
+        String key = avatarVariantService.selectKey(user, size);
+        if (key == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        if (key.startsWith("http")) {
+            // Placeholder or legacy URL, nothing to proxy
+            response.sendRedirect(key);
+            return;
+        }
+        
+        String version = AvatarCacheService.version(key);
+        String etag = "\"" + version + "\"";
+        String cacheControl = version.equals(v) ? VERSIONED_AVATAR_CACHE_CONTROL : AVATAR_CACHE_CONTROL;
+        // Revalidation is answered from the user document alone, without touching the cache or the store
+        if (FileStreamer.ifNoneMatch(request, etag)) {
+            response.setHeader("ETag", etag);
+            response.setHeader("Cache-Control", cacheControl);
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        
+        String contentType = key.endsWith(".png") ? "image/png" : key.endsWith(".gif") ? "image/gif"
+                : key.endsWith(".webp") ? "image/webp" : "image/jpeg";
+        for (int attempt = 1; ; attempt++) {
+            AvatarCacheService.CachedImage image;
+            try {
+                image = avatarCacheService.get(key).get(AVATAR_FETCH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                return;
+            } catch (ExecutionException | TimeoutException e) {
+                System.err.println("Failed to load avatar " + key + ": " + e.getMessage());
+                response.sendError(HttpServletResponse.SC_BAD_GATEWAY);
+                return;
+            }
+            
+            try {
+                FileStreamer.serve(request, response, image.getPath(), image.getSize(), contentType, etag,
+                        image.getLastModified(), cacheControl);
+                return;
+            } catch (NoSuchFileException evicted) {
+                // Evicted between the lookup and the open; nothing was written yet, and get() fetches it again
+                if (attempt > 1) {
+                    throw evicted;
+                }
+            }
+        }
+    }
+
     @PostMapping("/streak")
     public ResponseEntity<ApiResponse> updateStreak(Authentication authentication) {
         try {
@@ -243,4 +420,13 @@ public class UserController {
                     .body(ApiResponse.error("Failed to update streak: " + e.getMessage()));
         }
     }
-} 
\ No newline at end of file
+
+    private String avatarUrl(User user, Integer size) {
+        String key = avatarVariantService.selectKey(user, size);
+        if (!avatarProxyEnabled || key == null || key.startsWith("http")) {
+            return profileImageService.resolveViewUrl(key);
+        }
+        return avatarProxyBaseUrl + "/api/user/" + user.getId() + "/avatar?"
+                + (size != null ? "size=" + size + "&" : "") + "v=" + AvatarCacheService.version(key);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.lifepulse.dto.goal;
+
+import com.lifepulse.entity.GoalProgressSnapshot;
+
+import java.util.List;
+
+public class GoalHistoryResponse {
+    private String goalId;
+    private List<GoalProgressSnapshot.Point> points;
+    
+    public GoalHistoryResponse() {}
+    
+    public GoalHistoryResponse(String goalId, List<GoalProgressSnapshot.Point> points) {
+        this.goalId = goalId;
+        this.points = points;
+    }
+    
+    public String getGoalId() {
+        return goalId;
+    }
+    
+    public void setGoalId(String goalId) {
+        this.goalId = goalId;
+    }
+    
+    public List<GoalProgressSnapshot.Point> getPoints() {
+        return points;
+    }
+    
+    public void setPoints(List<GoalProgressSnapshot.Point> points) {
+        this.points = points;
+    }
+}
@@ -0,0 +1,24 @@
+package com.lifepulse.dto.goal;
+
+import jakarta.validation.constraints.NotNull;
+
+public class GoalIncrementRequest {
+    
+    // May be negative to undo a previous increment; the stored value never drops below zero
+    @NotNull(message = "Amount is required")
+    private Integer amount;
+    
+    public GoalIncrementRequest() {}
+    
+    public GoalIncrementRequest(Integer amount) {
+        this.amount = amount;
+    }
+    
+    public Integer getAmount() {
+        return amount;
+    }
+    
+    public void setAmount(Integer amount) {
+        this.amount = amount;
+    }
+}
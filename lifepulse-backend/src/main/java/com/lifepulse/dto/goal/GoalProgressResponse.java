@@ -0,0 +1,119 @@
+package com.lifepulse.dto.goal;
+
+import java.time.LocalDateTime;
+
+public class GoalProgressResponse {
+    private String id;
+    private Integer currentValue;
+    private Integer targetValue;
+    private boolean completed;
+    private boolean overdue;
+    private LocalDateTime updatedAt;
+    
+    public GoalProgressResponse() {}
+    
+    public GoalProgressResponse(String id, Integer currentValue, Integer targetValue, boolean completed,
+                                boolean overdue, LocalDateTime updatedAt) {
+        this.id = id;
+        this.currentValue = currentValue;
+        this.targetValue = targetValue;
+        this.completed = completed;
+        this.overdue = overdue;
+        this.updatedAt = updatedAt;
+    }
+    
+    public String getId() {
+        return id;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    public Integer getCurrentValue() {
+        return currentValue;
+    }
+    
+    public void setCurrentValue(Integer currentValue) {
+        this.currentValue = currentValue;
+    }
+    
+    public Integer getTargetValue() {
+        return targetValue;
+    }
+    
+    public void setTargetValue(Integer targetValue) {
+        this.targetValue = targetValue;
+    }
+    
+    public boolean isCompleted() {
+        return completed;
+    }
+    
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+    
+    public boolean isOverdue() {
+        return overdue;
+    }
+    
+    public void setOverdue(boolean overdue) {
+        this.overdue = overdue;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    public static Builder builder() {
+        return new Builder();
+    }
+    
+    public static class Builder {
+        private String id;
+        private Integer currentValue;
+        private Integer targetValue;
+        private boolean completed;
+        private boolean overdue;
+        private LocalDateTime updatedAt;
+        
+        public Builder id(String id) {
+            this.id = id;
+            return this;
+        }
+        
+        public Builder currentValue(Integer currentValue) {
+            this.currentValue = currentValue;
+            return this;
+        }
+        
+        public Builder targetValue(Integer targetValue) {
+            this.targetValue = targetValue;
+            return this;
+        }
+        
+        public Builder completed(boolean completed) {
+            this.completed = completed;
+            return this;
+        }
+        
+        public Builder overdue(boolean overdue) {
+            this.overdue = overdue;
+            return this;
+        }
+        
+        public Builder updatedAt(LocalDateTime updatedAt) {
+            this.updatedAt = updatedAt;
+            return this;
+        }
+        
+        public GoalProgressResponse build() {
+            return new GoalProgressResponse(id, currentValue, targetValue, completed, overdue, updatedAt);
+        }
+    }
+}
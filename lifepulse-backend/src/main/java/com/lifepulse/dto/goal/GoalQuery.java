@@ -0,0 +1,122 @@
+package com.lifepulse.dto.goal;
+
+import com.lifepulse.entity.Goal;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Query parameters accepted by {@code GET /api/goals}.
+ */
+public class GoalQuery {
+    
+    private Goal.GoalCategory category;
+    
+    private Goal.GoalPriority priority;
+    
+    private Boolean completed;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime deadlineFrom;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime deadlineTo;
+    
+    // priority, deadline or createdAt
+    private String sort;
+    
+    // asc or desc
+    private String direction;
+    
+    private Integer limit;
+    
+    private Integer offset;
+    
+    // Reject queries no index supports instead of running them with a warning
+    private boolean strict;
+    
+    public boolean isEmpty() {
+        return category == null && priority == null && completed == null && deadlineFrom == null
+                && deadlineTo == null && sort == null && direction == null && limit == null && offset == null;
+    }
+    
+    public Goal.GoalCategory getCategory() {
+        return category;
+    }
+    
+    public void setCategory(Goal.GoalCategory category) {
+        this.category = category;
+    }
+    
+    public Goal.GoalPriority getPriority() {
+        return priority;
+    }
+    
+    public void setPriority(Goal.GoalPriority priority) {
+        this.priority = priority;
+    }
+    
+    public Boolean getCompleted() {
+        return completed;
+    }
+    
+    public void setCompleted(Boolean completed) {
+        this.completed = completed;
+    }
+    
+    public LocalDateTime getDeadlineFrom() {
+        return deadlineFrom;
+    }
+    
+    public void setDeadlineFrom(LocalDateTime deadlineFrom) {
+        this.deadlineFrom = deadlineFrom;
+    }
+    
+    public LocalDateTime getDeadlineTo() {
+        return deadlineTo;
+    }
+    
+    public void setDeadlineTo(LocalDateTime deadlineTo) {
+        this.deadlineTo = deadlineTo;
+    }
+    
+    public String getSort() {
+        return sort;
+    }
+    
+    public void setSort(String sort) {
+        this.sort = sort;
+    }
+    
+    public String getDirection() {
+        return direction;
+    }
+    
+    public void setDirection(String direction) {
+        this.direction = direction;
+    }
+    
+    public Integer getLimit() {
+        return limit;
+    }
+    
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+    
+    public Integer getOffset() {
+        return offset;
+    }
+    
+    public void setOffset(Integer offset) {
+        this.offset = offset;
+    }
+    
+    public boolean isStrict() {
+        return strict;
+    }
+    
+    public void setStrict(boolean strict) {
+        this.strict = strict;
+    }
+}
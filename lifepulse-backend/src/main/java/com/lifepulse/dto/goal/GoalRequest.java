@@ -21,6 +21,11 @@ public class GoalRequest {
     
     private String unit;
     
+    private Goal.TrackerMetric metric;
+    
+    @Min(value = 1, message = "Daily threshold must be positive")
+    private Integer dailyThreshold;
+    
     private LocalDateTime deadline;
     
     private Goal.GoalPriority priority;
@@ -65,6 +70,22 @@ public class GoalRequest {
         this.unit = unit;
     }
     
+    public Goal.TrackerMetric getMetric() {
+        return metric;
+    }
+    
+    public void setMetric(Goal.TrackerMetric metric) {
+        this.metric = metric;
+    }
+    
+    public Integer getDailyThreshold() {
+        return dailyThreshold;
+    }
+    
+    public void setDailyThreshold(Integer dailyThreshold) {
+        this.dailyThreshold = dailyThreshold;
+    }
+    
     public LocalDateTime getDeadline() {
         return deadline;
     }
@@ -0,0 +1,58 @@
+package com.lifepulse.dto.meditation;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.nio.file.Path;
+
+/**
+ * Cached metadata of one guided-audio file; immutable so catalog readers need no locking.
+ */
+public class GuidedAudioTrack {
+    private final String id;
+    private final String title;
+    private final String contentType;
+    private final long size;
+    private final long lastModified;
+    private final String etag;
+    @JsonIgnore
+    private final Path path;
+    
+    public GuidedAudioTrack(String id, String title, String contentType, long size, long lastModified,
+                            String etag, Path path) {
+        this.id = id;
+        this.title = title;
+        this.contentType = contentType;
+        this.size = size;
+        this.lastModified = lastModified;
+        this.etag = etag;
+        this.path = path;
+    }
+    
+    public String getId() {
+        return id;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public String getContentType() {
+        return contentType;
+    }
+    
+    public long getSize() {
+        return size;
+    }
+    
+    public long getLastModified() {
+        return lastModified;
+    }
+    
+    public String getEtag() {
+        return etag;
+    }
+    
+    public Path getPath() {
+        return path;
+    }
+}
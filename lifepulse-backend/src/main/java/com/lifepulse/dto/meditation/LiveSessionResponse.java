@@ -0,0 +1,74 @@
+package com.lifepulse.dto.meditation;
+
+import com.lifepulse.entity.MeditationSession;
+
+import java.time.LocalDateTime;
+
+public class LiveSessionResponse {
+    private String sessionId;
+    private MeditationSession.MeditationType type;
+    private String notes;
+    private LocalDateTime startedAt;
+    private long elapsedSeconds;
+    private boolean paused;
+    
+    public LiveSessionResponse() {}
+    
+    public LiveSessionResponse(String sessionId, MeditationSession.MeditationType type, String notes,
+                               LocalDateTime startedAt, long elapsedSeconds, boolean paused) {
+        this.sessionId = sessionId;
+        this.type = type;
+        this.notes = notes;
+        this.startedAt = startedAt;
+        this.elapsedSeconds = elapsedSeconds;
+        this.paused = paused;
+    }
+    
+    public String getSessionId() {
+        return sessionId;
+    }
+    
+    public void setSessionId(String sessionId) {
+        this.sessionId = sessionId;
+    }
+    
+    public MeditationSession.MeditationType getType() {
+        return type;
+    }
+    
+    public void setType(MeditationSession.MeditationType type) {
+        this.type = type;
+    }
+    
+    public String getNotes() {
+        return notes;
+    }
+    
+    public void setNotes(String notes) {
+        this.notes = notes;
+    }
+    
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+    
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+    
+    public long getElapsedSeconds() {
+        return elapsedSeconds;
+    }
+    
+    public void setElapsedSeconds(long elapsedSeconds) {
+        this.elapsedSeconds = elapsedSeconds;
+    }
+    
+    public boolean isPaused() {
+        return paused;
+    }
+    
+    public void setPaused(boolean paused) {
+        this.paused = paused;
+    }
+}
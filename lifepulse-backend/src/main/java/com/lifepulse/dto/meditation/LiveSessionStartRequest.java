@@ -0,0 +1,35 @@
+package com.lifepulse.dto.meditation;
+
+import com.lifepulse.entity.MeditationSession;
+import jakarta.validation.constraints.NotNull;
+
+public class LiveSessionStartRequest {
+    
+    @NotNull(message = "Type is required")
+    private MeditationSession.MeditationType type;
+    
+    private String notes;
+    
+    public LiveSessionStartRequest() {}
+    
+    public LiveSessionStartRequest(MeditationSession.MeditationType type, String notes) {
+        this.type = type;
+        this.notes = notes;
+    }
+    
+    public MeditationSession.MeditationType getType() {
+        return type;
+    }
+    
+    public void setType(MeditationSession.MeditationType type) {
+        this.type = type;
+    }
+    
+    public String getNotes() {
+        return notes;
+    }
+    
+    public void setNotes(String notes) {
+        this.notes = notes;
+    }
+}
@@ -0,0 +1,194 @@
+package com.lifepulse.dto.meditation;
+
+import com.lifepulse.entity.MeditationSession;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+public class MeditationStatsResponse {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private int totalMinutes;
+    private int totalSessions;
+    private double averageMinutes;
+    private Map<MeditationSession.MeditationType, TypeStats> byType;
+    private int currentStreak;
+    private int longestStreak;
+    
+    public MeditationStatsResponse() {}
+    
+    public MeditationStatsResponse(LocalDate startDate, LocalDate endDate, int totalMinutes, int totalSessions,
+                                   double averageMinutes, Map<MeditationSession.MeditationType, TypeStats> byType,
+                                   int currentStreak, int longestStreak) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.totalMinutes = totalMinutes;
+        this.totalSessions = totalSessions;
+        this.averageMinutes = averageMinutes;
+        this.byType = byType;
+        this.currentStreak = currentStreak;
+        this.longestStreak = longestStreak;
+    }
+    
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+    
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+    
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+    
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+    
+    public int getTotalMinutes() {
+        return totalMinutes;
+    }
+    
+    public void setTotalMinutes(int totalMinutes) {
+        this.totalMinutes = totalMinutes;
+    }
+    
+    public int getTotalSessions() {
+        return totalSessions;
+    }
+    
+    public void setTotalSessions(int totalSessions) {
+        this.totalSessions = totalSessions;
+    }
+    
+    public double getAverageMinutes() {
+        return averageMinutes;
+    }
+    
+    public void setAverageMinutes(double averageMinutes) {
+        this.averageMinutes = averageMinutes;
+    }
+    
+    public Map<MeditationSession.MeditationType, TypeStats> getByType() {
+        return byType;
+    }
+    
+    public void setByType(Map<MeditationSession.MeditationType, TypeStats> byType) {
+        this.byType = byType;
+    }
+    
+    public int getCurrentStreak() {
+        return currentStreak;
+    }
+    
+    public void setCurrentStreak(int currentStreak) {
+        this.currentStreak = currentStreak;
+    }
+    
+    public int getLongestStreak() {
+        return longestStreak;
+    }
+    
+    public void setLongestStreak(int longestStreak) {
+        this.longestStreak = longestStreak;
+    }
+    
+    public static Builder builder() {
+        return new Builder();
+    }
+    
+    public static class Builder {
+        private LocalDate startDate;
+        private LocalDate endDate;
+        private int totalMinutes;
+        private int totalSessions;
+        private double averageMinutes;
+        private Map<MeditationSession.MeditationType, TypeStats> byType;
+        private int currentStreak;
+        private int longestStreak;
+        
+        public Builder startDate(LocalDate startDate) {
+            this.startDate = startDate;
+            return this;
+        }
+        
+        public Builder endDate(LocalDate endDate) {
+            this.endDate = endDate;
+            return this;
+        }
+        
+        public Builder totalMinutes(int totalMinutes) {
+            this.totalMinutes = totalMinutes;
+            return this;
+        }
+        
+        public Builder totalSessions(int totalSessions) {
+            this.totalSessions = totalSessions;
+            return this;
+        }
+        
+        public Builder averageMinutes(double averageMinutes) {
+            this.averageMinutes = averageMinutes;
+            return this;
+        }
+        
+        public Builder byType(Map<MeditationSession.MeditationType, TypeStats> byType) {
+            this.byType = byType;
+            return this;
+        }
+        
+        public Builder currentStreak(int currentStreak) {
+            this.currentStreak = currentStreak;
+            return this;
+        }
+        
+        public Builder longestStreak(int longestStreak) {
+            this.longestStreak = longestStreak;
+            return this;
+        }
+        
+        public MeditationStatsResponse build() {
+            return new MeditationStatsResponse(startDate, endDate, totalMinutes, totalSessions, averageMinutes,
+                    byType, currentStreak, longestStreak);
+        }
+    }
+    
+    public static class TypeStats {
+        private int minutes;
+        private int sessions;
+        private double averageMinutes;
+        
+        public TypeStats() {}
+        
+        public TypeStats(int minutes, int sessions, double averageMinutes) {
+            this.minutes = minutes;
+            this.sessions = sessions;
+            this.averageMinutes = averageMinutes;
+        }
+        
+        public int getMinutes() {
+            return minutes;
+        }
+        
+        public void setMinutes(int minutes) {
+            this.minutes = minutes;
+        }
+        
+        public int getSessions() {
+            return sessions;
+        }
+        
+        public void setSessions(int sessions) {
+            this.sessions = sessions;
+        }
+        
+        public double getAverageMinutes() {
+            return averageMinutes;
+        }
+        
+        public void setAverageMinutes(double averageMinutes) {
+            this.averageMinutes = averageMinutes;
+        }
+    }
+}
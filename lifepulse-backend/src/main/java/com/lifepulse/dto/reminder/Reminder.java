@@ -0,0 +1,139 @@
+package com.lifepulse.dto.reminder;
+
+import java.time.LocalDateTime;
+
+public class Reminder {
+    private ReminderType type;
+    private String referenceId;
+    private String userId;
+    private String title;
+    private String priority;
+    private LocalDateTime dueAt;
+    private LocalDateTime fireAt;
+    
+    public Reminder() {}
+    
+    public Reminder(ReminderType type, String referenceId, String userId, String title, String priority,
+                    LocalDateTime dueAt, LocalDateTime fireAt) {
+        this.type = type;
+        this.referenceId = referenceId;
+        this.userId = userId;
+        this.title = title;
+        this.priority = priority;
+        this.dueAt = dueAt;
+        this.fireAt = fireAt;
+    }
+    
+    public ReminderType getType() {
+        return type;
+    }
+    
+    public void setType(ReminderType type) {
+        this.type = type;
+    }
+    
+    public String getReferenceId() {
+        return referenceId;
+    }
+    
+    public void setReferenceId(String referenceId) {
+        this.referenceId = referenceId;
+    }
+    
+    public String getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public void setTitle(String title) {
+        this.title = title;
+    }
+    
+    public String getPriority() {
+        return priority;
+    }
+    
+    public void setPriority(String priority) {
+        this.priority = priority;
+    }
+    
+    public LocalDateTime getDueAt() {
+        return dueAt;
+    }
+    
+    public void setDueAt(LocalDateTime dueAt) {
+        this.dueAt = dueAt;
+    }
+    
+    public LocalDateTime getFireAt() {
+        return fireAt;
+    }
+    
+    public void setFireAt(LocalDateTime fireAt) {
+        this.fireAt = fireAt;
+    }
+    
+    public static Builder builder() {
+        return new Builder();
+    }
+    
+    public static class Builder {
+        private ReminderType type;
+        private String referenceId;
+        private String userId;
+        private String title;
+        private String priority;
+        private LocalDateTime dueAt;
+        private LocalDateTime fireAt;
+        
+        public Builder type(ReminderType type) {
+            this.type = type;
+            return this;
+        }
+        
+        public Builder referenceId(String referenceId) {
+            this.referenceId = referenceId;
+            return this;
+        }
+        
+        public Builder userId(String userId) {
+            this.userId = userId;
+            return this;
+        }
+        
+        public Builder title(String title) {
+            this.title = title;
+            return this;
+        }
+        
+        public Builder priority(String priority) {
+            this.priority = priority;
+            return this;
+        }
+        
+        public Builder dueAt(LocalDateTime dueAt) {
+            this.dueAt = dueAt;
+            return this;
+        }
+        
+        public Builder fireAt(LocalDateTime fireAt) {
+            this.fireAt = fireAt;
+            return this;
+        }
+        
+        public Reminder build() {
+            return new Reminder(type, referenceId, userId, title, priority, dueAt, fireAt);
+        }
+    }
+    
+    public enum ReminderType {
+        EVENT_START, GOAL_DEADLINE
+    }
+}
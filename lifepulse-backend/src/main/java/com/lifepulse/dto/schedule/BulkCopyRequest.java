@@ -0,0 +1,45 @@
+package com.lifepulse.dto.schedule;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDate;
+
+public class BulkCopyRequest {
+    
+    @NotNull(message = "Source date is required")
+    private LocalDate sourceDate;
+    
+    @NotNull(message = "Target date is required")
+    private LocalDate targetDate;
+    
+    // 1 copies a single day, 7 a week
+    @NotNull(message = "Days is required")
+    @Min(value = 1, message = "Days must be at least 1")
+    @Max(value = 31, message = "Days must not exceed 31")
+    private Integer days = 1;
+    
+    public LocalDate getSourceDate() {
+        return sourceDate;
+    }
+    
+    public void setSourceDate(LocalDate sourceDate) {
+        this.sourceDate = sourceDate;
+    }
+    
+    public LocalDate getTargetDate() {
+        return targetDate;
+    }
+    
+    public void setTargetDate(LocalDate targetDate) {
+        this.targetDate = targetDate;
+    }
+    
+    public Integer getDays() {
+        return days;
+    }
+    
+    public void setDays(Integer days) {
+        this.days = days;
+    }
+}
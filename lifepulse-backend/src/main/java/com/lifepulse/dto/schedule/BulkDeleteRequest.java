@@ -0,0 +1,50 @@
+package com.lifepulse.dto.schedule;
+
+import com.lifepulse.entity.ScheduleEvent;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+
+public class BulkDeleteRequest {
+    
+    @NotNull(message = "Start is required")
+    private LocalDateTime start;
+    
+    @NotNull(message = "End is required")
+    private LocalDateTime end;
+    
+    private ScheduleEvent.EventCategory category;
+    
+    private ScheduleEvent.EventPriority priority;
+    
+    public LocalDateTime getStart() {
+        return start;
+    }
+    
+    public void setStart(LocalDateTime start) {
+        this.start = start;
+    }
+    
+    public LocalDateTime getEnd() {
+        return end;
+    }
+    
+    public void setEnd(LocalDateTime end) {
+        this.end = end;
+    }
+    
+    public ScheduleEvent.EventCategory getCategory() {
+        return category;
+    }
+    
+    public void setCategory(ScheduleEvent.EventCategory category) {
+        this.category = category;
+    }
+    
+    public ScheduleEvent.EventPriority getPriority() {
+        return priority;
+    }
+    
+    public void setPriority(ScheduleEvent.EventPriority priority) {
+        this.priority = priority;
+    }
+}
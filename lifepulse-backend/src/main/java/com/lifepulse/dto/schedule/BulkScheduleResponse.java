@@ -0,0 +1,52 @@
+package com.lifepulse.dto.schedule;
+
+public class BulkScheduleResponse {
+    private long matched;
+    private long affected;
+    
+    public BulkScheduleResponse() {}
+    
+    public BulkScheduleResponse(long matched, long affected) {
+        this.matched = matched;
+        this.affected = affected;
+    }
+    
+    public long getMatched() {
+        return matched;
+    }
+    
+    public void setMatched(long matched) {
+        this.matched = matched;
+    }
+    
+    public long getAffected() {
+        return affected;
+    }
+    
+    public void setAffected(long affected) {
+        this.affected = affected;
+    }
+    
+    public static Builder builder() {
+        return new Builder();
+    }
+    
+    public static class Builder {
+        private long matched;
+        private long affected;
+        
+        public Builder matched(long matched) {
+            this.matched = matched;
+            return this;
+        }
+        
+        public Builder affected(long affected) {
+            this.affected = affected;
+            return this;
+        }
+        
+        public BulkScheduleResponse build() {
+            return new BulkScheduleResponse(matched, affected);
+        }
+    }
+}
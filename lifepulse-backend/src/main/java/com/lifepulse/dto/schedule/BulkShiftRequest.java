@@ -0,0 +1,40 @@
+package com.lifepulse.dto.schedule;
+
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+
+public class BulkShiftRequest {
+    
+    @NotNull(message = "Start is required")
+    private LocalDateTime start;
+    
+    @NotNull(message = "End is required")
+    private LocalDateTime end;
+    
+    @NotNull(message = "Offset is required")
+    private Long offsetMinutes;
+    
+    public LocalDateTime getStart() {
+        return start;
+    }
+    
+    public void setStart(LocalDateTime start) {
+        this.start = start;
+    }
+    
+    public LocalDateTime getEnd() {
+        return end;
+    }
+    
+    public void setEnd(LocalDateTime end) {
+        this.end = end;
+    }
+    
+    public Long getOffsetMinutes() {
+        return offsetMinutes;
+    }
+    
+    public void setOffsetMinutes(Long offsetMinutes) {
+        this.offsetMinutes = offsetMinutes;
+    }
+}
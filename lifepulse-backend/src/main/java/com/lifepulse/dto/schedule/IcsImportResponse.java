@@ -0,0 +1,68 @@
+package com.lifepulse.dto.schedule;
+
+public class IcsImportResponse {
+    private int imported;
+    private int duplicates;
+    private int skipped;
+    
+    public IcsImportResponse() {}
+    
+    public IcsImportResponse(int imported, int duplicates, int skipped) {
+        this.imported = imported;
+        this.duplicates = duplicates;
+        this.skipped = skipped;
+    }
+    
+    public int getImported() {
+        return imported;
+    }
+    
+    public void setImported(int imported) {
+        this.imported = imported;
+    }
+    
+    public int getDuplicates() {
+        return duplicates;
+    }
+    
+    public void setDuplicates(int duplicates) {
+        this.duplicates = duplicates;
+    }
+    
+    public int getSkipped() {
+        return skipped;
+    }
+    
+    public void setSkipped(int skipped) {
+        this.skipped = skipped;
+    }
+    
+    public static Builder builder() {
+        return new Builder();
+    }
+    
+    public static class Builder {
+        private int imported;
+        private int duplicates;
+        private int skipped;
+        
+        public Builder imported(int imported) {
+            this.imported = imported;
+            return this;
+        }
+        
+        public Builder duplicates(int duplicates) {
+            this.duplicates = duplicates;
+            return this;
+        }
+        
+        public Builder skipped(int skipped) {
+            this.skipped = skipped;
+            return this;
+        }
+        
+        public IcsImportResponse build() {
+            return new IcsImportResponse(imported, duplicates, skipped);
+        }
+    }
+}
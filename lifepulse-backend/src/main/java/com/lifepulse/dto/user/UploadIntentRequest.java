@@ -0,0 +1,52 @@
+package com.lifepulse.dto.user;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+
+public class UploadIntentRequest {
+    
+    @NotBlank(message = "Content type is required")
+    private String contentType;
+    
+    @NotNull(message = "Content length is required")
+    @Positive(message = "Content length must be positive")
+    private Long contentLength;
+    
+    @NotBlank(message = "SHA-256 is required")
+    @Pattern(regexp = "^[0-9a-fA-F]{64}$", message = "SHA-256 must be 64 hex characters")
+    private String sha256;
+    
+    public UploadIntentRequest() {}
+    
+    public UploadIntentRequest(String contentType, Long contentLength, String sha256) {
+        this.contentType = contentType;
+        this.contentLength = contentLength;
+        this.sha256 = sha256;
+    }
+    
+    public String getContentType() {
+        return contentType;
+    }
+    
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+    
+    public Long getContentLength() {
+        return contentLength;
+    }
+    
+    public void setContentLength(Long contentLength) {
+        this.contentLength = contentLength;
+    }
+    
+    public String getSha256() {
+        return sha256;
+    }
+    
+    public void setSha256(String sha256) {
+        this.sha256 = sha256;
+    }
+}
@@ -0,0 +1,65 @@
+package com.lifepulse.dto.user;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public class UploadIntentResponse {
+    private String intentId;
+    private String uploadUrl;
+    // Headers the PUT must carry exactly as given; they are part of the signature
+    private Map<String, String> headers;
+    private LocalDateTime expiresAt;
+    // The same content is already stored: skip the PUT and complete straight away
+    private boolean alreadyUploaded;
+    
+    public UploadIntentResponse() {}
+    
+    public UploadIntentResponse(String intentId, String uploadUrl, Map<String, String> headers,
+                                LocalDateTime expiresAt, boolean alreadyUploaded) {
+        this.intentId = intentId;
+        this.uploadUrl = uploadUrl;
+        this.headers = headers;
+        this.expiresAt = expiresAt;
+        this.alreadyUploaded = alreadyUploaded;
+    }
+    
+    public String getIntentId() {
+        return intentId;
+    }
+    
+    public void setIntentId(String intentId) {
+        this.intentId = intentId;
+    }
+    
+    public String getUploadUrl() {
+        return uploadUrl;
+    }
+    
+    public void setUploadUrl(String uploadUrl) {
+        this.uploadUrl = uploadUrl;
+    }
+    
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+    
+    public void setHeaders(Map<String, String> headers) {
+        this.headers = headers;
+    }
+    
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+    
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+    
+    public boolean isAlreadyUploaded() {
+        return alreadyUploaded;
+    }
+    
+    public void setAlreadyUploaded(boolean alreadyUploaded) {
+        this.alreadyUploaded = alreadyUploaded;
+    }
+}
@@ -4,14 +4,32 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.mongodb.core.mapping.Document;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Min;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Document(collection = "goals")
+@CompoundIndexes({
+    // Deadline sweeper: completed equality, then the (deadline, _id) keyset sort, so batches need no in-memory sort
+    @CompoundIndex(name = "completed_deadline_id", def = "{ 'completed': 1, 'deadline': 1, '_id': 1 }"),
+    // Indexes backing the goal query API; GoalQueryService checks queries against this list
+    @CompoundIndex(name = "userId_createdAt", def = "{ 'userId': 1, 'createdAt': -1 }"),
+    @CompoundIndex(name = "userId_deadline", def = "{ 'userId': 1, 'deadline': 1 }"),
+    @CompoundIndex(name = "userId_priorityRank_deadline", def = "{ 'userId': 1, 'priorityRank': 1, 'deadline': 1 }"),
+    @CompoundIndex(name = "userId_completed_deadline", def = "{ 'userId': 1, 'completed': 1, 'deadline': 1 }"),
+    @CompoundIndex(name = "userId_completed_priorityRank_deadline", def = "{ 'userId': 1, 'completed': 1, 'priorityRank': 1, 'deadline': 1 }"),
+    @CompoundIndex(name = "userId_completed_createdAt", def = "{ 'userId': 1, 'completed': 1, 'createdAt': -1 }"),
+    @CompoundIndex(name = "userId_category_completed_deadline", def = "{ 'userId': 1, 'category': 1, 'completed': 1, 'deadline': 1 }"),
+    @CompoundIndex(name = "userId_category_createdAt", def = "{ 'userId': 1, 'category': 1, 'createdAt': -1 }"),
+    @CompoundIndex(name = "metric_completed", def = "{ 'metric': 1, 'completed': 1 }", sparse = true)
+})
 public class Goal {
     
     @Id
@@ -32,12 +50,32 @@ public class Goal {
     
     private String unit;
     
+    // Tracker this goal is fed from automatically; null for manually updated goals
+    private TrackerMetric metric;
+    
+    // With a metric: count days reaching this total instead of summing the metric
+    private Integer dailyThreshold;
+    
+    // Running metric total for metricDay, maintained by the tracker updates
+    private LocalDate metricDay;
+    
+    private Integer metricDayTotal;
+    
     private LocalDateTime deadline;
     
     private boolean completed = false;
     
+    // Set by the deadline sweeper (and on save) once the deadline passes without completion
+    private boolean overdue = false;
+    
+    private boolean deadlineNotified = false;
+    
     private GoalPriority priority = GoalPriority.MEDIUM;
     
+    // Numeric copy of priority so it sorts LOW < MEDIUM < HIGH (the enum is stored by name)
+    @JsonIgnore
+    private Integer priorityRank = rankOf(GoalPriority.MEDIUM);
+    
     @NotNull(message = "User ID is required")
     @Indexed
     private String userId;
@@ -51,8 +89,9 @@ public class Goal {
     public Goal() {}
     
     public Goal(String id, String title, String description, GoalCategory category, 
-                Integer targetValue, Integer currentValue, String unit, LocalDateTime deadline,
-                boolean completed, GoalPriority priority, String userId, 
+                Integer targetValue, Integer currentValue, String unit, TrackerMetric metric,
+                Integer dailyThreshold, LocalDateTime deadline,
+                boolean completed, boolean overdue, boolean deadlineNotified, GoalPriority priority, String userId, 
                 LocalDateTime createdAt, LocalDateTime updatedAt) {
         this.id = id;
         this.title = title;
@@ -61,9 +100,14 @@ public class Goal {
         this.targetValue = targetValue;
         this.currentValue = currentValue;
         this.unit = unit;
+        this.metric = metric;
+        this.dailyThreshold = dailyThreshold;
         this.deadline = deadline;
         this.completed = completed;
+        this.overdue = overdue;
+        this.deadlineNotified = deadlineNotified;
         this.priority = priority;
+        this.priorityRank = rankOf(priority);
         this.userId = userId;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
@@ -126,6 +170,38 @@ public class Goal {
         this.unit = unit;
     }
     
+    public TrackerMetric getMetric() {
+        return metric;
+    }
+    
+    public void setMetric(TrackerMetric metric) {
+        this.metric = metric;
+    }
+    
+    public Integer getDailyThreshold() {
+        return dailyThreshold;
+    }
+    
+    public void setDailyThreshold(Integer dailyThreshold) {
+        this.dailyThreshold = dailyThreshold;
+    }
+    
+    public LocalDate getMetricDay() {
+        return metricDay;
+    }
+    
+    public void setMetricDay(LocalDate metricDay) {
+        this.metricDay = metricDay;
+    }
+    
+    public Integer getMetricDayTotal() {
+        return metricDayTotal;
+    }
+    
+    public void setMetricDayTotal(Integer metricDayTotal) {
+        this.metricDayTotal = metricDayTotal;
+    }
+    
     public LocalDateTime getDeadline() {
         return deadline;
     }
@@ -142,12 +218,41 @@ public class Goal {
         this.completed = completed;
     }
     
+    public boolean isOverdue() {
+        return overdue;
+    }
+    
+    public void setOverdue(boolean overdue) {
+        this.overdue = overdue;
+    }
+    
+    public boolean isDeadlineNotified() {
+        return deadlineNotified;
+    }
+    
+    public void setDeadlineNotified(boolean deadlineNotified) {
+        this.deadlineNotified = deadlineNotified;
+    }
+    
     public GoalPriority getPriority() {
         return priority;
     }
     
     public void setPriority(GoalPriority priority) {
         this.priority = priority;
+        this.priorityRank = rankOf(priority);
+    }
+    
+    public Integer getPriorityRank() {
+        return priorityRank;
+    }
+    
+    public void setPriorityRank(Integer priorityRank) {
+        this.priorityRank = priorityRank;
+    }
+    
+    public static int rankOf(GoalPriority priority) {
+        return priority != null ? priority.ordinal() : GoalPriority.MEDIUM.ordinal();
     }
     
     public String getUserId() {
@@ -186,8 +291,12 @@ public class Goal {
         private Integer targetValue;
         private Integer currentValue = 0;
         private String unit;
+        private TrackerMetric metric;
+        private Integer dailyThreshold;
         private LocalDateTime deadline;
         private boolean completed = false;
+        private boolean overdue = false;
+        private boolean deadlineNotified = false;
         private GoalPriority priority = GoalPriority.MEDIUM;
         private String userId;
         private LocalDateTime createdAt;
@@ -228,6 +337,16 @@ public class Goal {
             return this;
         }
         
+        public Builder metric(TrackerMetric metric) {
+            this.metric = metric;
+            return this;
+        }
+        
+        public Builder dailyThreshold(Integer dailyThreshold) {
+            this.dailyThreshold = dailyThreshold;
+            return this;
+        }
+        
         public Builder deadline(LocalDateTime deadline) {
             this.deadline = deadline;
             return this;
@@ -238,6 +357,16 @@ public class Goal {
             return this;
         }
         
+        public Builder overdue(boolean overdue) {
+            this.overdue = overdue;
+            return this;
+        }
+        
+        public Builder deadlineNotified(boolean deadlineNotified) {
+            this.deadlineNotified = deadlineNotified;
+            return this;
+        }
+        
         public Builder priority(GoalPriority priority) {
             this.priority = priority;
             return this;
@@ -260,7 +389,7 @@ public class Goal {
         
         public Goal build() {
             return new Goal(id, title, description, category, targetValue, currentValue, 
-                           unit, deadline, completed, priority, userId, createdAt, updatedAt);
+                           unit, metric, dailyThreshold, deadline, completed, overdue, deadlineNotified, priority, userId, createdAt, updatedAt);
         }
     }
     
@@ -268,6 +397,11 @@ public class Goal {
         WORK, PERSONAL, HEALTH, FITNESS, OTHER
     }
     
+    public enum TrackerMetric {
+        HYDRATION_ML, MEDITATION_MINUTES, MEDITATION_SESSIONS
+    }
+    
+    // Declared in ascending order; the ordinal is persisted as priorityRank
     public enum GoalPriority {
         LOW, MEDIUM, HIGH
     }
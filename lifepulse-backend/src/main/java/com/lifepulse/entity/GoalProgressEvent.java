@@ -0,0 +1,141 @@
+package com.lifepulse.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the append-only progress log. Entries are only ever inserted, and are
+ * removed once the compactor has folded them into the goal's {@link GoalProgressSnapshot}.
+ */
+@Document(collection = "goal_progress_events")
+@CompoundIndex(name = "goalId_ts", def = "{ 'goalId': 1, 'ts': 1 }")
+public class GoalProgressEvent {
+    
+    @Id
+    private String id;
+    
+    private String goalId;
+    
+    private String userId;
+    
+    // Serves the compactor's ts < cutoff scan, which has no goalId to lead with
+    @Indexed
+    private LocalDateTime ts;
+    
+    // Progress value after the change
+    private Integer value;
+    
+    // Requested change for increments, null when the value was set directly
+    private Integer delta;
+    
+    public GoalProgressEvent() {}
+    
+    public GoalProgressEvent(String id, String goalId, String userId, LocalDateTime ts, Integer value, Integer delta) {
+        this.id = id;
+        this.goalId = goalId;
+        this.userId = userId;
+        this.ts = ts;
+        this.value = value;
+        this.delta = delta;
+    }
+    
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    public String getGoalId() {
+        return goalId;
+    }
+    
+    public void setGoalId(String goalId) {
+        this.goalId = goalId;
+    }
+    
+    public String getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+    
+    public LocalDateTime getTs() {
+        return ts;
+    }
+    
+    public void setTs(LocalDateTime ts) {
+        this.ts = ts;
+    }
+    
+    public Integer getValue() {
+        return value;
+    }
+    
+    public void setValue(Integer value) {
+        this.value = value;
+    }
+    
+    public Integer getDelta() {
+        return delta;
+    }
+    
+    public void setDelta(Integer delta) {
+        this.delta = delta;
+    }
+    
+    public static Builder builder() {
+        return new Builder();
+    }
+    
+    public static class Builder {
+        private String id;
+        private String goalId;
+        private String userId;
+        private LocalDateTime ts;
+        private Integer value;
+        private Integer delta;
+        
+        public Builder id(String id) {
+            this.id = id;
+            return this;
+        }
+        
+        public Builder goalId(String goalId) {
+            this.goalId = goalId;
+            return this;
+        }
+        
+        public Builder userId(String userId) {
+            this.userId = userId;
+            return this;
+        }
+        
+        public Builder ts(LocalDateTime ts) {
+            this.ts = ts;
+            return this;
+        }
+        
+        public Builder value(Integer value) {
+            this.value = value;
+            return this;
+        }
+        
+        public Builder delta(Integer delta) {
+            this.delta = delta;
+            return this;
+        }
+        
+        public GoalProgressEvent build() {
+            return new GoalProgressEvent(id, goalId, userId, ts, value, delta);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.lifepulse.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compacted progress history of one goal, keyed by the goal id. Holds the last point of
+ * each day within {@code goals.history.daily-retention-days}, of each week back to
+ * {@code goals.history.weekly-retention-days} and of each month before that; every log
+ * event with a timestamp at or before {@code through} is already folded in.
+ */
+@Document(collection = "goal_progress_snapshots")
+public class GoalProgressSnapshot {
+    
+    @Id
+    private String goalId;
+    
+    private String userId;
+    
+    private LocalDateTime through;
+    
+    private List<Point> points = new ArrayList<>();
+    
+    public GoalProgressSnapshot() {}
+    
+    public GoalProgressSnapshot(String goalId, String userId, LocalDateTime through, List<Point> points) {
+        this.goalId = goalId;
+        this.userId = userId;
+        this.through = through;
+        this.points = points;
+    }
+    
+    // Getters and Setters
+    public String getGoalId() {
+        return goalId;
+    }
+    
+    public void setGoalId(String goalId) {
+        this.goalId = goalId;
+    }
+    
+    public String getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+    
+    public LocalDateTime getThrough() {
+        return through;
+    }
+    
+    public void setThrough(LocalDateTime through) {
+        this.through = through;
+    }
+    
+    public List<Point> getPoints() {
+        return points;
+    }
+    
+    public void setPoints(List<Point> points) {
+        this.points = points;
+    }
+    
+    // Last known progress value on a given day (or at the end of a downsampled week)
+    public static class Point {
+        private LocalDate date;
+        private Integer value;
+        
+        public Point() {}
+        
+        public Point(LocalDate date, Integer value) {
+            this.date = date;
+            this.value = value;
+        }
+        
+        public LocalDate getDate() {
+            return date;
+        }
+        
+        public void setDate(LocalDate date) {
+            this.date = date;
+        }
+        
+        public Integer getValue() {
+            return value;
+        }
+        
+        public void setValue(Integer value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.lifepulse.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Last persisted state of a live meditation session, keyed by user id. Written only on
+ * start/pause/resume (batched), never on heartbeats, and removed when the session ends.
+ */
+@Document(collection = "live_meditation_checkpoints")
+public class LiveMeditationCheckpoint {
+    
+    @Id
+    private String userId;
+    
+    private String sessionId;
+    
+    private MeditationSession.MeditationType type;
+    
+    private String notes;
+    
+    private LocalDateTime startedAt;
+    
+    // Active time accumulated before the current run
+    private long accumulatedMillis;
+    
+    // Start of the current run, null while paused
+    private LocalDateTime resumedAt;
+    
+    private LocalDateTime updatedAt;
+    
+    public LiveMeditationCheckpoint() {}
+    
+    public LiveMeditationCheckpoint(String userId, String sessionId, MeditationSession.MeditationType type, String notes,
+                                    LocalDateTime startedAt, long accumulatedMillis, LocalDateTime resumedAt,
+                                    LocalDateTime updatedAt) {
+        this.userId = userId;
+        this.sessionId = sessionId;
+        this.type = type;
+        this.notes = notes;
+        this.startedAt = startedAt;
+        this.accumulatedMillis = accumulatedMillis;
+        this.resumedAt = resumedAt;
+        this.updatedAt = updatedAt;
+    }
+    
+    // Getters and Setters
+    public String getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+    
+    public String getSessionId() {
+        return sessionId;
+    }
+    
+    public void setSessionId(String sessionId) {
+        this.sessionId = sessionId;
+    }
+    
+    public MeditationSession.MeditationType getType() {
+        return type;
+    }
+    
+    public void setType(MeditationSession.MeditationType type) {
+        this.type = type;
+    }
+    
+    public String getNotes() {
+        return notes;
+    }
+    
+    public void setNotes(String notes) {
+        this.notes = notes;
+    }
+    
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+    
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+    
+    public long getAccumulatedMillis() {
+        return accumulatedMillis;
+    }
+    
+    public void setAccumulatedMillis(long accumulatedMillis) {
+        this.accumulatedMillis = accumulatedMillis;
+    }
+    
+    public LocalDateTime getResumedAt() {
+        return resumedAt;
+    }
+    
+    public void setResumedAt(LocalDateTime resumedAt) {
+        this.resumedAt = resumedAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,124 @@
+package com.lifepulse.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-user, per-day meditation counters, incremented on every session write.
+ * The id is {@code userId:yyyy-MM-dd} so writes can upsert without a lookup.
+ */
+@Document(collection = "meditation_daily_stats")
+@CompoundIndex(name = "userId_day", def = "{ 'userId': 1, 'day': 1 }", unique = true)
+public class MeditationDailyStats {
+    
+    @Id
+    private String id;
+    
+    private String userId;
+    
+    private LocalDate day;
+    
+    private int minutes;
+    
+    private int sessions;
+    
+    // Keyed by MeditationType name
+    private Map<String, Totals> byType = new HashMap<>();
+    
+    public MeditationDailyStats() {}
+    
+    public MeditationDailyStats(String id, String userId, LocalDate day, int minutes, int sessions, Map<String, Totals> byType) {
+        this.id = id;
+        this.userId = userId;
+        this.day = day;
+        this.minutes = minutes;
+        this.sessions = sessions;
+        this.byType = byType;
+    }
+    
+    public static String idOf(String userId, LocalDate day) {
+        return userId + ":" + day;
+    }
+    
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    public String getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+    
+    public LocalDate getDay() {
+        return day;
+    }
+    
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+    
+    public int getMinutes() {
+        return minutes;
+    }
+    
+    public void setMinutes(int minutes) {
+        this.minutes = minutes;
+    }
+    
+    public int getSessions() {
+        return sessions;
+    }
+    
+    public void setSessions(int sessions) {
+        this.sessions = sessions;
+    }
+    
+    public Map<String, Totals> getByType() {
+        return byType;
+    }
+    
+    public void setByType(Map<String, Totals> byType) {
+        this.byType = byType;
+    }
+    
+    public static class Totals {
+        private int minutes;
+        private int sessions;
+        
+        public Totals() {}
+        
+        public Totals(int minutes, int sessions) {
+            this.minutes = minutes;
+            this.sessions = sessions;
+        }
+        
+        public int getMinutes() {
+            return minutes;
+        }
+        
+        public void setMinutes(int minutes) {
+            this.minutes = minutes;
+        }
+        
+        public int getSessions() {
+            return sessions;
+        }
+        
+        public void setSessions(int sessions) {
+            this.sessions = sessions;
+        }
+    }
+}
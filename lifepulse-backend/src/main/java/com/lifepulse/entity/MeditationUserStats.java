@@ -0,0 +1,133 @@
+package com.lifepulse.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Streak summary per user, keyed by user id. Advanced incrementally when a session is
+ * added; deleting the last session of a day marks it dirty and the next read rebuilds
+ * the streaks from the daily counters. Also tracks counter rebuilds: a session written
+ * while one runs marks the counters dirty, and the next read rebuilds them again.
+ */
+@Document(collection = "meditation_user_stats")
+public class MeditationUserStats {
+    
+    @Id
+    private String userId;
+    
+    private int currentStreak;
+    
+    private int longestStreak;
+    
+    // Most recent day with at least one session
+    private LocalDate lastDay;
+    
+    private boolean streakDirty;
+    
+    private boolean countersDirty;
+    
+    private boolean rebuilding;
+    
+    // Bumped by every rebuild, so a rebuild only completes if no later one started
+    private long rebuildGeneration;
+    
+    private LocalDateTime rebuildStartedAt;
+    
+    private LocalDateTime updatedAt;
+    
+    public MeditationUserStats() {}
+    
+    public MeditationUserStats(String userId, int currentStreak, int longestStreak, LocalDate lastDay,
+                               boolean streakDirty, LocalDateTime updatedAt) {
+        this.userId = userId;
+        this.currentStreak = currentStreak;
+        this.longestStreak = longestStreak;
+        this.lastDay = lastDay;
+        this.streakDirty = streakDirty;
+        this.updatedAt = updatedAt;
+    }
+    
+    // Getters and Setters
+    public String getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+    
+    public int getCurrentStreak() {
+        return currentStreak;
+    }
+    
+    public void setCurrentStreak(int currentStreak) {
+        this.currentStreak = currentStreak;
+    }
+    
+    public int getLongestStreak() {
+        return longestStreak;
+    }
+    
+    public void setLongestStreak(int longestStreak) {
+        this.longestStreak = longestStreak;
+    }
+    
+    public LocalDate getLastDay() {
+        return lastDay;
+    }
+    
+    public void setLastDay(LocalDate lastDay) {
+        this.lastDay = lastDay;
+    }
+    
+    public boolean isStreakDirty() {
+        return streakDirty;
+    }
+    
+    public void setStreakDirty(boolean streakDirty) {
+        this.streakDirty = streakDirty;
+    }
+    
+    public boolean isCountersDirty() {
+        return countersDirty;
+    }
+    
+    public void setCountersDirty(boolean countersDirty) {
+        this.countersDirty = countersDirty;
+    }
+    
+    public boolean isRebuilding() {
+        return rebuilding;
+    }
+    
+    public void setRebuilding(boolean rebuilding) {
+        this.rebuilding = rebuilding;
+    }
+    
+    public long getRebuildGeneration() {
+        return rebuildGeneration;
+    }
+    
+    public void setRebuildGeneration(long rebuildGeneration) {
+        this.rebuildGeneration = rebuildGeneration;
+    }
+    
+    public LocalDateTime getRebuildStartedAt() {
+        return rebuildStartedAt;
+    }
+    
+    public void setRebuildStartedAt(LocalDateTime rebuildStartedAt) {
+        this.rebuildStartedAt = rebuildStartedAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
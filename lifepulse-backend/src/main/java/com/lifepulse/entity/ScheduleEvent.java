@@ -4,6 +4,8 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
 
 import jakarta.validation.constraints.NotBlank;
@@ -11,6 +13,12 @@ import jakarta.validation.constraints.NotNull;
 import java.time.LocalDateTime;
 
 @Document(collection = "schedule_events")
+@CompoundIndexes({
+    @CompoundIndex(name = "startTime_id", def = "{ 'startTime': 1, '_id': 1 }"),
+    @CompoundIndex(name = "userId_startTime", def = "{ 'userId': 1, 'startTime': 1 }"),
+    @CompoundIndex(name = "userId_updatedAt", def = "{ 'userId': 1, 'updatedAt': -1 }"),
+    @CompoundIndex(name = "userId_externalUid", def = "{ 'userId': 1, 'externalUid': 1 }", sparse = true)
+})
 public class ScheduleEvent {
     
     @Id
@@ -36,6 +44,12 @@ public class ScheduleEvent {
     @Indexed
     private String userId;
     
+    // UID of the iCalendar VEVENT this event was imported from, if any
+    private String externalUid;
+    
+    // Start time the last delivered reminder was for; a reminder is sent at most once per start time
+    private LocalDateTime reminderSentFor;
+    
     @CreatedDate
     private LocalDateTime createdAt;
     
@@ -46,7 +60,7 @@ public class ScheduleEvent {
     
     public ScheduleEvent(String id, String title, String description, LocalDateTime startTime,
                         LocalDateTime endTime, EventCategory category, EventPriority priority,
-                        String userId, LocalDateTime createdAt, LocalDateTime updatedAt) {
+                        String userId, String externalUid, LocalDateTime createdAt, LocalDateTime updatedAt) {
         this.id = id;
         this.title = title;
         this.description = description;
@@ -55,6 +69,7 @@ public class ScheduleEvent {
         this.category = category;
         this.priority = priority;
         this.userId = userId;
+        this.externalUid = externalUid;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
     }
@@ -124,6 +139,22 @@ public class ScheduleEvent {
         this.userId = userId;
     }
     
+    public String getExternalUid() {
+        return externalUid;
+    }
+    
+    public void setExternalUid(String externalUid) {
+        this.externalUid = externalUid;
+    }
+    
+    public LocalDateTime getReminderSentFor() {
+        return reminderSentFor;
+    }
+    
+    public void setReminderSentFor(LocalDateTime reminderSentFor) {
+        this.reminderSentFor = reminderSentFor;
+    }
+    
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -153,6 +184,7 @@ public class ScheduleEvent {
         private EventCategory category;
         private EventPriority priority = EventPriority.MEDIUM;
         private String userId;
+        private String externalUid;
         private LocalDateTime createdAt;
         private LocalDateTime updatedAt;
         
@@ -196,6 +228,11 @@ public class ScheduleEvent {
             return this;
         }
         
+        public Builder externalUid(String externalUid) {
+            this.externalUid = externalUid;
+            return this;
+        }
+        
         public Builder createdAt(LocalDateTime createdAt) {
             this.createdAt = createdAt;
             return this;
@@ -208,7 +245,7 @@ public class ScheduleEvent {
         
         public ScheduleEvent build() {
             return new ScheduleEvent(id, title, description, startTime, endTime, 
-                                    category, priority, userId, createdAt, updatedAt);
+                                    category, priority, userId, externalUid, createdAt, updatedAt);
         }
     }
     
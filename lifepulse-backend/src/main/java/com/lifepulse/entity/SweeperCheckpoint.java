@@ -0,0 +1,65 @@
+package com.lifepulse.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resume position of a background sweeper, stored as the (deadline, id) key of the
+ * last document it processed so a restart continues where the previous run stopped.
+ */
+@Document(collection = "sweeper_checkpoints")
+public class SweeperCheckpoint {
+    
+    @Id
+    private String id;
+    
+    private LocalDateTime lastDeadline;
+    
+    private String lastId;
+    
+    private LocalDateTime updatedAt;
+    
+    public SweeperCheckpoint() {}
+    
+    public SweeperCheckpoint(String id, LocalDateTime lastDeadline, String lastId, LocalDateTime updatedAt) {
+        this.id = id;
+        this.lastDeadline = lastDeadline;
+        this.lastId = lastId;
+        this.updatedAt = updatedAt;
+    }
+    
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    public LocalDateTime getLastDeadline() {
+        return lastDeadline;
+    }
+    
+    public void setLastDeadline(LocalDateTime lastDeadline) {
+        this.lastDeadline = lastDeadline;
+    }
+    
+    public String getLastId() {
+        return lastId;
+    }
+    
+    public void setLastId(String lastId) {
+        this.lastId = lastId;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
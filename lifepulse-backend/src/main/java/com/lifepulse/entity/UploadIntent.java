@@ -0,0 +1,121 @@
+package com.lifepulse.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * A profile picture the client was allowed to PUT straight to storage. The presigned URL pins
+ * the key (the content hash), length and type; the intent records what was promised so the
+ * completion call can check the stored object against it.
+ */
+@Document(collection = "upload_intents")
+@CompoundIndexes({
+    @CompoundIndex(name = "status_expiresAt", def = "{ 'status': 1, 'expiresAt': 1 }"),
+    @CompoundIndex(name = "key_status", def = "{ 'key': 1, 'status': 1 }")
+})
+public class UploadIntent {
+    
+    @Id
+    private String id;
+    
+    private String userId;
+    
+    private String key;
+    
+    private String contentType;
+    
+    private long contentLength;
+    
+    private Status status;
+    
+    private LocalDateTime createdAt;
+    
+    private LocalDateTime expiresAt;
+    
+    public enum Status {
+        PENDING, COMPLETED
+    }
+    
+    public UploadIntent() {}
+    
+    public UploadIntent(String id, String userId, String key, String contentType, long contentLength,
+                        Status status, LocalDateTime createdAt, LocalDateTime expiresAt) {
+        this.id = id;
+        this.userId = userId;
+        this.key = key;
+        this.contentType = contentType;
+        this.contentLength = contentLength;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+    
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    public String getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+    
+    public String getKey() {
+        return key;
+    }
+    
+    public void setKey(String key) {
+        this.key = key;
+    }
+    
+    public String getContentType() {
+        return contentType;
+    }
+    
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+    
+    public long getContentLength() {
+        return contentLength;
+    }
+    
+    public void setContentLength(long contentLength) {
+        this.contentLength = contentLength;
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+    
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
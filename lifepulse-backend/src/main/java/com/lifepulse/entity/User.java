@@ -16,6 +16,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Map;
 
 @Document(collection = "users")
 public class User implements UserDetails {
@@ -41,6 +42,13 @@ public class User implements UserDetails {
     
     private String profilePictureUrl;
     
+    // Resized copies of the profile picture, keyed by edge length in px
+    private Map<String, String> profilePictureVariants;
+    
+    @JsonIgnore
+    @Indexed(unique = true, sparse = true)
+    private String calendarFeedToken;
+    
     private int streak = 0;
     
     private LocalDate lastLoginDate;
@@ -62,7 +70,7 @@ public class User implements UserDetails {
     public User() {}
     
     public User(String id, String name, String email, String password, String bio, String profilePictureUrl,
-                int streak, LocalDate lastLoginDate, boolean enabled, boolean accountNonExpired, boolean accountNonLocked, 
+                Map<String, String> profilePictureVariants, String calendarFeedToken, int streak, LocalDate lastLoginDate, boolean enabled, boolean accountNonExpired, boolean accountNonLocked, 
                 boolean credentialsNonExpired, LocalDateTime createdAt, LocalDateTime updatedAt) {
         this.id = id;
         this.name = name;
@@ -70,6 +78,8 @@ public class User implements UserDetails {
         this.password = password;
         this.bio = bio;
         this.profilePictureUrl = profilePictureUrl;
+        this.profilePictureVariants = profilePictureVariants;
+        this.calendarFeedToken = calendarFeedToken;
         this.streak = streak;
         this.lastLoginDate = lastLoginDate;
         this.enabled = enabled;
@@ -132,6 +142,23 @@ public class User implements UserDetails {
         this.profilePictureUrl = profilePictureUrl;
     }
     
+    public Map<String, String> getProfilePictureVariants() {
+        return profilePictureVariants;
+    }
+    
+    public void setProfilePictureVariants(Map<String, String> profilePictureVariants) {
+        this.profilePictureVariants = profilePictureVariants;
+    }
+    
+    @JsonIgnore
+    public String getCalendarFeedToken() {
+        return calendarFeedToken;
+    }
+    
+    public void setCalendarFeedToken(String calendarFeedToken) {
+        this.calendarFeedToken = calendarFeedToken;
+    }
+    
     public int getStreak() {
         return streak;
     }
@@ -228,6 +255,8 @@ public class User implements UserDetails {
         private String password;
         private String bio;
         private String profilePictureUrl;
+        private Map<String, String> profilePictureVariants;
+        private String calendarFeedToken;
         private int streak = 0;
         private LocalDate lastLoginDate;
         private boolean enabled = true;
@@ -267,6 +296,16 @@ public class User implements UserDetails {
             return this;
         }
         
+        public Builder profilePictureVariants(Map<String, String> profilePictureVariants) {
+            this.profilePictureVariants = profilePictureVariants;
+            return this;
+        }
+        
+        public Builder calendarFeedToken(String calendarFeedToken) {
+            this.calendarFeedToken = calendarFeedToken;
+            return this;
+        }
+        
         public Builder streak(int streak) {
             this.streak = streak;
             return this;
@@ -308,7 +347,7 @@ public class User implements UserDetails {
         }
         
         public User build() {
-            return new User(id, name, email, password, bio, profilePictureUrl, streak, lastLoginDate, enabled, 
+            return new User(id, name, email, password, bio, profilePictureUrl, profilePictureVariants, calendarFeedToken, streak, lastLoginDate, enabled, 
                            accountNonExpired, accountNonLocked, credentialsNonExpired, createdAt, updatedAt);
         }
     }
@@ -0,0 +1,11 @@
+package com.lifepulse.repository;
+
+import com.lifepulse.entity.GoalProgressEvent;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface GoalProgressEventRepository extends MongoRepository<GoalProgressEvent, String> {
+    
+    void deleteByGoalId(String goalId);
+}
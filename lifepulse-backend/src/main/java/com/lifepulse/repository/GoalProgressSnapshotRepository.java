@@ -0,0 +1,9 @@
+package com.lifepulse.repository;
+
+import com.lifepulse.entity.GoalProgressSnapshot;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface GoalProgressSnapshotRepository extends MongoRepository<GoalProgressSnapshot, String> {
+}
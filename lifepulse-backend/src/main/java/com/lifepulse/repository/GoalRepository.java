@@ -20,6 +20,8 @@ public interface GoalRepository extends MongoRepository<Goal, String> {
     
     List<Goal> findByUserIdAndCompletedOrderByCreatedAtDesc(String userId, boolean completed);
     
+    List<Goal> findByUserIdAndOverdueOrderByDeadlineAsc(String userId, boolean overdue);
+    
     List<Goal> findByUserIdAndDeadlineBetweenOrderByDeadlineAsc(String userId, LocalDateTime start, LocalDateTime end);
     
     @Query("{ 'userId': ?0, 'deadline': { $gte: ?1 }, 'completed': false }")
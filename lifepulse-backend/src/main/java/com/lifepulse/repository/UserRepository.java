@@ -12,4 +12,6 @@ public interface UserRepository extends MongoRepository<User, String> {
     Optional<User> findByEmail(String email);
     
     boolean existsByEmail(String email);
+    
+    Optional<User> findByCalendarFeedToken(String calendarFeedToken);
 } 
\ No newline at end of file
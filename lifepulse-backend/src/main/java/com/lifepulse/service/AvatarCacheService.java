@@ -0,0 +1,225 @@
+package com.lifepulse.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Read-through on-disk LRU of image store objects for the avatar proxy. Files are served straight
+ * from disk (sendfile where the container supports it); concurrent misses for one key share a
+ * single fetch from the store. Keys are content hashes, so cached files never go stale.
+ */
+@Service
+public class AvatarCacheService {
+
+    private final ImageStore imageStore;
+    private final Path directory;
+    private final long maxBytes;
+    private final ExecutorService fetchers;
+    // Access-ordered: iteration starts at the least recently used entry
+    private final LinkedHashMap<String, CachedImage> index = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<String, CompletableFuture<CachedImage>> inFlight = new ConcurrentHashMap<>();
+    private long totalBytes;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public AvatarCacheService(ImageStore imageStore, MeterRegistry meterRegistry,
+                              @Value("${avatars.proxy.cache-directory:./data/avatar-cache}") String directory,
+                              @Value("${avatars.proxy.cache-max-bytes:268435456}") long maxBytes,
+                              @Value("${avatars.proxy.fetch-threads:4}") int fetchThreads) {
+        this.imageStore = imageStore;
+        this.directory = Paths.get(directory).toAbsolutePath().normalize();
+        this.maxBytes = maxBytes;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.fetchers = Executors.newFixedThreadPool(fetchThreads, runnable -> {
+            Thread thread = new Thread(runnable, "avatar-cache-fetch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.hits = Counter.builder("avatars.proxy.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("avatars.proxy.cache").tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder("avatars.proxy.cache.evictions").register(meterRegistry);
+        Gauge.builder("avatars.proxy.cache.bytes", this, AvatarCacheService::getTotalBytes).register(meterRegistry);
+    }
+
+    /**
+     * Rebuilds the index from files left by the previous run, oldest first so they are evicted first.
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> listing = Files.list(directory)) {
+            listing.filter(Files::isRegularFile).forEach(files::add);
+        }
+        files.sort(Comparator.comparingLong(AvatarCacheService::lastModified));
+        synchronized (this) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.startsWith(".")) {
+                    // Leftover temp file from an interrupted fetch
+                    Files.deleteIfExists(file);
+                    continue;
+                }
+                long size = Files.size(file);
+                index.put(toKey(name), new CachedImage(file, size, lastModified(file)));
+                totalBytes += size;
+            }
+            evictIfNeeded();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fetchers.shutdownNow();
+    }
+
+    public CompletableFuture<CachedImage> get(String key) {
+        synchronized (this) {
+            CachedImage cached = index.get(key);
+            if (cached != null && Files.exists(cached.path)) {
+                hits.increment();
+                return CompletableFuture.completedFuture(cached);
+            }
+        }
+        misses.increment();
+        // Single flight: the first miss starts the fetch, concurrent misses join it
+        CompletableFuture<CachedImage> created = new CompletableFuture<>();
+        CompletableFuture<CachedImage> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing;
+        }
+        fetchers.execute(() -> {
+            try {
+                created.complete(fetch(key));
+            } catch (Throwable e) {
+                created.completeExceptionally(e);
+            } finally {
+                inFlight.remove(key, created);
+            }
+        });
+        return created;
+    }
+
+    /**
+     * Short, URL-safe version tag for a key: its file name without extension, which is the content hash.
+     */
+    public static String version(String key) {
+        String name = key.substring(key.lastIndexOf('/') + 1);
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    private CachedImage fetch(String key) throws IOException {
+        Path target = directory.resolve(toFileName(key));
+        Path temp = Files.createTempFile(directory, ".fetch-", ".tmp");
+        try (InputStream in = imageStore.open(key)) {
+            Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        CachedImage cached = new CachedImage(target, Files.size(target), lastModified(target));
+        synchronized (this) {
+            CachedImage previous = index.put(key, cached);
+            if (previous != null) {
+                totalBytes -= previous.size;
+            }
+            totalBytes += cached.size;
+            evictIfNeeded();
+        }
+        return cached;
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<String, CachedImage>> iterator = index.entrySet().iterator();
+        // Never evict the entry just added, even if it alone exceeds the budget
+        while (totalBytes > maxBytes && index.size() > 1 && iterator.hasNext()) {
+            CachedImage eldest = iterator.next().getValue();
+            iterator.remove();
+            totalBytes -= eldest.size;
+            evictions.increment();
+            try {
+                // Unlinking is safe for responses that already opened the file
+                Files.deleteIfExists(eldest.path);
+            } catch (IOException e) {
+                System.err.println("Failed to evict cached avatar " + eldest.path + ": " + e.getMessage());
+            }
+        }
+    }
+
+    // Keys contain '/', cache files live in one flat directory
+    private static String toFileName(String key) {
+        return key.replace("/", "~");
+    }
+
+    private static String toKey(String fileName) {
+        return fileName.replace("~", "/");
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    public static class CachedImage {
+        private final Path path;
+        private final long size;
+        private final long lastModified;
+
+        public CachedImage(Path path, long size, long lastModified) {
+            this.path = path;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package com.lifepulse.service;
+
+import com.lifepulse.entity.User;
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.NoSuchFileException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates fixed-size square JPEG variants of uploaded profile pictures on a bounded worker pool.
+ * A full queue rejects new work instead of growing, failed jobs are retried with backoff, and only
+ * users that still point at the picture the variants were made from are updated.
+ */
+@Service
+public class AvatarVariantService {
+
+    private static final String VARIANT_PREFIX = ProfileImageService.KEY_PREFIX + "variants/";
+
+    private final ImageStore imageStore;
+    private final MongoTemplate mongoTemplate;
+    private final int[] sizes;
+    private final int maxAttempts;
+    private final long retryDelayMillis;
+    private final float jpegQuality;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService retryScheduler;
+
+    private final Counter submitted;
+    private final Counter completed;
+    private final Counter retried;
+    private final Counter failed;
+    private final Counter rejected;
+    private final Counter discarded;
+    private final Timer duration;
+
+    public AvatarVariantService(ImageStore imageStore, MongoTemplate mongoTemplate, MeterRegistry meterRegistry,
+                                @Value("${avatars.variants.sizes:64,128,256}") int[] sizes,
+                                @Value("${avatars.variants.workers:2}") int workers,
+                                @Value("${avatars.variants.queue-capacity:100}") int queueCapacity,
+                                @Value("${avatars.variants.max-attempts:3}") int maxAttempts,
+                                @Value("${avatars.variants.retry-delay-ms:2000}") long retryDelayMillis,
+                                @Value("${avatars.variants.jpeg-quality:0.82}") float jpegQuality) {
+        this.imageStore = imageStore;
+        this.mongoTemplate = mongoTemplate;
+        this.sizes = Arrays.stream(sizes).sorted().toArray();
+        this.maxAttempts = maxAttempts;
+        this.retryDelayMillis = retryDelayMillis;
+        this.jpegQuality = jpegQuality;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "avatar-variants-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "avatar-variants-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("avatars.variants.queue.size", executor, pool -> pool.getQueue().size())
+                .description("Avatar variant jobs waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("avatars.variants.queue.remaining", executor, pool -> pool.getQueue().remainingCapacity())
+                .register(meterRegistry);
+        Gauge.builder("avatars.variants.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+        this.submitted = jobCounter(meterRegistry, "submitted");
+        this.completed = jobCounter(meterRegistry, "completed");
+        this.retried = jobCounter(meterRegistry, "retried");
+        this.failed = jobCounter(meterRegistry, "failed");
+        this.rejected = jobCounter(meterRegistry, "rejected");
+        this.discarded = jobCounter(meterRegistry, "discarded");
+        this.duration = Timer.builder("avatars.variants.duration")
+                .description("Time to download, resize and store all variants of one picture")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues variant generation for a freshly stored picture. Returns false when the queue is full;
+     * the profile then keeps serving the original until the picture is uploaded again.
+     */
+    public boolean submit(String sourceKey) {
+        return enqueue(new Job(sourceKey, 1));
+    }
+
+    /**
+     * Key of the smallest variant at least {@code size} px wide, or the original when no variant is
+     * large enough (or none exist yet).
+     */
+    public String selectKey(User user, Integer size) {
+        Map<String, String> variants = user.getProfilePictureVariants();
+        if (size == null || variants == null || variants.isEmpty()) {
+            return user.getProfilePictureUrl();
+        }
+        for (int candidate : sizes) {
+            String key = variants.get(String.valueOf(candidate));
+            if (candidate >= size && key != null) {
+                return key;
+            }
+        }
+        return user.getProfilePictureUrl();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retryScheduler.shutdownNow();
+        executor.shutdown();
+    }
+
+    private boolean enqueue(Job job) {
+        try {
+            executor.execute(() -> run(job));
+            submitted.increment();
+            return true;
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            System.err.println("Avatar variant queue full, skipping " + job.sourceKey);
+            return false;
+        }
+    }
+
+    private void run(Job job) {
+        Timer.Sample sample = Timer.start();
+        try {
+            Map<String, String> variants = generate(job.sourceKey);
+            // Keys are content hashes, so every user sharing this picture gets the same variants
+            Query query = new Query(Criteria.where("profilePictureUrl").is(job.sourceKey));
+            UpdateResult result = mongoTemplate.updateMulti(query,
+                    new Update().set("profilePictureVariants", variants), User.class);
+            if (result.getMatchedCount() == 0) {
+                // The picture was replaced or removed while we worked; these variants belong to nobody
+                variants.values().forEach(imageStore::delete);
+                discarded.increment();
+            } else {
+                completed.increment();
+            }
+        } catch (NoSuchKeyException | NoSuchFileException | UnsupportedImageException e) {
+            // Retrying cannot help: the source is gone or ImageIO has no decoder for it
+            discarded.increment();
+            System.err.println("Skipping avatar variants for " + job.sourceKey + ": " + e.getMessage());
+        } catch (Exception e) {
+            if (job.attempt < maxAttempts) {
+                retried.increment();
+                long delay = retryDelayMillis << (job.attempt - 1);
+                retryScheduler.schedule(() -> enqueue(job.next()), delay, TimeUnit.MILLISECONDS);
+            } else {
+                failed.increment();
+                System.err.println("Avatar variants failed for " + job.sourceKey + " after " + job.attempt
+                        + " attempts: " + e.getMessage());
+            }
+        } finally {
+            sample.stop(duration);
+        }
+    }
+
+    private Map<String, String> generate(String sourceKey) throws IOException {
+        BufferedImage source;
+        try (InputStream in = imageStore.open(sourceKey)) {
+            source = decode(in, sizes[sizes.length - 1]);
+        }
+
+        String base = sourceKey.startsWith(ProfileImageService.KEY_PREFIX)
+                ? sourceKey.substring(ProfileImageService.KEY_PREFIX.length()) : sourceKey;
+        int dot = base.lastIndexOf('.');
+        if (dot > 0) {
+            base = base.substring(0, dot);
+        }
+
+        Map<String, String> variants = new LinkedHashMap<>();
+        BufferedImage square = cropSquare(source);
+        // Largest first, so each smaller variant is scaled from the previous one instead of the original
+        for (int i = sizes.length - 1; i >= 0; i--) {
+            int size = sizes[i];
+            square = scaleDown(square, size);
+            String key = VARIANT_PREFIX + base + "-" + size + ".jpg";
+            imageStore.putBytes(key, encodeJpeg(square), "image/jpeg");
+            variants.put(String.valueOf(size), key);
+        }
+        return variants;
+    }
+
+    // Subsampled read: large photos are decoded at roughly twice the largest variant, not full resolution
+    private static BufferedImage decode(InputStream in, int largestSize) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new UnsupportedImageException("no image reader for this format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int shortSide = Math.min(reader.getWidth(0), reader.getHeight(0));
+                int factor = Math.max(1, shortSide / (largestSize * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(factor, factor, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage cropSquare(BufferedImage image) {
+        int side = Math.min(image.getWidth(), image.getHeight());
+        return image.getSubimage((image.getWidth() - side) / 2, (image.getHeight() - side) / 2, side, side);
+    }
+
+    // Halves repeatedly before the final step; a single bilinear step from far above the target aliases badly
+    private static BufferedImage scaleDown(BufferedImage image, int size) {
+        BufferedImage current = image;
+        int side = Math.max(current.getWidth(), size);
+        do {
+            side = Math.max(side / 2, size);
+            current = draw(current, side);
+        } while (side > size);
+        return current;
+    }
+
+    private static BufferedImage draw(BufferedImage image, int side) {
+        BufferedImage target = new BufferedImage(side, side, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            // JPEG has no alpha; flatten transparent pixels onto white
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, side, side);
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, side, side, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Counter jobCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("avatars.variants.jobs")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static class Job {
+        private final String sourceKey;
+        private final int attempt;
+
+        private Job(String sourceKey, int attempt) {
+            this.sourceKey = sourceKey;
+            this.attempt = attempt;
+        }
+
+        private Job next() {
+            return new Job(sourceKey, attempt + 1);
+        }
+    }
+
+    private static class UnsupportedImageException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        private UnsupportedImageException(String message) {
+            super(message);
+        }
+    }
+}
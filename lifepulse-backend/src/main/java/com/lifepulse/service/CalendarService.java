@@ -0,0 +1,301 @@
+package com.lifepulse.service;
+
+import com.lifepulse.dto.schedule.IcsImportResponse;
+import com.lifepulse.entity.ScheduleEvent;
+import com.lifepulse.entity.User;
+import com.lifepulse.repository.UserRepository;
+import com.lifepulse.util.IcsParser;
+import com.lifepulse.util.IcsWriter;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+@Service
+public class CalendarService {
+
+    private static final int IMPORT_BATCH_SIZE = 500;
+    private static final String UID_SUFFIX = "@lifepulse";
+
+    private final MongoTemplate mongoTemplate;
+    private final UserRepository userRepository;
+    private final ReminderService reminderService;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public CalendarService(MongoTemplate mongoTemplate, UserRepository userRepository, ReminderService reminderService) {
+        this.mongoTemplate = mongoTemplate;
+        this.userRepository = userRepository;
+        this.reminderService = reminderService;
+    }
+
+    public IcsImportResponse importIcs(InputStream input, String userId) throws IOException {
+        ImportBatch batch = new ImportBatch(userId);
+        IcsParser.parse(new InputStreamReader(input, StandardCharsets.UTF_8), properties -> {
+            ScheduleEvent event = toScheduleEvent(properties, userId);
+            if (event == null) {
+                batch.skipped++;
+                return;
+            }
+            batch.add(event);
+        });
+        batch.flush();
+
+        return IcsImportResponse.builder()
+                .imported(batch.imported)
+                .duplicates(batch.duplicates)
+                .skipped(batch.skipped)
+                .build();
+    }
+
+    public String rotateFeedToken(String userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        user.setCalendarFeedToken(token);
+        userRepository.save(user);
+        return token;
+    }
+
+    public Optional<String> findUserIdByFeedToken(String token) {
+        return userRepository.findByCalendarFeedToken(token).map(User::getId);
+    }
+
+    /**
+     * Cheap version stamp for the feed: event count plus the newest updatedAt, both answered
+     * from the (userId, updatedAt) index. The count catches deletions, which leave no updatedAt behind.
+     */
+    public FeedVersion getFeedVersion(String userId) {
+        Query newest = new Query(Criteria.where("userId").is(userId))
+                .with(Sort.by(Sort.Direction.DESC, "updatedAt"))
+                .limit(1);
+        newest.fields().include("updatedAt");
+        ScheduleEvent latest = mongoTemplate.findOne(newest, ScheduleEvent.class);
+        long count = mongoTemplate.count(new Query(Criteria.where("userId").is(userId)), ScheduleEvent.class);
+
+        long lastModified = latest != null && latest.getUpdatedAt() != null
+                ? latest.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : 0L;
+        return new FeedVersion(count + "-" + lastModified, lastModified);
+    }
+
+    public void writeFeed(String userId, OutputStream output) throws IOException {
+        Query query = new Query(Criteria.where("userId").is(userId))
+                .with(Sort.by(Sort.Direction.ASC, "startTime"));
+        query.fields().include("title", "description", "startTime", "endTime", "category", "priority",
+                "externalUid", "createdAt", "updatedAt");
+
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        IcsWriter ics = new IcsWriter(writer);
+        ics.begin("VCALENDAR")
+                .property("VERSION", "2.0")
+                .property("PRODID", "-//LifePulse//Schedule//EN")
+                .property("CALSCALE", "GREGORIAN")
+                .text("X-WR-CALNAME", "LifePulse");
+
+        try (Stream<ScheduleEvent> events = mongoTemplate.stream(query, ScheduleEvent.class)) {
+            Iterator<ScheduleEvent> iterator = events.iterator();
+            while (iterator.hasNext()) {
+                ScheduleEvent event = iterator.next();
+                ics.begin("VEVENT")
+                        .text("UID", event.getExternalUid() != null ? event.getExternalUid() : event.getId() + UID_SUFFIX)
+                        .dateTime("DTSTAMP", event.getUpdatedAt() != null ? event.getUpdatedAt() : LocalDateTime.now())
+                        .dateTime("DTSTART", event.getStartTime())
+                        .dateTime("DTEND", event.getEndTime())
+                        .text("SUMMARY", event.getTitle())
+                        .text("DESCRIPTION", event.getDescription())
+                        .text("CATEGORIES", event.getCategory() != null ? event.getCategory().name() : null)
+                        .property("PRIORITY", String.valueOf(toIcsPriority(event.getPriority())))
+                        .dateTime("LAST-MODIFIED", event.getUpdatedAt())
+                        .end("VEVENT");
+            }
+        }
+
+        ics.end("VCALENDAR");
+        ics.flush();
+    }
+
+    private ScheduleEvent toScheduleEvent(Map<String, IcsParser.Property> properties, String userId) {
+        // Recurrence overrides share the master's UID; only the master occurrence is imported
+        if (properties.containsKey("RECURRENCE-ID")) {
+            return null;
+        }
+        IcsParser.Property dtStart = properties.get("DTSTART");
+        LocalDateTime start;
+        LocalDateTime end;
+        try {
+            start = IcsParser.parseDateTime(dtStart);
+            if (start == null) {
+                return null;
+            }
+            end = IcsParser.parseDateTime(properties.get("DTEND"));
+            if (end == null) {
+                Duration duration = IcsParser.parseDuration(properties.get("DURATION"));
+                if (duration == null) {
+                    duration = IcsParser.isAllDay(dtStart) ? Duration.ofDays(1) : Duration.ofHours(1);
+                }
+                end = start.plus(duration);
+            }
+        } catch (Exception e) {
+            return null;
+        }
+        if (end.isBefore(start)) {
+            end = start;
+        }
+
+        String title = property(properties, "SUMMARY");
+        return ScheduleEvent.builder()
+                .title(title != null && !title.isBlank() ? title.trim() : "(No title)")
+                .description(property(properties, "DESCRIPTION"))
+                .startTime(start)
+                .endTime(end)
+                .category(toCategory(property(properties, "CATEGORIES")))
+                .priority(toPriority(property(properties, "PRIORITY")))
+                .externalUid(property(properties, "UID"))
+                .userId(userId)
+                .build();
+    }
+
+    private static String property(Map<String, IcsParser.Property> properties, String name) {
+        IcsParser.Property property = properties.get(name);
+        return property != null ? IcsParser.unescape(property.getValue()) : null;
+    }
+
+    private static ScheduleEvent.EventCategory toCategory(String categories) {
+        if (categories != null) {
+            for (String category : categories.split(",")) {
+                try {
+                    return ScheduleEvent.EventCategory.valueOf(category.trim().toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    // Not one of ours, try the next one
+                }
+            }
+        }
+        return ScheduleEvent.EventCategory.OTHER;
+    }
+
+    // RFC 5545: 1-4 high, 5 medium, 6-9 low, 0 undefined
+    private static ScheduleEvent.EventPriority toPriority(String priority) {
+        try {
+            int value = priority != null ? Integer.parseInt(priority.trim()) : 0;
+            if (value >= 1 && value <= 4) {
+                return ScheduleEvent.EventPriority.HIGH;
+            } else if (value >= 6) {
+                return ScheduleEvent.EventPriority.LOW;
+            }
+        } catch (NumberFormatException e) {
+            // Fall through to the default
+        }
+        return ScheduleEvent.EventPriority.MEDIUM;
+    }
+
+    private static int toIcsPriority(ScheduleEvent.EventPriority priority) {
+        if (priority == ScheduleEvent.EventPriority.HIGH) {
+            return 1;
+        } else if (priority == ScheduleEvent.EventPriority.LOW) {
+            return 9;
+        }
+        return 5;
+    }
+
+    public static class FeedVersion {
+        private final String etag;
+        private final long lastModified;
+
+        public FeedVersion(String etag, long lastModified) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+    }
+
+    private class ImportBatch {
+        private final String userId;
+        private final Map<String, ScheduleEvent> byUid = new LinkedHashMap<>();
+        private final List<ScheduleEvent> withoutUid = new ArrayList<>();
+        private int imported;
+        private int duplicates;
+        private int skipped;
+
+        private ImportBatch(String userId) {
+            this.userId = userId;
+        }
+
+        private void add(ScheduleEvent event) {
+            if (event.getExternalUid() == null) {
+                withoutUid.add(event);
+            } else if (byUid.putIfAbsent(event.getExternalUid(), event) != null) {
+                duplicates++;
+            }
+            if (byUid.size() + withoutUid.size() >= IMPORT_BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (byUid.isEmpty() && withoutUid.isEmpty()) {
+                return;
+            }
+            List<ScheduleEvent> toInsert = new ArrayList<>(withoutUid);
+            if (!byUid.isEmpty()) {
+                // One indexed lookup per batch skips events already imported from the same calendar
+                Query existingQuery = new Query(Criteria.where("userId").is(userId)
+                        .and("externalUid").in(byUid.keySet()));
+                existingQuery.fields().include("externalUid");
+                Set<String> existing = new HashSet<>();
+                for (ScheduleEvent event : mongoTemplate.find(existingQuery, ScheduleEvent.class)) {
+                    existing.add(event.getExternalUid());
+                }
+                for (ScheduleEvent event : byUid.values()) {
+                    if (existing.contains(event.getExternalUid())) {
+                        duplicates++;
+                    } else {
+                        toInsert.add(event);
+                    }
+                }
+            }
+            byUid.clear();
+            withoutUid.clear();
+
+            if (!toInsert.isEmpty()) {
+                mongoTemplate.insert(toInsert, ScheduleEvent.class);
+                imported += toInsert.size();
+                for (ScheduleEvent event : toInsert) {
+                    reminderService.onEventSaved(event);
+                }
+            }
+        }
+    }
+}
@@ -69,7 +69,7 @@ public class DashboardService {
                 .build();
         
         // Meditation stats
-        var todaySessions = meditationService.getTodaySessions(userId);
+        var todaySessions = meditationService.getTodayDurations(userId);
         int todayMinutes = todaySessions.stream()
                 .mapToInt(session -> session.getDuration())
                 .sum();
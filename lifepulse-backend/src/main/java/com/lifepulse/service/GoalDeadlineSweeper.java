@@ -0,0 +1,168 @@
+package com.lifepulse.service;
+
+import com.lifepulse.dto.reminder.Reminder;
+import com.lifepulse.entity.Goal;
+import com.lifepulse.entity.SweeperCheckpoint;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Materializes the overdue flag on goals and sends deadline-approaching notifications.
+ * Overdue marking walks the (completed, deadline, _id) index forward from a persisted checkpoint,
+ * so each run only touches deadlines that passed since the previous one. Goals whose
+ * deadline is edited into the past are flagged directly by {@link GoalService}.
+ */
+@Service
+public class GoalDeadlineSweeper {
+
+    private static final String OVERDUE_CHECKPOINT = "goal-overdue";
+
+    private final MongoTemplate mongoTemplate;
+    private final ReminderSink reminderSink;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration notifyLead;
+
+    public GoalDeadlineSweeper(MongoTemplate mongoTemplate, ReminderSink reminderSink,
+                               @Value("${goals.sweeper.enabled:true}") boolean enabled,
+                               @Value("${goals.sweeper.batch-size:500}") int batchSize,
+                               @Value("${goals.sweeper.max-batches-per-run:20}") int maxBatchesPerRun,
+                               @Value("${goals.sweeper.notify-lead-hours:24}") long notifyLeadHours) {
+        this.mongoTemplate = mongoTemplate;
+        this.reminderSink = reminderSink;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.notifyLead = Duration.ofHours(notifyLeadHours);
+    }
+
+    @Scheduled(fixedDelayString = "${goals.sweeper.interval-ms:60000}",
+               initialDelayString = "${goals.sweeper.initial-delay-ms:30000}")
+    public void sweep() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            markOverdue(LocalDateTime.now());
+        } catch (Exception e) {
+            System.err.println("Goal overdue sweep failed: " + e.getMessage());
+        }
+        try {
+            notifyApproaching(LocalDateTime.now());
+        } catch (Exception e) {
+            System.err.println("Goal deadline notification sweep failed: " + e.getMessage());
+        }
+    }
+
+    int markOverdue(LocalDateTime now) {
+        SweeperCheckpoint checkpoint = mongoTemplate.findById(OVERDUE_CHECKPOINT, SweeperCheckpoint.class);
+        if (checkpoint == null) {
+            checkpoint = new SweeperCheckpoint(OVERDUE_CHECKPOINT, null, null, null);
+        }
+
+        int marked = 0;
+        // A large backlog (e.g. the first run) is spread over several runs instead of one long one
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            Criteria range;
+            if (checkpoint.getLastDeadline() == null) {
+                range = Criteria.where("deadline").lte(now);
+            } else {
+                range = new Criteria().orOperator(
+                        Criteria.where("deadline").gt(checkpoint.getLastDeadline()).lte(now),
+                        Criteria.where("deadline").is(checkpoint.getLastDeadline()).and("id").gt(checkpoint.getLastId()));
+            }
+            Query query = new Query(new Criteria().andOperator(range, Criteria.where("completed").is(false)))
+                    .with(Sort.by(Sort.Direction.ASC, "deadline", "id"))
+                    .limit(batchSize);
+            query.fields().include("deadline", "overdue");
+
+            List<Goal> goals = mongoTemplate.find(query, Goal.class);
+            if (goals.isEmpty()) {
+                break;
+            }
+            List<String> ids = new ArrayList<>();
+            for (Goal goal : goals) {
+                if (!goal.isOverdue()) {
+                    ids.add(goal.getId());
+                }
+            }
+            if (!ids.isEmpty()) {
+                // Re-checking completed guards against a goal finished since the batch was read
+                marked += mongoTemplate.updateMulti(
+                        new Query(Criteria.where("id").in(ids).and("completed").is(false)),
+                        Update.update("overdue", true),
+                        Goal.class).getModifiedCount();
+            }
+
+            Goal last = goals.get(goals.size() - 1);
+            checkpoint.setLastDeadline(last.getDeadline());
+            checkpoint.setLastId(last.getId());
+            checkpoint.setUpdatedAt(LocalDateTime.now());
+            mongoTemplate.save(checkpoint);
+            if (goals.size() < batchSize) {
+                break;
+            }
+        }
+        return marked;
+    }
+
+    int notifyApproaching(LocalDateTime now) {
+        int notified = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            // Notified goals drop out of the filter, so no checkpoint is needed for this short window
+            Query query = new Query(Criteria.where("deadline").gt(now).lte(now.plus(notifyLead))
+                    .and("completed").is(false)
+                    // ne(true) also matches goals saved before the field existed
+                    .and("deadlineNotified").ne(true))
+                    .with(Sort.by(Sort.Direction.ASC, "deadline"))
+                    .limit(batchSize);
+            query.fields().include("title", "userId", "deadline", "priority");
+
+            List<Goal> goals = mongoTemplate.find(query, Goal.class);
+            if (goals.isEmpty()) {
+                break;
+            }
+            List<String> ids = new ArrayList<>(goals.size());
+            for (Goal goal : goals) {
+                ids.add(goal.getId());
+                try {
+                    reminderSink.deliver(toReminder(goal, now));
+                } catch (Exception e) {
+                    System.err.println("Failed to deliver deadline reminder for goal " + goal.getId() + ": " + e.getMessage());
+                }
+            }
+            // Flagged after delivery: a crash in between repeats a notification rather than losing it
+            mongoTemplate.updateMulti(new Query(Criteria.where("id").in(ids)),
+                    Update.update("deadlineNotified", true), Goal.class);
+            notified += goals.size();
+            if (goals.size() < batchSize) {
+                break;
+            }
+        }
+        return notified;
+    }
+
+    private static Reminder toReminder(Goal goal, LocalDateTime now) {
+        return Reminder.builder()
+                .type(Reminder.ReminderType.GOAL_DEADLINE)
+                .referenceId(goal.getId())
+                .userId(goal.getUserId())
+                .title(goal.getTitle())
+                .priority(goal.getPriority() != null ? goal.getPriority().name() : Goal.GoalPriority.MEDIUM.name())
+                .dueAt(goal.getDeadline())
+                .fireAt(now)
+                .build();
+    }
+}
@@ -0,0 +1,190 @@
+package com.lifepulse.service;
+
+import com.lifepulse.entity.GoalProgressEvent;
+import com.lifepulse.entity.GoalProgressSnapshot;
+import com.lifepulse.repository.GoalProgressEventRepository;
+import com.lifepulse.repository.GoalProgressSnapshotRepository;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Progress history for goals: every change is appended to {@code goal_progress_events},
+ * and a background compactor folds completed days into the per-goal snapshot. A history
+ * read is one snapshot document plus the short log tail written since the last compaction.
+ */
+@Service
+public class GoalHistoryService {
+
+    private final MongoTemplate mongoTemplate;
+    private final GoalProgressEventRepository eventRepository;
+    private final GoalProgressSnapshotRepository snapshotRepository;
+    private final int dailyRetentionDays;
+    private final int weeklyRetentionDays;
+    private final int compactBatchSize;
+
+    public GoalHistoryService(MongoTemplate mongoTemplate,
+                              GoalProgressEventRepository eventRepository,
+                              GoalProgressSnapshotRepository snapshotRepository,
+                              @Value("${goals.history.daily-retention-days:90}") int dailyRetentionDays,
+                              @Value("${goals.history.weekly-retention-days:730}") int weeklyRetentionDays,
+                              @Value("${goals.history.compact-batch-size:200}") int compactBatchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.eventRepository = eventRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.dailyRetentionDays = dailyRetentionDays;
+        this.weeklyRetentionDays = weeklyRetentionDays;
+        this.compactBatchSize = compactBatchSize;
+    }
+
+    public void record(String goalId, String userId, Integer value, Integer delta) {
+        GoalProgressEvent event = GoalProgressEvent.builder()
+                .goalId(goalId)
+                .userId(userId)
+                .ts(LocalDateTime.now())
+                .value(value)
+                .delta(delta)
+                .build();
+        try {
+            mongoTemplate.insert(event);
+        } catch (Exception e) {
+            // The progress write itself has already succeeded; a missing history point is not worth failing it
+            System.err.println("Failed to record progress event for goal " + goalId + ": " + e.getMessage());
+        }
+    }
+
+    public List<GoalProgressSnapshot.Point> getHistory(String goalId) {
+        TreeMap<LocalDate, Integer> values = new TreeMap<>();
+        GoalProgressSnapshot snapshot = snapshotRepository.findById(goalId).orElse(null);
+        if (snapshot != null) {
+            for (GoalProgressSnapshot.Point point : snapshot.getPoints()) {
+                values.put(point.getDate(), point.getValue());
+            }
+        }
+
+        Criteria criteria = Criteria.where("goalId").is(goalId);
+        if (snapshot != null && snapshot.getThrough() != null) {
+            criteria = criteria.and("ts").gt(snapshot.getThrough());
+        }
+        for (GoalProgressEvent event : findEvents(criteria)) {
+            values.put(event.getTs().toLocalDate(), event.getValue());
+        }
+
+        List<GoalProgressSnapshot.Point> points = new ArrayList<>(values.size());
+        values.forEach((date, value) -> points.add(new GoalProgressSnapshot.Point(date, value)));
+        return points;
+    }
+
+    public void deleteHistory(String goalId) {
+        eventRepository.deleteByGoalId(goalId);
+        snapshotRepository.deleteById(goalId);
+    }
+
+    @Scheduled(fixedDelayString = "${goals.history.compact-interval-ms:3600000}",
+               initialDelayString = "${goals.history.compact-initial-delay-ms:60000}")
+    public void compact() {
+        // Only whole days are folded, so a snapshot point never changes once written
+        LocalDateTime cutoff = LocalDate.now().atStartOfDay();
+        try {
+            while (true) {
+                // Range scan on the ts index; the log only holds events since the last run, so it stays small
+                Aggregation aggregation = Aggregation.newAggregation(
+                        Aggregation.match(Criteria.where("ts").lt(cutoff)),
+                        Aggregation.group("goalId"),
+                        Aggregation.limit(compactBatchSize));
+                List<Document> goals = mongoTemplate.aggregate(aggregation, GoalProgressEvent.class, Document.class)
+                        .getMappedResults();
+                for (Document goal : goals) {
+                    compactGoal(goal.getString("_id"), cutoff);
+                }
+                if (goals.size() < compactBatchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("Goal history compaction failed: " + e.getMessage());
+        }
+    }
+
+    private void compactGoal(String goalId, LocalDateTime cutoff) {
+        GoalProgressSnapshot snapshot = snapshotRepository.findById(goalId)
+                .orElseGet(() -> new GoalProgressSnapshot(goalId, null, null, new ArrayList<>()));
+
+        Criteria criteria = Criteria.where("goalId").is(goalId);
+        if (snapshot.getThrough() != null) {
+            criteria = criteria.and("ts").gt(snapshot.getThrough()).lt(cutoff);
+        } else {
+            criteria = criteria.and("ts").lt(cutoff);
+        }
+        List<GoalProgressEvent> events = findEvents(criteria);
+
+        if (!events.isEmpty()) {
+            TreeMap<LocalDate, Integer> values = new TreeMap<>();
+            for (GoalProgressSnapshot.Point point : snapshot.getPoints()) {
+                values.put(point.getDate(), point.getValue());
+            }
+            for (GoalProgressEvent event : events) {
+                values.put(event.getTs().toLocalDate(), event.getValue());
+            }
+            LocalDate today = cutoff.toLocalDate();
+            snapshot.setPoints(downsample(values, today.minusDays(dailyRetentionDays), today.minusDays(weeklyRetentionDays)));
+            snapshot.setThrough(events.get(events.size() - 1).getTs());
+            if (snapshot.getUserId() == null) {
+                snapshot.setUserId(events.get(0).getUserId());
+            }
+            snapshotRepository.save(snapshot);
+        }
+
+        // Deleting after the snapshot is saved keeps a crash in between harmless:
+        // reads and the next run both ignore events at or before the snapshot's through marker
+        if (snapshot.getThrough() != null) {
+            mongoTemplate.remove(new Query(Criteria.where("goalId").is(goalId).and("ts").lte(snapshot.getThrough())),
+                    GoalProgressEvent.class);
+        }
+    }
+
+    private List<GoalProgressEvent> findEvents(Criteria criteria) {
+        Query query = new Query(criteria).with(Sort.by(Sort.Direction.ASC, "ts"));
+        query.fields().include("userId", "ts", "value");
+        return mongoTemplate.find(query, GoalProgressEvent.class);
+    }
+
+    /**
+     * Keeps daily points from dailyFrom on, the last point of each week before that and
+     * the last point of each month before weeklyFrom. Running it again is a no-op.
+     */
+    static List<GoalProgressSnapshot.Point> downsample(TreeMap<LocalDate, Integer> values,
+                                                       LocalDate dailyFrom, LocalDate weeklyFrom) {
+        Map<String, GoalProgressSnapshot.Point> buckets = new LinkedHashMap<>();
+        for (Map.Entry<LocalDate, Integer> entry : values.entrySet()) {
+            LocalDate date = entry.getKey();
+            String bucket;
+            if (date.isBefore(weeklyFrom)) {
+                bucket = "M" + date.withDayOfMonth(1);
+            } else if (date.isBefore(dailyFrom)) {
+                bucket = "W" + date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            } else {
+                bucket = "D" + date;
+            }
+            // Values arrive in date order, so the last write per bucket is its latest point
+            buckets.put(bucket, new GoalProgressSnapshot.Point(date, entry.getValue()));
+        }
+        return new ArrayList<>(buckets.values());
+    }
+}
@@ -0,0 +1,104 @@
+package com.lifepulse.service;
+
+import com.lifepulse.entity.Goal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index from (userId, tracker metric) to the ids of active goals bound to it,
+ * so tracker writes find their goals without querying the goals collection. Loaded once
+ * at startup from the sparse (metric, completed) index and kept current by {@link GoalService}.
+ * <p>
+ * The map only sees bindings made on this instance, so it is only correct for a single node.
+ * Multi-node deployments set {@code goals.metric-index.in-memory=false}, which answers each
+ * lookup from the (userId, completed) goal index instead.
+ */
+@Service
+public class GoalMetricIndex {
+
+    private final MongoTemplate mongoTemplate;
+    private final Map<String, Set<String>> goalsByKey = new ConcurrentHashMap<>();
+    // Reverse lookup so unbinding does not need the goal's previous metric
+    private final Map<String, String> keyByGoal = new ConcurrentHashMap<>();
+
+    private final boolean inMemory;
+
+    public GoalMetricIndex(MongoTemplate mongoTemplate,
+                           @Value("${goals.metric-index.in-memory:true}") boolean inMemory) {
+        this.mongoTemplate = mongoTemplate;
+        this.inMemory = inMemory;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!inMemory) {
+            return;
+        }
+        Query query = new Query(Criteria.where("metric").ne(null).and("completed").is(false));
+        query.fields().include("userId", "metric");
+        int count = 0;
+        try (Stream<Goal> goals = mongoTemplate.stream(query, Goal.class)) {
+            for (Goal goal : (Iterable<Goal>) goals::iterator) {
+                bind(goal.getId(), goal.getUserId(), goal.getMetric());
+                count++;
+            }
+        } catch (Exception e) {
+            System.err.println("Failed to load goal metric bindings: " + e.getMessage());
+        }
+        System.out.println("Loaded " + count + " tracker-bound goals");
+    }
+
+    public Set<String> goalsFor(String userId, Goal.TrackerMetric metric) {
+        if (!inMemory) {
+            Query query = new Query(Criteria.where("userId").is(userId).and("completed").is(false).and("metric").is(metric));
+            query.fields().include("_id");
+            return mongoTemplate.find(query, Goal.class).stream().map(Goal::getId).collect(Collectors.toSet());
+        }
+        Set<String> goals = goalsByKey.get(key(userId, metric));
+        return goals != null ? goals : Collections.emptySet();
+    }
+
+    /**
+     * Binds the goal to the metric, replacing any previous binding; a null metric just unbinds.
+     */
+    public void bind(String goalId, String userId, Goal.TrackerMetric metric) {
+        unbind(goalId);
+        if (metric == null || !inMemory) {
+            return;
+        }
+        String key = key(userId, metric);
+        keyByGoal.put(goalId, key);
+        // compute() runs atomically per key, so this cannot race with unbind() dropping an empty set
+        goalsByKey.compute(key, (k, goals) -> {
+            Set<String> bound = goals != null ? goals : ConcurrentHashMap.newKeySet();
+            bound.add(goalId);
+            return bound;
+        });
+    }
+
+    public void unbind(String goalId) {
+        String key = keyByGoal.remove(goalId);
+        if (key != null) {
+            goalsByKey.computeIfPresent(key, (k, goals) -> {
+                goals.remove(goalId);
+                return goals.isEmpty() ? null : goals;
+            });
+        }
+    }
+
+    private static String key(String userId, Goal.TrackerMetric metric) {
+        return userId + ":" + metric.name();
+    }
+}
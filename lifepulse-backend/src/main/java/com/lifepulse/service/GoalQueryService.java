@@ -0,0 +1,156 @@
+package com.lifepulse.service;
+
+import com.lifepulse.dto.goal.GoalQuery;
+import com.lifepulse.entity.Goal;
+import com.lifepulse.util.IndexMatcher;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compiles {@link GoalQuery} parameters into a single Mongo query and checks the resulting
+ * shape against the compound indexes declared on {@link Goal}.
+ */
+@Service
+public class GoalQueryService {
+
+    private static final int DEFAULT_LIMIT = 50;
+    private static final int MAX_LIMIT = 200;
+
+    private final MongoTemplate mongoTemplate;
+    private final Map<String, List<String>> indexes = IndexMatcher.compoundIndexKeys(Goal.class);
+
+    public GoalQueryService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public Result find(GoalQuery request, String userId) {
+        Criteria criteria = Criteria.where("userId").is(userId);
+        Set<String> equality = new LinkedHashSet<>();
+        if (request.getCategory() != null) {
+            criteria = criteria.and("category").is(request.getCategory());
+            equality.add("category");
+        }
+        if (request.getPriority() != null) {
+            criteria = criteria.and("priorityRank").is(Goal.rankOf(request.getPriority()));
+            equality.add("priorityRank");
+        }
+        if (request.getCompleted() != null) {
+            criteria = criteria.and("completed").is(request.getCompleted());
+            equality.add("completed");
+        }
+        String range = null;
+        if (request.getDeadlineFrom() != null || request.getDeadlineTo() != null) {
+            Criteria deadline = criteria.and("deadline");
+            if (request.getDeadlineFrom() != null) {
+                deadline.gte(request.getDeadlineFrom());
+            }
+            if (request.getDeadlineTo() != null) {
+                deadline.lte(request.getDeadlineTo());
+            }
+            range = "deadline";
+        }
+
+        String sortField = toSortField(request.getSort());
+        Sort.Direction direction = toDirection(request.getDirection(), sortField);
+        int limit = request.getLimit() != null ? Math.max(1, Math.min(request.getLimit(), MAX_LIMIT)) : DEFAULT_LIMIT;
+        int offset = request.getOffset() != null ? Math.max(0, request.getOffset()) : 0;
+
+        String index = IndexMatcher.findSupportingIndex(indexes, "userId", equality, sortField, range);
+        String warning = null;
+        if (index == null) {
+            String shape = "filters " + equality + (range != null ? " + deadline range" : "") + ", sort " + sortField;
+            if (request.isStrict()) {
+                throw new IllegalArgumentException("No index supports this goal query (" + shape + ")");
+            }
+            warning = "Query is not backed by an index (" + shape + ") and may be slow";
+            System.out.println("Unindexed goal query for user " + userId + ": " + shape);
+        }
+
+        Query query = new Query(criteria)
+                .with(Sort.by(direction, sortField))
+                .skip(offset)
+                .limit(limit);
+        List<Goal> goals = mongoTemplate.find(query, Goal.class);
+        return new Result(goals, index, warning);
+    }
+
+    /**
+     * Fills priorityRank on goals written before the field existed. Idempotent and cheap
+     * once every document has it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillPriorityRank() {
+        try {
+            for (Goal.GoalPriority priority : Goal.GoalPriority.values()) {
+                mongoTemplate.updateMulti(
+                        new Query(Criteria.where("priority").is(priority).and("priorityRank").exists(false)),
+                        Update.update("priorityRank", Goal.rankOf(priority)), Goal.class);
+            }
+            mongoTemplate.updateMulti(
+                    new Query(Criteria.where("priority").is(null).and("priorityRank").exists(false)),
+                    Update.update("priorityRank", Goal.rankOf(null)), Goal.class);
+        } catch (Exception e) {
+            System.err.println("Failed to backfill goal priority ranks: " + e.getMessage());
+        }
+    }
+
+    private static String toSortField(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return "createdAt";
+        }
+        switch (sort.trim().toLowerCase(Locale.ROOT)) {
+            case "priority":
+                return "priorityRank";
+            case "deadline":
+                return "deadline";
+            case "createdat":
+                return "createdAt";
+            default:
+                throw new IllegalArgumentException("Unsupported sort field: " + sort);
+        }
+    }
+
+    private static Sort.Direction toDirection(String direction, String sortField) {
+        if (direction == null || direction.isBlank()) {
+            // Most urgent first for deadlines, most important/newest first otherwise
+            return "deadline".equals(sortField) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        }
+        return Sort.Direction.fromString(direction.trim());
+    }
+
+    public static class Result {
+        private final List<Goal> goals;
+        private final String index;
+        private final String warning;
+
+        public Result(List<Goal> goals, String index, String warning) {
+            this.goals = goals;
+            this.index = index;
+            this.warning = warning;
+        }
+
+        public List<Goal> getGoals() {
+            return goals;
+        }
+
+        public String getIndex() {
+            return index;
+        }
+
+        public String getWarning() {
+            return warning;
+        }
+    }
+}
@@ -1,22 +1,44 @@
 package com.lifepulse.service;
 
+import com.lifepulse.dto.goal.GoalHistoryResponse;
 import com.lifepulse.dto.goal.GoalProgressRequest;
+import com.lifepulse.dto.goal.GoalProgressResponse;
 import com.lifepulse.dto.goal.GoalRequest;
 import com.lifepulse.entity.Goal;
 import com.lifepulse.repository.GoalRepository;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
 public class GoalService {
     
     private final GoalRepository goalRepository;
+    private final MongoTemplate mongoTemplate;
+    private final GoalHistoryService goalHistoryService;
+    private final GoalMetricIndex goalMetricIndex;
     
-    public GoalService(GoalRepository goalRepository) {
+    public GoalService(GoalRepository goalRepository, MongoTemplate mongoTemplate,
+                       GoalHistoryService goalHistoryService, GoalMetricIndex goalMetricIndex) {
         this.goalRepository = goalRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.goalHistoryService = goalHistoryService;
+        this.goalMetricIndex = goalMetricIndex;
     }
     
     public List<Goal> getAllGoalsByUserId(String userId) {
@@ -24,18 +46,26 @@ public class GoalService {
     }
     
     public Goal createGoal(GoalRequest request, String userId) {
+        validateMetric(request);
         Goal goal = Goal.builder()
                 .title(request.getTitle())
                 .description(request.getDescription())
                 .category(request.getCategory())
                 .targetValue(request.getTargetValue())
                 .unit(request.getUnit())
+                .metric(request.getMetric())
+                .dailyThreshold(request.getDailyThreshold())
                 .deadline(request.getDeadline())
+                .overdue(isPastDeadline(request.getDeadline()))
                 .priority(request.getPriority())
                 .userId(userId)
                 .build();
         
-        return goalRepository.save(goal);
+        Goal saved = goalRepository.save(goal);
+        // Baseline point so history charts start at the goal's creation
+        goalHistoryService.record(saved.getId(), userId, saved.getCurrentValue(), null);
+        goalMetricIndex.bind(saved.getId(), userId, saved.getMetric());
+        return saved;
     }
     
     public List<Goal> getUserGoals(String userId) {
@@ -47,6 +77,7 @@ public class GoalService {
     }
     
     public Goal updateGoal(String goalId, GoalRequest request, String userId) {
+        validateMetric(request);
         Goal goal = goalRepository.findByIdAndUserId(goalId, userId)
                 .orElseThrow(() -> new RuntimeException("Goal not found"));
         
@@ -55,28 +86,170 @@ public class GoalService {
         goal.setCategory(request.getCategory());
         goal.setTargetValue(request.getTargetValue());
         goal.setUnit(request.getUnit());
+        if (goal.getMetric() != request.getMetric() || !Objects.equals(goal.getDailyThreshold(), request.getDailyThreshold())) {
+            // The running day total belongs to the old binding
+            goal.setMetricDay(null);
+            goal.setMetricDayTotal(null);
+        }
+        goal.setMetric(request.getMetric());
+        goal.setDailyThreshold(request.getDailyThreshold());
+        if (!Objects.equals(goal.getDeadline(), request.getDeadline())) {
+            goal.setDeadlineNotified(false);
+        }
         goal.setDeadline(request.getDeadline());
+        // The sweeper only walks forward, so a deadline moved into the past is flagged here
+        goal.setOverdue(!goal.isCompleted() && isPastDeadline(request.getDeadline()));
         goal.setPriority(request.getPriority());
         
-        return goalRepository.save(goal);
+        Goal saved = goalRepository.save(goal);
+        goalMetricIndex.bind(saved.getId(), userId, saved.isCompleted() ? null : saved.getMetric());
+        return saved;
     }
     
-    public Goal updateGoalProgress(String goalId, GoalProgressRequest request, String userId) {
-        Goal goal = goalRepository.findByIdAndUserId(goalId, userId)
-                .orElseThrow(() -> new RuntimeException("Goal not found"));
+    public GoalProgressResponse updateGoalProgress(String goalId, GoalProgressRequest request, String userId) {
+        return applyProgress(goalId, userId, request.getCurrentValue(), null);
+    }
+    
+    public GoalProgressResponse incrementGoalProgress(String goalId, int amount, String userId) {
+        Document incremented = new Document("$max", Arrays.asList(0,
+                new Document("$add", Arrays.asList(new Document("$ifNull", Arrays.asList("$currentValue", 0)), amount))));
+        return applyProgress(goalId, userId, incremented, amount);
+    }
+    
+    /**
+     * Applies tracker data to every active goal bound to the metric. The bound goals come from
+     * the in-memory index, so the cost depends only on how many goals use this metric.
+     * Negative amounts undo deleted entries.
+     */
+    public void onTrackerWrite(String userId, Goal.TrackerMetric metric, int amount, LocalDateTime at) {
+        if (amount == 0) {
+            return;
+        }
+        for (String goalId : goalMetricIndex.goalsFor(userId, metric)) {
+            try {
+                applyTrackerAmount(goalId, userId, amount, at);
+            } catch (Exception e) {
+                System.err.println("Failed to apply " + metric + " to goal " + goalId + ": " + e.getMessage());
+            }
+        }
+    }
+    
+    private void applyTrackerAmount(String goalId, String userId, int amount, LocalDateTime at) {
+        LocalDateTime now = LocalDateTime.now();
+        boolean today = at == null || at.toLocalDate().equals(now.toLocalDate());
         
-        goal.setCurrentValue(request.getCurrentValue());
-        if (goal.getTargetValue() != null && request.getCurrentValue() >= goal.getTargetValue()) {
-            goal.setCompleted(true);
+        Document current = new Document("$ifNull", Arrays.asList("$currentValue", 0));
+        Document cumulative = new Document("$max", Arrays.asList(0, new Document("$add", Arrays.asList(current, amount))));
+        Document isDaily = new Document("$ne", Arrays.asList(new Document("$ifNull", Arrays.asList("$dailyThreshold", null)), null));
+        Document setFields = new Document();
+        if (today) {
+            // All expressions in one $set see the pre-update document, so the old day total is read consistently
+            Date day = Date.from(now.toLocalDate().atStartOfDay(ZoneId.systemDefault()).toInstant());
+            Document sameDay = new Document("$eq", Arrays.asList("$metricDay", day));
+            Document oldTotal = new Document("$cond", Arrays.asList(sameDay, new Document("$ifNull", Arrays.asList("$metricDayTotal", 0)), 0));
+            Document newTotal = new Document("$max", Arrays.asList(0, new Document("$add", Arrays.asList(oldTotal, amount))));
+            Document reached = new Document("$and", Arrays.asList(
+                    new Document("$lt", Arrays.asList(oldTotal, "$dailyThreshold")),
+                    new Document("$gte", Arrays.asList(newTotal, "$dailyThreshold"))));
+            Document lost = new Document("$and", Arrays.asList(
+                    new Document("$gte", Arrays.asList(oldTotal, "$dailyThreshold")),
+                    new Document("$lt", Arrays.asList(newTotal, "$dailyThreshold"))));
+            Document daily = new Document("$add", Arrays.asList(current,
+                    new Document("$cond", Arrays.asList(reached, 1, new Document("$cond", Arrays.asList(lost, -1, 0))))));
+            setFields.append("currentValue", new Document("$cond", Arrays.asList(isDaily, daily, cumulative)))
+                    .append("metricDay", day)
+                    .append("metricDayTotal", newTotal);
+        } else {
+            // Entries from earlier days only count towards cumulative goals; daily counts for past days are final
+            setFields.append("currentValue", new Document("$cond", Arrays.asList(isDaily, current, cumulative)));
         }
+        setFields.append("updatedAt", "$$NOW");
+        AggregationOperation setValue = context -> new Document("$set", setFields);
         
-        return goalRepository.save(goal);
+        // Goals past their deadline no longer collect tracker data
+        List<Criteria> criteria = new ArrayList<>(List.of(
+                Criteria.where("id").is(goalId).and("userId").is(userId).and("completed").is(false),
+                new Criteria().orOperator(Criteria.where("deadline").is(null), Criteria.where("deadline").gt(now))));
+        if (at != null) {
+            // Entries older than the goal never counted towards it, so adding or deleting them must not either
+            criteria.add(new Criteria().orOperator(Criteria.where("createdAt").is(null), Criteria.where("createdAt").lte(at)));
+        }
+        Query query = new Query(new Criteria().andOperator(criteria));
+        Goal goal = modifyProgress(query, setValue);
+        if (goal == null) {
+            return;
+        }
+        if (goal.isCompleted()) {
+            goalMetricIndex.unbind(goalId);
+        }
+        if (goal.getDailyThreshold() == null) {
+            goalHistoryService.record(goalId, userId, goal.getCurrentValue(), amount);
+        } else if (today && goal.getMetricDayTotal() != null
+                && (goal.getMetricDayTotal() >= goal.getDailyThreshold()) != (goal.getMetricDayTotal() - amount >= goal.getDailyThreshold())) {
+            // Daily goals only change when the day's total crosses the threshold
+            goalHistoryService.record(goalId, userId, goal.getCurrentValue(), null);
+        }
+    }
+    
+    private GoalProgressResponse applyProgress(String goalId, String userId, Object newValue, Integer delta) {
+        AggregationOperation setValue = context -> new Document("$set", new Document()
+                .append("currentValue", newValue)
+                .append("updatedAt", "$$NOW"));
+        Goal goal = modifyProgress(new Query(Criteria.where("id").is(goalId).and("userId").is(userId)), setValue);
+        if (goal == null) {
+            throw new RuntimeException("Goal not found");
+        }
+        goalHistoryService.record(goal.getId(), userId, goal.getCurrentValue(), delta);
+        if (goal.isCompleted()) {
+            goalMetricIndex.unbind(goalId);
+        }
+        
+        return GoalProgressResponse.builder()
+                .id(goal.getId())
+                .currentValue(goal.getCurrentValue())
+                .targetValue(goal.getTargetValue())
+                .completed(goal.isCompleted())
+                .overdue(goal.isOverdue())
+                .updatedAt(goal.getUpdatedAt())
+                .build();
+    }
+    
+    /**
+     * Writes the new value and re-evaluates completion in one atomic findAndModify, so
+     * concurrent updates from several devices cannot overwrite each other.
+     */
+    private Goal modifyProgress(Query query, AggregationOperation setValue) {
+        // Runs after the first stage, so it sees the new currentValue; completion is never reverted here
+        AggregationOperation setCompleted = context -> new Document("$set", new Document("completed",
+                new Document("$or", Arrays.asList(
+                        new Document("$ifNull", Arrays.asList("$completed", false)),
+                        new Document("$and", Arrays.asList(
+                                new Document("$ne", Arrays.asList(new Document("$ifNull", Arrays.asList("$targetValue", null)), null)),
+                                new Document("$gte", Arrays.asList("$currentValue", "$targetValue"))))))));
+        AggregationOperation clearOverdue = context -> new Document("$set", new Document("overdue",
+                new Document("$and", Arrays.asList(
+                        new Document("$ifNull", Arrays.asList("$overdue", false)),
+                        new Document("$not", Arrays.asList("$completed"))))));
+        
+        query.fields().include("currentValue", "targetValue", "completed", "overdue", "dailyThreshold",
+                "metricDayTotal", "updatedAt");
+        return mongoTemplate.findAndModify(query, AggregationUpdate.from(List.of(setValue, setCompleted, clearOverdue)),
+                FindAndModifyOptions.options().returnNew(true), Goal.class);
     }
     
     public void deleteGoal(String goalId, String userId) {
         Goal goal = goalRepository.findByIdAndUserId(goalId, userId)
                 .orElseThrow(() -> new RuntimeException("Goal not found"));
         goalRepository.delete(goal);
+        goalMetricIndex.unbind(goalId);
+        goalHistoryService.deleteHistory(goalId);
+    }
+    
+    public GoalHistoryResponse getGoalHistory(String goalId, String userId) {
+        if (goalRepository.findByIdAndUserId(goalId, userId).isEmpty()) {
+            throw new RuntimeException("Goal not found");
+        }
+        return new GoalHistoryResponse(goalId, goalHistoryService.getHistory(goalId));
     }
     
     public List<Goal> getCompletedGoals(String userId) {
@@ -87,6 +260,10 @@ public class GoalService {
         return goalRepository.findByUserIdAndCompletedOrderByCreatedAtDesc(userId, false);
     }
     
+    public List<Goal> getOverdueGoals(String userId) {
+        return goalRepository.findByUserIdAndOverdueOrderByDeadlineAsc(userId, true);
+    }
+    
     public List<Goal> getUpcomingGoals(String userId) {
         return goalRepository.findUpcomingGoalsByUserId(userId, LocalDateTime.now());
     }
@@ -102,4 +279,14 @@ public class GoalService {
     public long getActiveGoalsCount(String userId) {
         return goalRepository.countByUserIdAndCompleted(userId, false);
     }
-} 
\ No newline at end of file
+    
+    private static void validateMetric(GoalRequest request) {
+        if (request.getDailyThreshold() != null && request.getMetric() == null) {
+            throw new IllegalArgumentException("Daily threshold requires a tracker metric");
+        }
+    }
+    
+    private static boolean isPastDeadline(LocalDateTime deadline) {
+        return deadline != null && !deadline.isAfter(LocalDateTime.now());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,156 @@
+package com.lifepulse.service;
+
+import com.lifepulse.dto.meditation.GuidedAudioTrack;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * In-memory catalog of the guided meditation audio files in {@code guided-audio.directory}.
+ * Metadata and content hashes are computed once per file version (size + mtime) and the
+ * catalog is swapped atomically on rescan, so lookups on the streaming path are plain map reads.
+ */
+@Service
+public class GuidedAudioCatalog {
+
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "mp3", "audio/mpeg",
+            "m4a", "audio/mp4",
+            "aac", "audio/aac",
+            "ogg", "audio/ogg",
+            "opus", "audio/ogg",
+            "wav", "audio/wav",
+            "flac", "audio/flac");
+
+    private final Path directory;
+    private volatile Map<String, GuidedAudioTrack> tracks = Collections.emptyMap();
+
+    public GuidedAudioCatalog(@Value("${guided-audio.directory:./guided-audio}") String directory) {
+        this.directory = Paths.get(directory).toAbsolutePath().normalize();
+    }
+
+    @PostConstruct
+    public void init() {
+        rescan();
+    }
+
+    @Scheduled(fixedDelayString = "${guided-audio.rescan-interval-ms:300000}",
+               initialDelayString = "${guided-audio.rescan-interval-ms:300000}")
+    public void rescan() {
+        if (!Files.isDirectory(directory)) {
+            tracks = Collections.emptyMap();
+            return;
+        }
+        Map<String, GuidedAudioTrack> previous = tracks;
+        List<GuidedAudioTrack> scanned = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String extension = extensionOf(file);
+                if (!Files.isRegularFile(file) || !CONTENT_TYPES.containsKey(extension)) {
+                    continue;
+                }
+                try {
+                    scanned.add(describe(file, extension, previous));
+                } catch (IOException e) {
+                    System.err.println("Skipping guided audio file " + file.getFileName() + ": " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to scan guided audio directory " + directory + ": " + e.getMessage());
+            return;
+        }
+
+        scanned.sort(Comparator.comparing(GuidedAudioTrack::getTitle, String.CASE_INSENSITIVE_ORDER));
+        Map<String, GuidedAudioTrack> next = new LinkedHashMap<>();
+        for (GuidedAudioTrack track : scanned) {
+            if (next.putIfAbsent(track.getId(), track) != null) {
+                System.err.println("Duplicate guided audio id " + track.getId() + ", keeping the first file");
+            }
+        }
+        tracks = Collections.unmodifiableMap(next);
+    }
+
+    public List<GuidedAudioTrack> getTracks() {
+        return new ArrayList<>(tracks.values());
+    }
+
+    public Optional<GuidedAudioTrack> getTrack(String id) {
+        return Optional.ofNullable(tracks.get(id));
+    }
+
+    private GuidedAudioTrack describe(Path file, String extension, Map<String, GuidedAudioTrack> previous) throws IOException {
+        String fileName = file.getFileName().toString();
+        String baseName = fileName.substring(0, fileName.length() - extension.length() - 1);
+        String id = baseName.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-").replaceAll("(^-|-$)", "");
+        long size = Files.size(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+
+        GuidedAudioTrack known = previous.get(id);
+        if (known != null && known.getPath().equals(file) && known.getSize() == size && known.getLastModified() == lastModified) {
+            return known;
+        }
+        return new GuidedAudioTrack(id, toTitle(baseName), CONTENT_TYPES.get(extension), size, lastModified,
+                contentEtag(file), file);
+    }
+
+    // Strong ETag: derived from the bytes, so it stays valid across copies and redeploys
+    private static String contentEtag(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        byte[] hash = digest.digest();
+        return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+    }
+
+    private static String toTitle(String baseName) {
+        StringBuilder title = new StringBuilder();
+        for (String word : baseName.split("[-_\\s]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            if (title.length() > 0) {
+                title.append(' ');
+            }
+            title.append(Character.toUpperCase(word.charAt(0))).append(word.substring(1));
+        }
+        return title.toString();
+    }
+
+    private static String extensionOf(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(dot + 1).toLowerCase(Locale.ROOT) : "";
+    }
+}
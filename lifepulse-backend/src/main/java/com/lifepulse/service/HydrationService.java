@@ -2,6 +2,7 @@ package com.lifepulse.service;
 
 import com.lifepulse.dto.hydration.HydrationRequest;
 import com.lifepulse.dto.hydration.HydrationResponse;
+import com.lifepulse.entity.Goal;
 import com.lifepulse.entity.HydrationEntry;
 import com.lifepulse.repository.HydrationEntryRepository;
 import org.springframework.stereotype.Service;
@@ -15,9 +16,11 @@ import java.util.List;
 public class HydrationService {
     
     private final HydrationEntryRepository hydrationRepository;
+    private final GoalService goalService;
     
-    public HydrationService(HydrationEntryRepository hydrationRepository) {
+    public HydrationService(HydrationEntryRepository hydrationRepository, GoalService goalService) {
         this.hydrationRepository = hydrationRepository;
+        this.goalService = goalService;
     }
     
     public HydrationEntry addEntry(HydrationRequest request, String userId) {
@@ -26,7 +29,9 @@ public class HydrationService {
                 .userId(userId)
                 .build();
         
-        return hydrationRepository.save(entry);
+        HydrationEntry saved = hydrationRepository.save(entry);
+        goalService.onTrackerWrite(userId, Goal.TrackerMetric.HYDRATION_ML, saved.getAmount(), saved.getTimestamp());
+        return saved;
     }
     
     public List<HydrationEntry> getTodayEntries(String userId) {
@@ -60,6 +65,7 @@ public class HydrationService {
         }
         
         hydrationRepository.delete(entry);
+        goalService.onTrackerWrite(userId, Goal.TrackerMetric.HYDRATION_ML, -entry.getAmount(), entry.getTimestamp());
     }
 
     public HydrationResponse getHydrationEntries(String userId, Boolean today, String startDate, String endDate) {
@@ -97,6 +103,7 @@ public class HydrationService {
         HydrationEntry lastEntry = hydrationRepository.findFirstByUserIdOrderByTimestampDesc(userId);
         if (lastEntry != null) {
             hydrationRepository.delete(lastEntry);
+            goalService.onTrackerWrite(userId, Goal.TrackerMetric.HYDRATION_ML, -lastEntry.getAmount(), lastEntry.getTimestamp());
         } else {
             throw new RuntimeException("No hydration entries found to delete");
         }
@@ -0,0 +1,94 @@
+package com.lifepulse.service;
+
+import com.lifepulse.entity.UploadIntent;
+import com.lifepulse.entity.User;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Answers whether stored profile picture objects are still in use. Shared by everything that
+ * deletes objects, so a key is checked again right before it goes away rather than only when
+ * the delete was decided.
+ */
+@Service
+public class ImageReferenceService {
+
+    private static final String VARIANT_PREFIX = ProfileImageService.KEY_PREFIX + "variants/";
+
+    private final MongoTemplate mongoTemplate;
+
+    public ImageReferenceService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * The subset of {@code keys} that a user or a pending upload intent still points at. One query
+     * for originals, one per variant size present, one for intents.
+     */
+    public Set<String> findReferenced(Collection<String> keys) {
+        Set<String> referenced = new HashSet<>();
+        List<String> originals = new ArrayList<>();
+        Map<String, List<String>> variantsBySize = new HashMap<>();
+        for (String key : keys) {
+            if (key.startsWith(VARIANT_PREFIX)) {
+                String size = variantSize(key);
+                if (size != null) {
+                    variantsBySize.computeIfAbsent(size, s -> new ArrayList<>()).add(key);
+                } else {
+                    // Not a name this service writes; leave it alone
+                    referenced.add(key);
+                }
+            } else {
+                originals.add(key);
+            }
+        }
+
+        if (!originals.isEmpty()) {
+            Query users = new Query(Criteria.where("profilePictureUrl").in(originals));
+            users.fields().include("profilePictureUrl");
+            for (User user : mongoTemplate.find(users, User.class)) {
+                referenced.add(user.getProfilePictureUrl());
+            }
+
+            Query intents = new Query(Criteria.where("key").in(originals)
+                    .and("status").is(UploadIntent.Status.PENDING));
+            intents.fields().include("key");
+            for (UploadIntent intent : mongoTemplate.find(intents, UploadIntent.class)) {
+                referenced.add(intent.getKey());
+            }
+        }
+        for (Map.Entry<String, List<String>> entry : variantsBySize.entrySet()) {
+            String field = "profilePictureVariants." + entry.getKey();
+            Query users = new Query(Criteria.where(field).in(entry.getValue()));
+            users.fields().include(field);
+            for (User user : mongoTemplate.find(users, User.class)) {
+                if (user.getProfilePictureVariants() != null) {
+                    referenced.addAll(user.getProfilePictureVariants().values());
+                }
+            }
+        }
+        return referenced;
+    }
+
+
+    // variants/<base>-<size>.jpg
+    private static String variantSize(String key) {
+        int dash = key.lastIndexOf('-');
+        int dot = key.lastIndexOf('.');
+        if (dash < 0 || dot < dash) {
+            return null;
+        }
+        String size = key.substring(dash + 1, dot);
+        return size.chars().allMatch(Character::isDigit) && !size.isEmpty() ? size : null;
+    }
+}
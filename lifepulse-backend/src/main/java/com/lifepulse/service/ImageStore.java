@@ -0,0 +1,172 @@
+package com.lifepulse.service;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Storage backend for profile images, selected with {@code image-store.type} ({@code s3} or {@code local}).
+ * Keys are derived from the content hash, so an object never changes once written: implementations
+ * may skip writes for keys that already exist and serve objects with immutable cache headers.
+ */
+public interface ImageStore {
+
+    String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    /**
+     * Stores the part under {@code key} unless the key already exists, and cancels any pending
+     * delete of it. The future completes once the object is durable.
+     */
+    CompletableFuture<Void> put(String key, MultipartFile file, String contentType);
+
+    void putBytes(String key, byte[] content, String contentType);
+
+    /**
+     * Claims an existing object for a new reference without writing it: cancels any pending delete
+     * and guards the key like a fresh write.
+     */
+    void retain(String key);
+
+    InputStream open(String key) throws IOException;
+
+    /**
+     * Removes the object. May be deferred; the object must not be served once this returns.
+     * Keys written within {@code image-store.delete-guard-ms} are kept, because the writer may not
+     * have saved its reference yet; the orphan sweep removes them if they stay unreferenced.
+     */
+    void delete(String key);
+
+    /**
+     * Removes the objects now, in as few backend calls as possible, with the same guard as {@link #delete}.
+     * Failures fall back to {@link #delete}.
+     */
+    void deleteAll(Collection<String> keys);
+
+    /**
+     * One page of the keys under {@code prefix} in key order. Pass the previous page's
+     * continuation token, or null to start from the beginning.
+     */
+    ObjectListing list(String prefix, String continuationToken, int maxKeys);
+
+    /**
+     * A URL a browser can load the object from, or null if one cannot be produced.
+     */
+    String viewUrl(String key);
+
+    Map<String, String> viewUrls(Collection<String> keys);
+
+    /**
+     * URL the client can PUT the object to directly, bypassing the application.
+     */
+    String generatePresignedUploadUrl(String fileName, String contentType);
+
+    /**
+     * Presigns a direct PUT of exactly this object. Length, type and SHA-256 are part of the
+     * signature, so storage rejects any other content.
+     *
+     * @throws IllegalStateException if the backend cannot accept direct uploads
+     */
+    PresignedUpload presignUpload(String key, String contentType, long contentLength, byte[] sha256, Duration ttl);
+
+    /**
+     * Metadata of a stored object without reading it, or null if it does not exist.
+     */
+    StoredObject stat(String key);
+
+    class PresignedUpload {
+        private final String url;
+        private final Map<String, String> headers;
+
+        public PresignedUpload(String url, Map<String, String> headers) {
+            this.url = url;
+            this.headers = headers;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public Map<String, String> getHeaders() {
+            return headers;
+        }
+    }
+
+    class ObjectListing {
+        private final List<ListedObject> objects;
+        private final String nextContinuationToken;
+
+        public ObjectListing(List<ListedObject> objects, String nextContinuationToken) {
+            this.objects = objects;
+            this.nextContinuationToken = nextContinuationToken;
+        }
+
+        public List<ListedObject> getObjects() {
+            return objects;
+        }
+
+        /**
+         * Token for the next page, or null if this was the last one.
+         */
+        public String getNextContinuationToken() {
+            return nextContinuationToken;
+        }
+    }
+
+    class ListedObject {
+        private final String key;
+        private final long size;
+        private final Instant lastModified;
+
+        public ListedObject(String key, long size, Instant lastModified) {
+            this.key = key;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public Instant getLastModified() {
+            return lastModified;
+        }
+    }
+
+    class StoredObject {
+        private final long size;
+        private final String contentType;
+        private final byte[] sha256;
+
+        public StoredObject(long size, String contentType, byte[] sha256) {
+            this.size = size;
+            this.contentType = contentType;
+            this.sha256 = sha256;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        /**
+         * Checksum reported by the backend, or null if it does not report one.
+         */
+        public byte[] getSha256() {
+            return sha256;
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package com.lifepulse.service;
+
+import com.lifepulse.dto.meditation.LiveSessionResponse;
+import com.lifepulse.dto.meditation.LiveSessionStartRequest;
+import com.lifepulse.dto.meditation.MeditationRequest;
+import com.lifepulse.entity.LiveMeditationCheckpoint;
+import com.lifepulse.entity.MeditationSession;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+/**
+ * Registry of live meditation sessions, one per user. Each session is an immutable state
+ * behind an AtomicReference and every transition is a compare-and-set, so heartbeats from
+ * many clients never block each other and never touch Mongo. Only start/pause/resume mark
+ * a session for the next batched checkpoint; the finished session is written once through
+ * {@link MeditationService}. Abandoned sessions expire after the heartbeat timeout.
+ */
+@Service
+public class LiveMeditationService {
+
+    private static final int CHECKPOINT_BATCH_SIZE = 1000;
+
+    private final MeditationService meditationService;
+    private final MongoTemplate mongoTemplate;
+    private final long timeoutMillis;
+    private final long minimumMillis;
+    private final Map<String, AtomicReference<LiveState>> sessions = new ConcurrentHashMap<>();
+    // Users whose session changed shape (start/pause/resume) since the last checkpoint
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+
+    public LiveMeditationService(MeditationService meditationService, MongoTemplate mongoTemplate,
+                                 @Value("${meditation.live.timeout-seconds:300}") long timeoutSeconds,
+                                 @Value("${meditation.live.min-seconds:30}") long minimumSeconds) {
+        this.meditationService = meditationService;
+        this.mongoTemplate = mongoTemplate;
+        this.timeoutMillis = timeoutSeconds * 1000;
+        this.minimumMillis = minimumSeconds * 1000;
+    }
+
+    public LiveSessionResponse start(LiveSessionStartRequest request, String userId) {
+        long now = System.currentTimeMillis();
+        LiveState fresh = new LiveState(UUID.randomUUID().toString(), request.getType(), request.getNotes(),
+                now, 0, now, now, false);
+        AtomicReference<LiveState> created = new AtomicReference<>(fresh);
+        while (true) {
+            AtomicReference<LiveState> existing = sessions.putIfAbsent(userId, created);
+            if (existing == null) {
+                dirty.add(userId);
+                return toResponse(fresh, now);
+            }
+            LiveState state = existing.get();
+            if (!state.finished) {
+                // Starting twice hands back the running session, so a restarted client can pick it up
+                return toResponse(state, now);
+            }
+            // A session that is ending but not yet unlinked; drop it and try again
+            sessions.remove(userId, existing);
+        }
+    }
+
+    public LiveSessionResponse getCurrent(String userId) {
+        AtomicReference<LiveState> ref = sessions.get(userId);
+        LiveState state = ref != null ? ref.get() : null;
+        if (state == null || state.finished) {
+            throw new RuntimeException("No live session");
+        }
+        return toResponse(state, System.currentTimeMillis());
+    }
+
+    public LiveSessionResponse pause(String userId) {
+        return transition(userId, LiveState::pause, true);
+    }
+
+    public LiveSessionResponse resume(String userId) {
+        return transition(userId, LiveState::resume, true);
+    }
+
+    public LiveSessionResponse heartbeat(String userId) {
+        return transition(userId, LiveState::heartbeat, false);
+    }
+
+    /**
+     * Ends the session and records it; returns null when it was too short to keep.
+     */
+    public MeditationSession finish(String userId) {
+        long now = System.currentTimeMillis();
+        LiveState ended = end(userId);
+        mongoTemplate.remove(new Query(Criteria.where("userId").is(userId)), LiveMeditationCheckpoint.class);
+        return persist(userId, ended, now);
+    }
+
+    public void cancel(String userId) {
+        end(userId);
+        mongoTemplate.remove(new Query(Criteria.where("userId").is(userId)), LiveMeditationCheckpoint.class);
+    }
+
+    public int getActiveCount() {
+        return sessions.size();
+    }
+
+    @Scheduled(fixedDelayString = "${meditation.live.expiry-check-ms:30000}")
+    public void expireAbandoned() {
+        long cutoff = System.currentTimeMillis() - timeoutMillis;
+        List<String> expired = new ArrayList<>();
+        for (Map.Entry<String, AtomicReference<LiveState>> entry : sessions.entrySet()) {
+            AtomicReference<LiveState> ref = entry.getValue();
+            LiveState state = ref.get();
+            if (state.finished || state.lastHeartbeat >= cutoff) {
+                continue;
+            }
+            // Loses the race (and skips this run) if a heartbeat lands concurrently
+            if (!ref.compareAndSet(state, state.finish())) {
+                continue;
+            }
+            sessions.remove(entry.getKey(), ref);
+            dirty.remove(entry.getKey());
+            expired.add(entry.getKey());
+            try {
+                // Only time up to the last sign of life counts
+                persist(entry.getKey(), state, state.lastHeartbeat);
+            } catch (Exception e) {
+                System.err.println("Failed to save expired live session for user " + entry.getKey() + ": " + e.getMessage());
+            }
+        }
+        if (!expired.isEmpty()) {
+            mongoTemplate.remove(new Query(Criteria.where("userId").in(expired)), LiveMeditationCheckpoint.class);
+            System.out.println("Expired " + expired.size() + " abandoned live meditation sessions");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${meditation.live.checkpoint-interval-ms:60000}")
+    public void checkpoint() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        List<String> users = new ArrayList<>();
+        Iterator<String> iterator = dirty.iterator();
+        while (iterator.hasNext()) {
+            users.add(iterator.next());
+            iterator.remove();
+        }
+
+        for (int from = 0; from < users.size(); from += CHECKPOINT_BATCH_SIZE) {
+            List<String> batch = users.subList(from, Math.min(from + CHECKPOINT_BATCH_SIZE, users.size()));
+            try {
+                writeCheckpoints(batch);
+            } catch (Exception e) {
+                System.err.println("Live session checkpoint failed: " + e.getMessage());
+                // Retry on the next run
+                dirty.addAll(batch);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void checkpointOnShutdown() {
+        dirty.addAll(sessions.keySet());
+        checkpoint();
+    }
+
+    /**
+     * Restores checkpointed sessions after a restart. They come back paused at their last
+     * checkpoint, so time the node was down is not counted; the client resumes them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        long now = System.currentTimeMillis();
+        int restored = 0;
+        try (Stream<LiveMeditationCheckpoint> checkpoints = mongoTemplate.stream(new Query(), LiveMeditationCheckpoint.class)) {
+            for (LiveMeditationCheckpoint checkpoint : (Iterable<LiveMeditationCheckpoint>) checkpoints::iterator) {
+                long accumulated = checkpoint.getAccumulatedMillis();
+                if (checkpoint.getResumedAt() != null && checkpoint.getUpdatedAt() != null) {
+                    accumulated += Math.max(0, toMillis(checkpoint.getUpdatedAt()) - toMillis(checkpoint.getResumedAt()));
+                }
+                LiveState state = new LiveState(checkpoint.getSessionId(), checkpoint.getType(), checkpoint.getNotes(),
+                        toMillis(checkpoint.getStartedAt()), accumulated, -1, now, false);
+                if (sessions.putIfAbsent(checkpoint.getUserId(), new AtomicReference<>(state)) == null) {
+                    restored++;
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("Failed to restore live meditation sessions: " + e.getMessage());
+        }
+        if (restored > 0) {
+            System.out.println("Restored " + restored + " live meditation sessions");
+        }
+    }
+
+    private void writeCheckpoints(List<String> users) {
+        long now = System.currentTimeMillis();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, LiveMeditationCheckpoint.class);
+        List<String> written = new ArrayList<>();
+        List<String> sessionIds = new ArrayList<>();
+        for (String userId : users) {
+            AtomicReference<LiveState> ref = sessions.get(userId);
+            LiveState state = ref != null ? ref.get() : null;
+            if (state == null || state.finished) {
+                continue;
+            }
+            bulk.replaceOne(new Query(Criteria.where("userId").is(userId)), toCheckpoint(userId, state, now),
+                    FindAndReplaceOptions.options().upsert());
+            written.add(userId);
+            sessionIds.add(state.sessionId);
+        }
+        if (written.isEmpty()) {
+            return;
+        }
+        bulk.execute();
+
+        // A session that ended while the batch was in flight must not be resurrected on restart
+        List<String> stale = new ArrayList<>();
+        for (int i = 0; i < written.size(); i++) {
+            AtomicReference<LiveState> ref = sessions.get(written.get(i));
+            LiveState state = ref != null ? ref.get() : null;
+            if (state == null || state.finished || !state.sessionId.equals(sessionIds.get(i))) {
+                stale.add(written.get(i));
+            }
+        }
+        if (!stale.isEmpty()) {
+            mongoTemplate.remove(new Query(Criteria.where("userId").in(stale).and("sessionId").in(sessionIds)),
+                    LiveMeditationCheckpoint.class);
+        }
+    }
+
+    private LiveSessionResponse transition(String userId, BiFunction<LiveState, Long, LiveState> change, boolean structural) {
+        AtomicReference<LiveState> ref = sessions.get(userId);
+        if (ref == null) {
+            throw new RuntimeException("No live session");
+        }
+        long now = System.currentTimeMillis();
+        while (true) {
+            LiveState current = ref.get();
+            if (current.finished) {
+                throw new RuntimeException("No live session");
+            }
+            LiveState next = change.apply(current, now);
+            if (ref.compareAndSet(current, next)) {
+                if (structural && next.resumedAt != current.resumedAt) {
+                    dirty.add(userId);
+                }
+                return toResponse(next, now);
+            }
+        }
+    }
+
+    private LiveState end(String userId) {
+        AtomicReference<LiveState> ref = sessions.get(userId);
+        if (ref == null) {
+            throw new RuntimeException("No live session");
+        }
+        while (true) {
+            LiveState current = ref.get();
+            if (current.finished) {
+                throw new RuntimeException("No live session");
+            }
+            if (ref.compareAndSet(current, current.finish())) {
+                sessions.remove(userId, ref);
+                dirty.remove(userId);
+                return current;
+            }
+        }
+    }
+
+    private MeditationSession persist(String userId, LiveState state, long endMillis) {
+        long elapsed = state.elapsedMillis(endMillis);
+        if (elapsed < minimumMillis) {
+            return null;
+        }
+        int minutes = (int) Math.max(1, Math.round(elapsed / 60_000.0));
+        return meditationService.addSession(new MeditationRequest(minutes, state.type, state.notes), userId);
+    }
+
+    private static LiveSessionResponse toResponse(LiveState state, long now) {
+        return new LiveSessionResponse(state.sessionId, state.type, state.notes, toDateTime(state.startedAt),
+                state.elapsedMillis(now) / 1000, state.resumedAt < 0);
+    }
+
+    private static LiveMeditationCheckpoint toCheckpoint(String userId, LiveState state, long now) {
+        return new LiveMeditationCheckpoint(userId, state.sessionId, state.type, state.notes,
+                toDateTime(state.startedAt), state.accumulatedMillis,
+                state.resumedAt >= 0 ? toDateTime(state.resumedAt) : null, toDateTime(now));
+    }
+
+    private static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static final class LiveState {
+        private final String sessionId;
+        private final MeditationSession.MeditationType type;
+        private final String notes;
+        private final long startedAt;
+        // Active time before the current run
+        private final long accumulatedMillis;
+        // Start of the current run, or -1 while paused
+        private final long resumedAt;
+        private final long lastHeartbeat;
+        private final boolean finished;
+
+        private LiveState(String sessionId, MeditationSession.MeditationType type, String notes, long startedAt,
+                          long accumulatedMillis, long resumedAt, long lastHeartbeat, boolean finished) {
+            this.sessionId = sessionId;
+            this.type = type;
+            this.notes = notes;
+            this.startedAt = startedAt;
+            this.accumulatedMillis = accumulatedMillis;
+            this.resumedAt = resumedAt;
+            this.lastHeartbeat = lastHeartbeat;
+            this.finished = finished;
+        }
+
+        private long elapsedMillis(long now) {
+            return accumulatedMillis + (resumedAt >= 0 ? Math.max(0, now - resumedAt) : 0);
+        }
+
+        private LiveState pause(long now) {
+            if (resumedAt < 0) {
+                return heartbeat(now);
+            }
+            return new LiveState(sessionId, type, notes, startedAt, elapsedMillis(now), -1, now, false);
+        }
+
+        private LiveState resume(long now) {
+            if (resumedAt >= 0) {
+                return heartbeat(now);
+            }
+            return new LiveState(sessionId, type, notes, startedAt, accumulatedMillis, now, now, false);
+        }
+
+        private LiveState heartbeat(long now) {
+            return new LiveState(sessionId, type, notes, startedAt, accumulatedMillis, resumedAt, now, false);
+        }
+
+        private LiveState finish() {
+            return new LiveState(sessionId, type, notes, startedAt, accumulatedMillis, resumedAt, lastHeartbeat, true);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.lifepulse.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * {@link ImageStore} on the local filesystem, for development and load testing without S3.
+ * Objects are written to a temp file and renamed into place, so readers never see a partial image;
+ * they are served by {@code ImageController} under {@code /api/images/}.
+ */
+@Service
+@ConditionalOnProperty(name = "image-store.type", havingValue = "local")
+public class LocalImageStore implements ImageStore {
+
+    private final Path root;
+    private final String publicBaseUrl;
+    private final RecentWrites recentWrites;
+
+    public LocalImageStore(@Value("${image-store.local.directory:./data/images}") String directory,
+                           @Value("${image-store.local.public-base-url:}") String publicBaseUrl,
+                           @Value("${image-store.delete-guard-ms:120000}") long deleteGuardMillis) {
+        this.root = Paths.get(directory).toAbsolutePath().normalize();
+        this.publicBaseUrl = publicBaseUrl.endsWith("/") ? publicBaseUrl.substring(0, publicBaseUrl.length() - 1) : publicBaseUrl;
+        this.recentWrites = new RecentWrites(deleteGuardMillis);
+    }
+
+    /**
+     * Maps a key to its file, rejecting anything outside the image root.
+     */
+    public Path resolve(String key) {
+        if (key == null || !key.startsWith(ProfileImageService.KEY_PREFIX)) {
+            throw new IllegalArgumentException("Invalid image key");
+        }
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("Invalid image key");
+        }
+        return path;
+    }
+
+    @Override
+    public CompletableFuture<Void> put(String key, MultipartFile file, String contentType) {
+        try (InputStream in = file.getInputStream()) {
+            write(key, in);
+            return CompletableFuture.completedFuture(null);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public void putBytes(String key, byte[] content, String contentType) {
+        try {
+            write(key, new ByteArrayInputStream(content));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void retain(String key) {
+        recentWrites.mark(key);
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return Files.newInputStream(resolve(key));
+    }
+
+    @Override
+    public void delete(String key) {
+        if (recentWrites.isRecent(key)) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(resolve(key));
+        } catch (Exception e) {
+            System.err.println("Failed to delete local image " + key + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void deleteAll(Collection<String> keys) {
+        keys.forEach(this::delete);
+    }
+
+    /**
+     * Walks the directory on every call and uses the last returned key as the continuation token.
+     * Fine for development data sets, not for millions of files.
+     */
+    @Override
+    public ObjectListing list(String prefix, String continuationToken, int maxKeys) {
+        if (!Files.isDirectory(root)) {
+            return new ObjectListing(List.of(), null);
+        }
+        List<ListedObject> page;
+        try (Stream<Path> files = Files.walk(root)) {
+            page = files.filter(Files::isRegularFile)
+                    .filter(path -> !path.getFileName().toString().startsWith("."))
+                    .map(path -> root.relativize(path).toString().replace(path.getFileSystem().getSeparator(), "/"))
+                    .filter(key -> key.startsWith(prefix))
+                    .filter(key -> continuationToken == null || key.compareTo(continuationToken) > 0)
+                    .sorted()
+                    .limit(maxKeys + 1L)
+                    .map(this::listed)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (page.size() <= maxKeys) {
+            return new ObjectListing(page, null);
+        }
+        page = page.subList(0, maxKeys);
+        return new ObjectListing(page, page.get(maxKeys - 1).getKey());
+    }
+
+    @Override
+    public String viewUrl(String key) {
+        return key != null ? publicBaseUrl + "/api/images/" + key : null;
+    }
+
+    @Override
+    public Map<String, String> viewUrls(Collection<String> keys) {
+        Map<String, String> urls = new LinkedHashMap<>();
+        for (String key : keys) {
+            urls.put(key, viewUrl(key));
+        }
+        return urls;
+    }
+
+    @Override
+    public String generatePresignedUploadUrl(String fileName, String contentType) {
+        throw new IllegalStateException("Direct uploads require the S3 image store");
+    }
+
+    @Override
+    public PresignedUpload presignUpload(String key, String contentType, long contentLength, byte[] sha256, Duration ttl) {
+        throw new IllegalStateException("Direct uploads require the S3 image store");
+    }
+
+    @Override
+    public StoredObject stat(String key) {
+        Path path = resolve(key);
+        try {
+            return new StoredObject(Files.size(path), Files.probeContentType(path), null);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private ListedObject listed(String key) {
+        try {
+            Path path = resolve(key);
+            return new ListedObject(key, Files.size(path), Files.getLastModifiedTime(path).toInstant());
+        } catch (IOException e) {
+            // Deleted between the walk and the stat
+            return null;
+        }
+    }
+
+    private void write(String key, InputStream in) throws IOException {
+        Path target = resolve(key);
+        recentWrites.mark(key);
+        // Content-addressed: an existing file already holds exactly these bytes; only its age is
+        // refreshed so the orphan sweep treats it as a new upload
+        if (Files.exists(target)) {
+            try {
+                Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+                return;
+            } catch (NoSuchFileException e) {
+                // Deleted in between; write it again
+            }
+        }
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+        try {
+            Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
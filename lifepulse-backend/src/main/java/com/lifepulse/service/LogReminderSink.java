@@ -0,0 +1,42 @@
+package com.lifepulse.service;
+
+import com.lifepulse.dto.reminder.Reminder;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * In-process sink that logs reminders and keeps the most recent ones for inspection.
+ */
+public class LogReminderSink implements ReminderSink {
+    
+    private static final int MAX_RETAINED = 1000;
+    
+    private final Deque<Reminder> delivered = new ArrayDeque<>();
+    
+    @Override
+    public void deliver(Reminder reminder) {
+        System.out.println("Reminder " + reminder.getType() + " for user " + reminder.getUserId()
+                + ": " + reminder.getTitle() + " due at " + reminder.getDueAt());
+        synchronized (delivered) {
+            if (delivered.size() >= MAX_RETAINED) {
+                delivered.removeFirst();
+            }
+            delivered.addLast(reminder);
+        }
+    }
+    
+    public List<Reminder> getDelivered() {
+        synchronized (delivered) {
+            return new ArrayList<>(delivered);
+        }
+    }
+    
+    public void clear() {
+        synchronized (delivered) {
+            delivered.clear();
+        }
+    }
+}
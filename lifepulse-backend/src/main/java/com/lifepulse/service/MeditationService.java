@@ -1,6 +1,8 @@
 package com.lifepulse.service;
 
 import com.lifepulse.dto.meditation.MeditationRequest;
+import com.lifepulse.dto.meditation.MeditationStatsResponse;
+import com.lifepulse.entity.Goal;
 import com.lifepulse.entity.MeditationSession;
 import com.lifepulse.repository.MeditationSessionRepository;
 import org.springframework.stereotype.Service;
@@ -14,9 +16,14 @@ import java.util.List;
 public class MeditationService {
     
     private final MeditationSessionRepository meditationRepository;
+    private final GoalService goalService;
+    private final MeditationStatsService meditationStatsService;
     
-    public MeditationService(MeditationSessionRepository meditationRepository) {
+    public MeditationService(MeditationSessionRepository meditationRepository, GoalService goalService,
+                             MeditationStatsService meditationStatsService) {
         this.meditationRepository = meditationRepository;
+        this.goalService = goalService;
+        this.meditationStatsService = meditationStatsService;
     }
     
     public MeditationSession addSession(MeditationRequest request, String userId) {
@@ -27,7 +34,11 @@ public class MeditationService {
                 .userId(userId)
                 .build();
         
-        return meditationRepository.save(session);
+        MeditationSession saved = meditationRepository.save(session);
+        meditationStatsService.onSessionAdded(saved);
+        goalService.onTrackerWrite(userId, Goal.TrackerMetric.MEDITATION_MINUTES, saved.getDuration(), saved.getTimestamp());
+        goalService.onTrackerWrite(userId, Goal.TrackerMetric.MEDITATION_SESSIONS, 1, saved.getTimestamp());
+        return saved;
     }
     
     public List<MeditationSession> getTodaySessions(String userId) {
@@ -36,6 +47,22 @@ public class MeditationService {
         return meditationRepository.findByUserIdAndTimestampBetween(userId, startOfDay, endOfDay);
     }
     
+    // Only the duration field is read; enough for dashboard totals
+    public List<MeditationSession> getTodayDurations(String userId) {
+        LocalDateTime startOfDay = LocalDate.now().atStartOfDay();
+        LocalDateTime endOfDay = LocalDate.now().atTime(LocalTime.MAX);
+        return meditationRepository.findDurationsByUserIdAndDateRange(userId, startOfDay, endOfDay);
+    }
+    
+    public MeditationStatsResponse getStats(String userId, String startDate, String endDate) {
+        LocalDate start = startDate != null ? LocalDate.parse(startDate) : null;
+        LocalDate end = endDate != null ? LocalDate.parse(endDate) : null;
+        if (start != null && end != null && end.isBefore(start)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+        return meditationStatsService.getStats(userId, start, end);
+    }
+    
     public List<MeditationSession> getUserSessions(String userId) {
         return meditationRepository.findByUserIdOrderByTimestampDesc(userId);
     }
@@ -59,5 +86,8 @@ public class MeditationService {
         }
         
         meditationRepository.delete(session);
+        meditationStatsService.onSessionDeleted(session);
+        goalService.onTrackerWrite(userId, Goal.TrackerMetric.MEDITATION_MINUTES, -session.getDuration(), session.getTimestamp());
+        goalService.onTrackerWrite(userId, Goal.TrackerMetric.MEDITATION_SESSIONS, -1, session.getTimestamp());
     }
 } 
\ No newline at end of file
@@ -0,0 +1,299 @@
+package com.lifepulse.service;
+
+import com.lifepulse.dto.meditation.MeditationStatsResponse;
+import com.lifepulse.entity.MeditationDailyStats;
+import com.lifepulse.entity.MeditationSession;
+import com.lifepulse.entity.MeditationUserStats;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Meditation statistics served from counters maintained on every session write: one
+ * document per user and day with totals per type, plus a per-user streak summary.
+ * Users without counters (sessions logged before they existed) are rebuilt once with a
+ * server-side aggregation over the projected session fields. Session writes that may overlap
+ * a rebuild mark the counters dirty instead of racing it, and the next read rebuilds again.
+ */
+@Service
+public class MeditationStatsService {
+
+    // A session is saved shortly before its counters are updated; writes this close to the start of a
+    // rebuild may have been counted by its snapshot as well
+    private static final Duration REBUILD_OVERLAP = Duration.ofMinutes(1);
+
+    private final MongoTemplate mongoTemplate;
+
+    public MeditationStatsService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public void onSessionAdded(MeditationSession session) {
+        LocalDate day = dayOf(session);
+        Update update = counters(session, 1)
+                .setOnInsert("userId", session.getUserId())
+                .setOnInsert("day", day);
+        mongoTemplate.upsert(new Query(Criteria.where("id").is(MeditationDailyStats.idOf(session.getUserId(), day))),
+                update, MeditationDailyStats.class);
+        advanceStreak(session.getUserId(), day);
+        flagIfRebuilding(session.getUserId());
+    }
+
+    public void onSessionDeleted(MeditationSession session) {
+        LocalDate day = dayOf(session);
+        MeditationDailyStats remaining = mongoTemplate.findAndModify(
+                new Query(Criteria.where("id").is(MeditationDailyStats.idOf(session.getUserId(), day))),
+                counters(session, -1),
+                FindAndModifyOptions.options().returnNew(true),
+                MeditationDailyStats.class);
+        flagIfRebuilding(session.getUserId());
+        if (remaining == null || remaining.getSessions() <= 0) {
+            // The day may have dropped out of a streak, which cannot be undone incrementally
+            mongoTemplate.updateFirst(new Query(Criteria.where("userId").is(session.getUserId())),
+                    Update.update("streakDirty", true), MeditationUserStats.class);
+        }
+    }
+
+    public MeditationStatsResponse getStats(String userId, LocalDate startDate, LocalDate endDate) {
+        MeditationUserStats summary = mongoTemplate.findById(userId, MeditationUserStats.class);
+        if (summary == null || summary.isCountersDirty()) {
+            summary = rebuild(userId);
+        } else if (summary.isStreakDirty()) {
+            summary = recomputeStreaks(userId);
+        }
+
+        Criteria criteria = Criteria.where("userId").is(userId);
+        if (startDate != null || endDate != null) {
+            Criteria day = criteria.and("day");
+            if (startDate != null) {
+                day.gte(startDate);
+            }
+            if (endDate != null) {
+                day.lte(endDate);
+            }
+        }
+        Query query = new Query(criteria);
+        query.fields().include("minutes", "sessions", "byType");
+
+        int totalMinutes = 0;
+        int totalSessions = 0;
+        Map<MeditationSession.MeditationType, int[]> totals = new EnumMap<>(MeditationSession.MeditationType.class);
+        for (MeditationDailyStats stats : mongoTemplate.find(query, MeditationDailyStats.class)) {
+            totalMinutes += stats.getMinutes();
+            totalSessions += stats.getSessions();
+            if (stats.getByType() == null) {
+                continue;
+            }
+            stats.getByType().forEach((type, typeTotals) -> {
+                int[] sums = totals.computeIfAbsent(MeditationSession.MeditationType.valueOf(type), key -> new int[2]);
+                sums[0] += typeTotals.getMinutes();
+                sums[1] += typeTotals.getSessions();
+            });
+        }
+
+        Map<MeditationSession.MeditationType, MeditationStatsResponse.TypeStats> byType =
+                new EnumMap<>(MeditationSession.MeditationType.class);
+        totals.forEach((type, sums) -> {
+            if (sums[1] > 0) {
+                byType.put(type, new MeditationStatsResponse.TypeStats(sums[0], sums[1], average(sums[0], sums[1])));
+            }
+        });
+
+        // A streak only counts as current while its last day is today or yesterday
+        LocalDate lastDay = summary.getLastDay();
+        boolean streakAlive = lastDay != null && !lastDay.isBefore(LocalDate.now().minusDays(1));
+        return MeditationStatsResponse.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .totalMinutes(totalMinutes)
+                .totalSessions(totalSessions)
+                .averageMinutes(average(totalMinutes, totalSessions))
+                .byType(byType)
+                .currentStreak(streakAlive ? summary.getCurrentStreak() : 0)
+                .longestStreak(summary.getLongestStreak())
+                .build();
+    }
+
+    /**
+     * Recomputes the user's daily counters from their sessions, then the streaks. The snapshot is
+     * only kept as final if no session was written and no other rebuild started meanwhile; otherwise
+     * the counters stay dirty and the next read rebuilds them.
+     */
+    public MeditationUserStats rebuild(String userId) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        MeditationUserStats claim = mongoTemplate.findAndModify(
+                new Query(Criteria.where("userId").is(userId)),
+                new Update().inc("rebuildGeneration", 1)
+                        .set("rebuilding", true)
+                        .set("countersDirty", false)
+                        .set("rebuildStartedAt", startedAt),
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                MeditationUserStats.class);
+        long generation = claim.getRebuildGeneration();
+
+        String zone = ZoneId.systemDefault().getId();
+        List<Document> pipeline = List.of(
+                new Document("$match", new Document("userId", userId)),
+                new Document("$project", new Document("_id", 0)
+                        .append("day", new Document("$dateToString", new Document("format", "%Y-%m-%d")
+                                .append("date", "$timestamp")
+                                .append("timezone", zone)))
+                        .append("duration", 1)
+                        .append("type", 1)),
+                new Document("$group", new Document("_id", new Document("day", "$day").append("type", "$type"))
+                        .append("minutes", new Document("$sum", "$duration"))
+                        .append("sessions", new Document("$sum", 1))));
+
+        Map<LocalDate, MeditationDailyStats> days = new TreeMap<>();
+        for (Document row : mongoTemplate.getCollection(mongoTemplate.getCollectionName(MeditationSession.class))
+                .aggregate(pipeline)) {
+            Document key = row.get("_id", Document.class);
+            if (key.getString("day") == null) {
+                continue;
+            }
+            LocalDate day = LocalDate.parse(key.getString("day"));
+            int minutes = ((Number) row.get("minutes")).intValue();
+            int sessions = ((Number) row.get("sessions")).intValue();
+            MeditationDailyStats stats = days.computeIfAbsent(day, d ->
+                    new MeditationDailyStats(MeditationDailyStats.idOf(userId, d), userId, d, 0, 0, new HashMap<>()));
+            stats.setMinutes(stats.getMinutes() + minutes);
+            stats.setSessions(stats.getSessions() + sessions);
+            String type = key.getString("type") != null ? key.getString("type") : MeditationSession.MeditationType.OTHER.name();
+            stats.getByType().merge(type, new MeditationDailyStats.Totals(minutes, sessions),
+                    (a, b) -> new MeditationDailyStats.Totals(a.getMinutes() + b.getMinutes(), a.getSessions() + b.getSessions()));
+        }
+
+        if (!days.isEmpty()) {
+            // Replace-by-id keeps concurrent rebuilds from colliding on the unique (userId, day) index
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, MeditationDailyStats.class);
+            for (MeditationDailyStats stats : days.values()) {
+                bulk.replaceOne(new Query(Criteria.where("id").is(stats.getId())), stats,
+                        FindAndReplaceOptions.options().upsert());
+            }
+            bulk.execute();
+        }
+        // Days whose sessions are all gone keep their old counters otherwise
+        List<String> ids = days.values().stream().map(MeditationDailyStats::getId).toList();
+        mongoTemplate.remove(new Query(Criteria.where("userId").is(userId).and("id").nin(ids)), MeditationDailyStats.class);
+
+        MeditationUserStats summary = computeStreaks(userId);
+        Query unchanged = new Query(Criteria.where("userId").is(userId)
+                .and("rebuildGeneration").is(generation)
+                .and("countersDirty").is(false));
+        if (mongoTemplate.updateFirst(unchanged, streaks(summary).set("rebuilding", false), MeditationUserStats.class)
+                .getModifiedCount() == 0) {
+            // A concurrent write may be missing from, or counted twice by, this snapshot
+            mongoTemplate.updateFirst(new Query(Criteria.where("userId").is(userId)),
+                    Update.update("countersDirty", true), MeditationUserStats.class);
+        }
+        return summary;
+    }
+
+    private MeditationUserStats recomputeStreaks(String userId) {
+        MeditationUserStats summary = computeStreaks(userId);
+        // Field updates rather than a save, so the rebuild bookkeeping on the document survives
+        mongoTemplate.updateFirst(new Query(Criteria.where("userId").is(userId)), streaks(summary), MeditationUserStats.class);
+        return summary;
+    }
+
+    private MeditationUserStats computeStreaks(String userId) {
+        Query query = new Query(Criteria.where("userId").is(userId).and("sessions").gt(0))
+                .with(Sort.by(Sort.Direction.ASC, "day"));
+        query.fields().include("day");
+
+        int current = 0;
+        int longest = 0;
+        LocalDate lastDay = null;
+        for (MeditationDailyStats stats : mongoTemplate.find(query, MeditationDailyStats.class)) {
+            current = lastDay != null && stats.getDay().equals(lastDay.plusDays(1)) ? current + 1 : 1;
+            longest = Math.max(longest, current);
+            lastDay = stats.getDay();
+        }
+
+        return new MeditationUserStats(userId, current, longest, lastDay, false, LocalDateTime.now());
+    }
+
+    private static Update streaks(MeditationUserStats summary) {
+        return new Update()
+                .set("currentStreak", summary.getCurrentStreak())
+                .set("longestStreak", summary.getLongestStreak())
+                .set("lastDay", summary.getLastDay())
+                .set("streakDirty", false)
+                .set("updatedAt", summary.getUpdatedAt());
+    }
+
+    /**
+     * Marks the counters dirty if a rebuild is running or started recently enough that its snapshot
+     * may already include this write, whose increment then lands on top of it.
+     */
+    private void flagIfRebuilding(String userId) {
+        Query overlapping = new Query(new Criteria().andOperator(
+                Criteria.where("userId").is(userId),
+                new Criteria().orOperator(
+                        Criteria.where("rebuilding").is(true),
+                        Criteria.where("rebuildStartedAt").gte(LocalDateTime.now().minus(REBUILD_OVERLAP)))));
+        mongoTemplate.updateFirst(overlapping, Update.update("countersDirty", true), MeditationUserStats.class);
+    }
+
+    private void advanceStreak(String userId, LocalDate day) {
+        Date today = toDate(day);
+        Date yesterday = toDate(day.minusDays(1));
+        AggregationOperation advance = context -> new Document("$set", new Document()
+                .append("currentStreak", new Document("$switch", new Document("branches", Arrays.asList(
+                        new Document("case", new Document("$gte", Arrays.asList("$lastDay", today)))
+                                .append("then", "$currentStreak"),
+                        new Document("case", new Document("$eq", Arrays.asList("$lastDay", yesterday)))
+                                .append("then", new Document("$add", Arrays.asList("$currentStreak", 1)))))
+                        .append("default", 1)))
+                .append("lastDay", new Document("$max", Arrays.asList("$lastDay", today)))
+                .append("updatedAt", "$$NOW"));
+        AggregationOperation longest = context -> new Document("$set", new Document("longestStreak",
+                new Document("$max", Arrays.asList("$longestStreak", "$currentStreak"))));
+        // Users without a summary (or with a dirty one) get theirs rebuilt on the next read
+        mongoTemplate.updateFirst(new Query(Criteria.where("userId").is(userId).and("streakDirty").is(false)),
+                AggregationUpdate.from(List.of(advance, longest)), MeditationUserStats.class);
+    }
+
+    private static Update counters(MeditationSession session, int sign) {
+        int minutes = session.getDuration() != null ? session.getDuration() : 0;
+        String type = session.getType() != null ? session.getType().name() : MeditationSession.MeditationType.OTHER.name();
+        return new Update()
+                .inc("minutes", sign * minutes)
+                .inc("sessions", sign)
+                .inc("byType." + type + ".minutes", sign * minutes)
+                .inc("byType." + type + ".sessions", sign);
+    }
+
+    private static LocalDate dayOf(MeditationSession session) {
+        return session.getTimestamp() != null ? session.getTimestamp().toLocalDate() : LocalDate.now();
+    }
+
+    private static double average(int minutes, int sessions) {
+        return sessions > 0 ? (double) minutes / sessions : 0;
+    }
+
+    private static Date toDate(LocalDate day) {
+        return Date.from(day.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+}
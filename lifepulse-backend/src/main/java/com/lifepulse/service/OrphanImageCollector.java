@@ -0,0 +1,153 @@
+package com.lifepulse.service;
+
+import com.lifepulse.entity.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Deletes objects under {@code profile-pictures/} that nothing references: leftovers of failed
+ * uploads, abandoned upload intents and deletes that never reached storage.
+ *
+ * <p>The sweep is incremental: every tick handles one listing page (at most 1000 keys), checks it
+ * against users and pending upload intents with {@code $in} lookups and deletes the orphans in one
+ * batch. Memory stays at one page and the tick interval caps how hard storage and Mongo are hit.
+ * Objects younger than the grace period are never touched, so in-flight uploads are safe. An upload
+ * that reuses an old object refreshes its timestamp, and orphans are checked once more right before
+ * the delete, which also skips keys the store wrote recently.
+ */
+@Service
+public class OrphanImageCollector {
+
+    private static final String LEGACY_URL_PATTERN = "^http.*/" + ProfileImageService.KEY_PREFIX;
+
+    private final ImageStore imageStore;
+    private final ImageReferenceService imageReferences;
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final boolean dryRun;
+    private final int pageSize;
+    private final Duration grace;
+    private final Duration cycleInterval;
+
+    private final Counter scanned;
+    private final Counter orphaned;
+
+    // Sweep position, only touched from the scheduler thread
+    private String continuationToken;
+    private boolean cycleInProgress;
+    private Instant nextCycleAt = Instant.EPOCH;
+    // Keys still referenced by pre-content-addressing full URLs, loaded once per cycle
+    private Set<String> legacyReferences = Set.of();
+    private long cycleOrphans;
+
+    public OrphanImageCollector(ImageStore imageStore, ImageReferenceService imageReferences,
+                                MongoTemplate mongoTemplate, MeterRegistry meterRegistry,
+                                @Value("${images.gc.enabled:true}") boolean enabled,
+                                @Value("${images.gc.dry-run:false}") boolean dryRun,
+                                @Value("${images.gc.page-size:1000}") int pageSize,
+                                @Value("${images.gc.grace-hours:24}") long graceHours,
+                                @Value("${images.gc.cycle-interval-hours:6}") long cycleIntervalHours) {
+        this.imageStore = imageStore;
+        this.imageReferences = imageReferences;
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.dryRun = dryRun;
+        this.pageSize = Math.min(pageSize, 1000);
+        this.grace = Duration.ofHours(graceHours);
+        this.cycleInterval = Duration.ofHours(cycleIntervalHours);
+
+        this.scanned = Counter.builder("images.gc.objects").tag("result", "scanned").register(meterRegistry);
+        this.orphaned = Counter.builder("images.gc.objects").tag("result", "orphaned").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${images.gc.page-interval-ms:2000}",
+               initialDelayString = "${images.gc.initial-delay-ms:60000}")
+    public void sweepPage() {
+        if (!enabled) {
+            return;
+        }
+        Instant now = Instant.now();
+        if (!cycleInProgress) {
+            if (now.isBefore(nextCycleAt)) {
+                return;
+            }
+            cycleInProgress = true;
+            continuationToken = null;
+            cycleOrphans = 0;
+            legacyReferences = loadLegacyReferences();
+        }
+
+        ImageStore.ObjectListing page;
+        try {
+            page = imageStore.list(ProfileImageService.KEY_PREFIX, continuationToken, pageSize);
+        } catch (Exception e) {
+            // Resume from the same token on the next tick
+            System.err.println("Orphan image GC listing failed: " + e.getMessage());
+            return;
+        }
+
+        Instant cutoff = now.minus(grace);
+        List<String> candidates = new ArrayList<>();
+        for (ImageStore.ListedObject object : page.getObjects()) {
+            if (object.getLastModified() != null && object.getLastModified().isBefore(cutoff)) {
+                candidates.add(object.getKey());
+            }
+        }
+        scanned.increment(page.getObjects().size());
+
+        if (!candidates.isEmpty()) {
+            Set<String> referenced = imageReferences.findReferenced(candidates);
+            List<String> orphans = new ArrayList<>();
+            for (String key : candidates) {
+                if (!referenced.contains(key) && !legacyReferences.contains(key)) {
+                    orphans.add(key);
+                }
+            }
+            if (!orphans.isEmpty() && !dryRun) {
+                // An old object can be re-uploaded or reused by an intent while the page is checked
+                orphans.removeAll(imageReferences.findReferenced(orphans));
+            }
+            if (!orphans.isEmpty()) {
+                orphaned.increment(orphans.size());
+                cycleOrphans += orphans.size();
+                if (dryRun) {
+                    System.out.println("Orphan image GC (dry run) would delete " + orphans.size() + " objects, e.g. " + orphans.get(0));
+                } else {
+                    imageStore.deleteAll(orphans);
+                }
+            }
+        }
+
+        continuationToken = page.getNextContinuationToken();
+        if (continuationToken == null) {
+            cycleInProgress = false;
+            nextCycleAt = now.plus(cycleInterval);
+            legacyReferences = Set.of();
+            System.out.println("Orphan image GC cycle finished: " + cycleOrphans + " orphans" + (dryRun ? " found" : " deleted"));
+        }
+    }
+
+    private Set<String> loadLegacyReferences() {
+        Query legacy = new Query(Criteria.where("profilePictureUrl").regex(LEGACY_URL_PATTERN));
+        legacy.fields().include("profilePictureUrl");
+        Set<String> keys = new HashSet<>();
+        for (User user : mongoTemplate.find(legacy, User.class)) {
+            String url = user.getProfilePictureUrl();
+            keys.add(url.substring(url.indexOf(ProfileImageService.KEY_PREFIX)));
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,144 @@
+package com.lifepulse.service;
+
+import com.lifepulse.entity.User;
+import com.lifepulse.util.ImageHeaderProbe;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Validation, content addressing and lifecycle of profile pictures on top of whichever
+ * {@link ImageStore} is configured. A picture's key is the SHA-256 of its bytes, so identical
+ * uploads share one object and stored objects never change.
+ */
+@Service
+public class ProfileImageService {
+
+    public static final String KEY_PREFIX = "profile-pictures/";
+
+    public static final long MAX_FILE_SIZE = 5 * 1024 * 1024; // 5MB
+    // Header-declared size limit; guards anything downstream that decodes the image
+    private static final int MAX_DIMENSION = 8192;
+    private static final long MAX_PIXELS = 40_000_000L;
+
+    private final ImageStore imageStore;
+    private final MongoTemplate mongoTemplate;
+
+    public ProfileImageService(ImageStore imageStore, MongoTemplate mongoTemplate) {
+        this.imageStore = imageStore;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Validates the file on the calling thread (header read plus one hashing pass with a small buffer)
+     * and starts the upload. The future completes with the stored key; validation errors are thrown directly.
+     */
+    public CompletableFuture<String> store(MultipartFile file) {
+        ImageHeaderProbe.ImageInfo image = validateImage(file);
+        String key = KEY_PREFIX + contentHash(file) + "." + image.getFormat().getExtension();
+        return imageStore.put(key, file, image.getFormat().getContentType())
+                .thenApply(ignored -> key);
+    }
+
+    /**
+     * Validates an upload from its magic bytes and header-declared dimensions without decoding it.
+     * The declared Content-Type is ignored; the sniffed format is what gets stored.
+     */
+    public ImageHeaderProbe.ImageInfo validateImage(MultipartFile file) {
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("File cannot be empty");
+        }
+
+        if (file.getSize() > MAX_FILE_SIZE) {
+            throw new IllegalArgumentException("File size exceeds maximum limit of 5MB");
+        }
+
+        try (InputStream in = file.getInputStream()) {
+            return validateHeader(in);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("File is not a valid image");
+        }
+    }
+
+    /**
+     * The magic-byte and dimension checks of {@link #validateImage} for bytes that are already
+     * stored, such as a direct upload. Reads only the header.
+     */
+    public ImageHeaderProbe.ImageInfo validateHeader(InputStream in) throws IOException {
+        ImageHeaderProbe.ImageInfo image = ImageHeaderProbe.probe(in);
+        if (image == null) {
+            throw new IllegalArgumentException("Invalid file type. Only JPEG, PNG, GIF, and WebP images are allowed");
+        }
+        if (image.getWidth() <= 0 || image.getHeight() <= 0) {
+            throw new IllegalArgumentException("File is not a valid image");
+        }
+        if (image.getWidth() > MAX_DIMENSION || image.getHeight() > MAX_DIMENSION
+                || (long) image.getWidth() * image.getHeight() > MAX_PIXELS) {
+            throw new IllegalArgumentException("Image dimensions exceed the maximum of " + MAX_DIMENSION + "px");
+        }
+        return image;
+    }
+
+    /**
+     * Resolves a stored profile picture reference to something a browser can load:
+     * legacy and placeholder references are already URLs, anything else is a store key.
+     */
+    public String resolveViewUrl(String reference) {
+        if (reference == null || reference.startsWith("http")) {
+            return reference;
+        }
+        return imageStore.viewUrl(reference);
+    }
+
+    public Map<String, String> viewUrls(Collection<String> keys) {
+        return imageStore.viewUrls(keys);
+    }
+
+    /**
+     * Deletes a picture (and its variants) that {@code userId} no longer uses, unless another user
+     * still points at the same content-addressed key.
+     */
+    public void release(String userId, String reference, Map<String, String> variants) {
+        if (reference == null || reference.startsWith("http")) {
+            return;
+        }
+        Query sharedBy = new Query(Criteria.where("profilePictureUrl").is(reference).and("id").ne(userId));
+        if (mongoTemplate.exists(sharedBy, User.class)) {
+            return;
+        }
+        imageStore.delete(reference);
+        if (variants != null) {
+            variants.values().forEach(imageStore::delete);
+        }
+    }
+
+    private static String contentHash(MultipartFile file) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] buffer = new byte[8192];
+        try (InputStream in = file.getInputStream()) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to read uploaded file");
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
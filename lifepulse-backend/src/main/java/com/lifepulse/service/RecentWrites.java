@@ -0,0 +1,31 @@
+package com.lifepulse.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keys an {@link ImageStore} wrote recently. Keys are content hashes, so a write of an existing
+ * object is a no-op and the object may already be queued for deletion by its previous owner;
+ * stores skip deletes of these keys until the writer has had time to save its reference.
+ * Anything that really ends up unreferenced is left to {@link OrphanImageCollector}.
+ */
+final class RecentWrites {
+
+    private final Map<String, Long> writtenAt = new ConcurrentHashMap<>();
+    private final long guardMillis;
+
+    RecentWrites(long guardMillis) {
+        this.guardMillis = guardMillis;
+    }
+
+    void mark(String key) {
+        long now = System.currentTimeMillis();
+        writtenAt.values().removeIf(at -> at < now - guardMillis);
+        writtenAt.put(key, now);
+    }
+
+    boolean isRecent(String key) {
+        Long at = writtenAt.get(key);
+        return at != null && at >= System.currentTimeMillis() - guardMillis;
+    }
+}
@@ -0,0 +1,302 @@
+package com.lifepulse.service;
+
+import com.lifepulse.dto.reminder.Reminder;
+import com.lifepulse.entity.ScheduleEvent;
+import com.lifepulse.util.TimingWheel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps reminders for events starting within the next window in a hierarchical timing wheel.
+ * The wheel is refilled from Mongo in startTime-ordered batches and kept current by the
+ * schedule write paths, so no per-user polling is needed.
+ * <p>
+ * Delivery is recorded on the event ({@code reminderSentFor}) with a conditional update before
+ * the reminder is handed to the sink, so a restart does not repeat reminders already sent and
+ * several instances running the same wheel send each reminder once.
+ */
+@Service
+public class ReminderService {
+
+    private final MongoTemplate mongoTemplate;
+    private final ReminderSink reminderSink;
+    private final boolean enabled;
+    private final Duration window;
+    private final int batchSize;
+    private final Map<ScheduleEvent.EventPriority, Duration> leadTimes = new EnumMap<>(ScheduleEvent.EventPriority.class);
+    private final Duration maxLead;
+    private final TimingWheel<String, Reminder> wheel;
+    // Pending event ids per user, so bulk schedule writes can resync a single user
+    private final Map<String, Set<String>> pendingByUser = new HashMap<>();
+    // Start time each delivered reminder was for; also covers saves of an event loaded before its delivery was recorded
+    private final Map<String, LocalDateTime> firedStartTimes = new HashMap<>();
+
+    // Everything starting at or before this instant has been loaded into the wheel
+    private LocalDateTime loadedThrough;
+    // Events written while a refill is reading; the refill must not overwrite them with stale data
+    private Set<String> touchedDuringRefill;
+
+    public ReminderService(MongoTemplate mongoTemplate, ReminderSink reminderSink,
+                           @Value("${reminders.enabled:true}") boolean enabled,
+                           @Value("${reminders.window-minutes:60}") long windowMinutes,
+                           @Value("${reminders.batch-size:1000}") int batchSize,
+                           @Value("${reminders.tick-ms:1000}") long tickMillis,
+                           @Value("${reminders.lead-minutes.high:30}") long highLead,
+                           @Value("${reminders.lead-minutes.medium:15}") long mediumLead,
+                           @Value("${reminders.lead-minutes.low:5}") long lowLead) {
+        this.mongoTemplate = mongoTemplate;
+        this.reminderSink = reminderSink;
+        this.enabled = enabled;
+        this.window = Duration.ofMinutes(windowMinutes);
+        this.batchSize = batchSize;
+        leadTimes.put(ScheduleEvent.EventPriority.HIGH, Duration.ofMinutes(highLead));
+        leadTimes.put(ScheduleEvent.EventPriority.MEDIUM, Duration.ofMinutes(mediumLead));
+        leadTimes.put(ScheduleEvent.EventPriority.LOW, Duration.ofMinutes(lowLead));
+        this.maxLead = leadTimes.values().stream().max(Duration::compareTo).orElse(Duration.ZERO);
+        // 256 slots x 4 levels covers ~136 years at 1s ticks; the window itself only needs the lower levels
+        this.wheel = new TimingWheel<>(tickMillis, 8, 4, System.currentTimeMillis());
+    }
+
+    @Scheduled(fixedRateString = "${reminders.tick-ms:1000}")
+    public void tick() {
+        if (!enabled) {
+            return;
+        }
+        List<Reminder> due = new ArrayList<>();
+        synchronized (this) {
+            wheel.advance(System.currentTimeMillis(), due::add);
+            for (Reminder reminder : due) {
+                untrack(reminder.getUserId(), reminder.getReferenceId());
+                firedStartTimes.put(reminder.getReferenceId(), reminder.getDueAt());
+            }
+        }
+        for (Reminder reminder : due) {
+            try {
+                if (!claimDelivery(reminder)) {
+                    continue;
+                }
+                reminderSink.deliver(reminder);
+            } catch (Exception e) {
+                System.err.println("Failed to deliver reminder for " + reminder.getReferenceId() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${reminders.refill-interval-ms:60000}")
+    public void refill() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime lower;
+        LocalDateTime upper = now.plus(window).plus(maxLead);
+        synchronized (this) {
+            lower = loadedThrough != null && loadedThrough.isAfter(now) ? loadedThrough : now;
+            if (!upper.isAfter(lower)) {
+                return;
+            }
+            // Advance the watermark first so concurrent writes in (lower, upper] go straight to the wheel
+            loadedThrough = upper;
+            firedStartTimes.values().removeIf(startTime -> !startTime.isAfter(now));
+            touchedDuringRefill = new HashSet<>();
+        }
+
+        try {
+            LocalDateTime lastStart = null;
+            String lastId = null;
+            while (true) {
+                Criteria criteria;
+                if (lastStart == null) {
+                    criteria = Criteria.where("startTime").gt(lower).lte(upper);
+                } else {
+                    criteria = new Criteria().orOperator(
+                            Criteria.where("startTime").gt(lastStart).lte(upper),
+                            Criteria.where("startTime").is(lastStart).and("id").gt(lastId));
+                }
+                Query query = new Query(criteria)
+                        .with(Sort.by(Sort.Direction.ASC, "startTime", "id"))
+                        .limit(batchSize);
+                query.fields().include("userId", "title", "startTime", "priority", "reminderSentFor");
+
+                List<ScheduleEvent> batch = mongoTemplate.find(query, ScheduleEvent.class);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                synchronized (this) {
+                    for (ScheduleEvent event : batch) {
+                        if (!touchedDuringRefill.contains(event.getId())
+                                && !touchedDuringRefill.contains(userKey(event.getUserId()))) {
+                            scheduleEvent(event, LocalDateTime.now());
+                        }
+                    }
+                }
+                ScheduleEvent last = batch.get(batch.size() - 1);
+                lastStart = last.getStartTime();
+                lastId = last.getId();
+                if (batch.size() < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("Reminder refill failed: " + e.getMessage());
+            synchronized (this) {
+                // Retry the same range on the next run
+                loadedThrough = lower;
+            }
+        } finally {
+            synchronized (this) {
+                touchedDuringRefill = null;
+            }
+        }
+    }
+
+    public void onEventSaved(ScheduleEvent event) {
+        if (!enabled || event.getId() == null) {
+            return;
+        }
+        synchronized (this) {
+            markTouched(event.getId());
+            cancel(event.getId());
+            if (loadedThrough != null && event.getStartTime() != null && !event.getStartTime().isAfter(loadedThrough)) {
+                scheduleEvent(event, LocalDateTime.now());
+            }
+        }
+    }
+
+    public void onEventDeleted(String eventId) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            markTouched(eventId);
+            cancel(eventId);
+            firedStartTimes.remove(eventId);
+        }
+    }
+
+    /**
+     * Drops the user's pending reminders and reloads them from the current window.
+     * Used after bulk writes that do not report which event ids they touched.
+     */
+    public void resyncUser(String userId) {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime upper;
+        synchronized (this) {
+            markTouched(userKey(userId));
+            Set<String> pending = pendingByUser.remove(userId);
+            if (pending != null) {
+                for (String eventId : pending) {
+                    wheel.cancel(eventId);
+                }
+            }
+            upper = loadedThrough;
+        }
+        if (upper == null) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Query query = new Query(Criteria.where("userId").is(userId).and("startTime").gt(now).lte(upper));
+        query.fields().include("userId", "title", "startTime", "priority", "reminderSentFor");
+        List<ScheduleEvent> events = mongoTemplate.find(query, ScheduleEvent.class);
+        synchronized (this) {
+            for (ScheduleEvent event : events) {
+                scheduleEvent(event, LocalDateTime.now());
+            }
+        }
+    }
+
+    public synchronized int getPendingCount() {
+        return wheel.size();
+    }
+
+    private void markTouched(String key) {
+        if (touchedDuringRefill != null) {
+            touchedDuringRefill.add(key);
+        }
+    }
+
+    private void cancel(String eventId) {
+        Reminder removed = wheel.cancel(eventId);
+        if (removed != null) {
+            untrack(removed.getUserId(), eventId);
+        }
+    }
+
+    private void untrack(String userId, String eventId) {
+        Set<String> pending = pendingByUser.get(userId);
+        if (pending != null && pending.remove(eventId) && pending.isEmpty()) {
+            pendingByUser.remove(userId);
+        }
+    }
+
+    /**
+     * Marks the reminder as sent for the event's current start time. False if it was already sent,
+     * by this instance before a restart or by another one, or if the event has moved since.
+     */
+    private boolean claimDelivery(Reminder reminder) {
+        Query query = new Query(Criteria.where("id").is(reminder.getReferenceId())
+                .and("startTime").is(reminder.getDueAt())
+                .and("reminderSentFor").ne(reminder.getDueAt()));
+        Update update = new Update().set("reminderSentFor", reminder.getDueAt());
+        return mongoTemplate.updateFirst(query, update, ScheduleEvent.class).getModifiedCount() > 0;
+    }
+
+    private static String userKey(String userId) {
+        return "user:" + userId;
+    }
+
+    private void scheduleEvent(ScheduleEvent event, LocalDateTime now) {
+        if (event.getStartTime() == null || !event.getStartTime().isAfter(now)) {
+            return;
+        }
+        if (event.getStartTime().equals(event.getReminderSentFor())
+                || event.getStartTime().equals(firedStartTimes.get(event.getId()))) {
+            // Already delivered for this start time; edits and resyncs must not repeat it
+            return;
+        }
+        firedStartTimes.remove(event.getId());
+        ScheduleEvent.EventPriority priority = event.getPriority() != null
+                ? event.getPriority() : ScheduleEvent.EventPriority.MEDIUM;
+        LocalDateTime fireAt = event.getStartTime().minus(leadTimes.get(priority));
+
+        Reminder reminder = Reminder.builder()
+                .type(Reminder.ReminderType.EVENT_START)
+                .referenceId(event.getId())
+                .userId(event.getUserId())
+                .title(event.getTitle())
+                .priority(priority.name())
+                .dueAt(event.getStartTime())
+                .fireAt(fireAt.isBefore(now) ? now : fireAt)
+                .build();
+        Reminder previous = wheel.get(event.getId());
+        if (previous != null) {
+            untrack(previous.getUserId(), event.getId());
+        }
+        wheel.schedule(event.getId(), toEpochMillis(reminder.getFireAt()), reminder);
+        pendingByUser.computeIfAbsent(event.getUserId(), key -> new HashSet<>()).add(event.getId());
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,12 @@
+package com.lifepulse.service;
+
+import com.lifepulse.dto.reminder.Reminder;
+
+/**
+ * Delivery target for due reminders. Implementations must not block the
+ * reminder tick for long; hand off to a queue if delivery is slow.
+ */
+public interface ReminderSink {
+    
+    void deliver(Reminder reminder);
+}
@@ -1,88 +1,228 @@
 package com.lifepulse.service;
 
+import com.lifepulse.util.S3MetricsInterceptor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
-import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.regions.Region;
-import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3AsyncClientBuilder;
+import software.amazon.awssdk.services.s3.S3Configuration;
 import software.amazon.awssdk.services.s3.model.*;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
 
-import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.net.URL;
+import java.nio.ByteBuffer;
 import java.nio.file.Paths;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * S3 (or S3-compatible) {@link ImageStore}. The SDK clients are built on first use rather than at
+ * startup, so the application comes up without waiting on credential and HTTP client setup.
+ */
 @Service
-public class S3Service {
+@ConditionalOnProperty(name = "image-store.type", havingValue = "s3", matchIfMissing = true)
+public class S3Service implements ImageStore {
+
+    // DeleteObjects accepts at most this many keys per request
+    private static final int DELETE_BATCH_SIZE = 1000;
+    // Deduplicated objects older than this get a fresh LastModified, well inside the orphan sweep's grace period
+    private static final Duration TOUCH_AFTER = Duration.ofHours(1);
 
-    private final S3Client s3Client;
-    private final S3Presigner s3Presigner;
     private final String bucketName;
+    private final MeterRegistry meterRegistry;
+    private final ImageReferenceService imageReferences;
     private final String region;
+    private final String accessKey;
+    private final String secretKey;
+    private final String endpoint;
+    private final boolean pathStyleAccess;
+    private final int maxConnections;
+    private final int maxPendingAcquires;
+    private final long acquireTimeoutMillis;
+    private final long maxIdleMillis;
+    private volatile S3AsyncClient s3Client;
+    private volatile S3Presigner s3Presigner;
+    private final Duration viewUrlTtl;
+    private final Duration viewUrlRefreshMargin;
+    private final int viewUrlCacheMaxEntries;
+    // Presigned GET URLs per key, reused until the refresh margin so clients see a stable URL
+    private final Map<String, CachedUrl> viewUrlCache = new ConcurrentHashMap<>();
+    // Reads multipart streams for the non-blocking client; each thread holds one small copy buffer
+    private final ExecutorService uploadReader;
+    private final Queue<PendingDelete> deleteQueue = new ConcurrentLinkedQueue<>();
+    private final int deleteMaxAttempts;
+    private final long deleteRetryDelayMillis;
+    private final RecentWrites recentWrites;
 
     private static final List<String> ALLOWED_CONTENT_TYPES = Arrays.asList(
         "image/jpeg", "image/jpg", "image/png", "image/gif", "image/webp"
     );
-    private static final long MAX_FILE_SIZE = 5 * 1024 * 1024; // 5MB
 
     public S3Service(
+            MeterRegistry meterRegistry,
+            ImageReferenceService imageReferences,
             @Value("${aws.s3.access-key}") String accessKey,
             @Value("${aws.s3.secret-key}") String secretKey,
             @Value("${aws.s3.region}") String region,
-            @Value("${aws.s3.bucket-name}") String bucketName) {
+            @Value("${aws.s3.bucket-name}") String bucketName,
+            @Value("${aws.s3.view-url-ttl-minutes:60}") long viewUrlTtlMinutes,
+            @Value("${aws.s3.view-url-refresh-margin-minutes:10}") long viewUrlRefreshMarginMinutes,
+            @Value("${aws.s3.view-url-cache-max-entries:10000}") int viewUrlCacheMaxEntries,
+            @Value("${aws.s3.endpoint:}") String endpoint,
+            @Value("${aws.s3.path-style-access:false}") boolean pathStyleAccess,
+            @Value("${aws.s3.max-connections:64}") int maxConnections,
+            @Value("${aws.s3.max-pending-connection-acquires:1000}") int maxPendingAcquires,
+            @Value("${aws.s3.connection-acquire-timeout-ms:5000}") long acquireTimeoutMillis,
+            @Value("${aws.s3.connection-max-idle-ms:60000}") long maxIdleMillis,
+            @Value("${aws.s3.upload-reader-threads:4}") int uploadReaderThreads,
+            @Value("${aws.s3.delete-queue.max-attempts:5}") int deleteMaxAttempts,
+            @Value("${aws.s3.delete-queue.retry-delay-ms:10000}") long deleteRetryDelayMillis,
+            @Value("${image-store.delete-guard-ms:120000}") long deleteGuardMillis) {
         
         this.bucketName = bucketName;
         this.region = region;
+        this.meterRegistry = meterRegistry;
+        this.imageReferences = imageReferences;
+        this.viewUrlTtl = Duration.ofMinutes(viewUrlTtlMinutes);
+        this.viewUrlRefreshMargin = Duration.ofMinutes(Math.min(viewUrlRefreshMarginMinutes, viewUrlTtlMinutes / 2));
+        this.viewUrlCacheMaxEntries = viewUrlCacheMaxEntries;
+        this.deleteMaxAttempts = deleteMaxAttempts;
+        this.deleteRetryDelayMillis = deleteRetryDelayMillis;
+        this.recentWrites = new RecentWrites(deleteGuardMillis);
         
-        AwsBasicCredentials awsCredentials = AwsBasicCredentials.create(accessKey, secretKey);
+        this.accessKey = accessKey;
+        this.secretKey = secretKey;
+        this.endpoint = endpoint;
+        this.pathStyleAccess = pathStyleAccess;
+        this.maxConnections = maxConnections;
+        this.maxPendingAcquires = maxPendingAcquires;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.maxIdleMillis = maxIdleMillis;
         
-        this.s3Client = S3Client.builder()
-                .region(Region.of(region))
-                .credentialsProvider(StaticCredentialsProvider.create(awsCredentials))
-                .build();
-                
-        this.s3Presigner = S3Presigner.builder()
-                .region(Region.of(region))
-                .credentialsProvider(StaticCredentialsProvider.create(awsCredentials))
-                .build();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.uploadReader = Executors.newFixedThreadPool(uploadReaderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "s3-upload-reader-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("aws.s3.delete.queue", deleteQueue, Queue::size).register(meterRegistry);
     }
 
-    public void validateImage(MultipartFile file) {
-        if (file.isEmpty()) {
-            throw new IllegalArgumentException("File cannot be empty");
+    @PreDestroy
+    public void shutdown() {
+        // Best effort: pending deletes left behind are picked up by the orphan sweep
+        if (s3Client != null) {
+            flushDeletes();
+            s3Client.close();
         }
-
-        if (file.getSize() > MAX_FILE_SIZE) {
-            throw new IllegalArgumentException("File size exceeds maximum limit of 5MB");
+        if (s3Presigner != null) {
+            s3Presigner.close();
         }
+        uploadReader.shutdown();
+    }
 
-        String contentType = file.getContentType();
-        if (contentType == null || !ALLOWED_CONTENT_TYPES.contains(contentType.toLowerCase())) {
-            throw new IllegalArgumentException("Invalid file type. Only JPEG, PNG, GIF, and WebP images are allowed");
+    private S3AsyncClient client() {
+        S3AsyncClient client = s3Client;
+        if (client == null) {
+            synchronized (this) {
+                client = s3Client;
+                if (client == null) {
+                    S3AsyncClientBuilder builder = S3AsyncClient.builder()
+                            .region(Region.of(region))
+                            .credentialsProvider(credentials())
+                            .serviceConfiguration(serviceConfiguration())
+                            .overrideConfiguration(override -> override
+                                    .addExecutionInterceptor(new S3MetricsInterceptor(meterRegistry)))
+                            .httpClientBuilder(NettyNioAsyncHttpClient.builder()
+                                    .maxConcurrency(maxConnections)
+                                    .maxPendingConnectionAcquires(maxPendingAcquires)
+                                    .connectionAcquisitionTimeout(Duration.ofMillis(acquireTimeoutMillis))
+                                    .connectionMaxIdleTime(Duration.ofMillis(maxIdleMillis))
+                                    .tcpKeepAlive(true));
+                    if (endpoint != null && !endpoint.isBlank()) {
+                        builder.endpointOverride(URI.create(endpoint));
+                    }
+                    client = builder.build();
+                    s3Client = client;
+                }
+            }
         }
+        return client;
+    }
 
-        // Validate actual image content
-        try {
-            BufferedImage image = ImageIO.read(file.getInputStream());
-            if (image == null) {
-                throw new IllegalArgumentException("File is not a valid image");
+    private S3Presigner presigner() {
+        S3Presigner presigner = s3Presigner;
+        if (presigner == null) {
+            synchronized (this) {
+                presigner = s3Presigner;
+                if (presigner == null) {
+                    S3Presigner.Builder builder = S3Presigner.builder()
+                            .region(Region.of(region))
+                            .credentialsProvider(credentials())
+                            .serviceConfiguration(serviceConfiguration());
+                    if (endpoint != null && !endpoint.isBlank()) {
+                        builder.endpointOverride(URI.create(endpoint));
+                    }
+                    presigner = builder.build();
+                    s3Presigner = presigner;
+                }
             }
-        } catch (IOException e) {
-            throw new IllegalArgumentException("Unable to process image file");
         }
+        return presigner;
     }
 
+    private StaticCredentialsProvider credentials() {
+        return StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey));
+    }
+
+    // Path-style addressing is what MinIO and other local S3 stand-ins expect
+    private S3Configuration serviceConfiguration() {
+        return S3Configuration.builder()
+                .pathStyleAccessEnabled(pathStyleAccess)
+                .build();
+    }
+
+    @Override
     public String generatePresignedUploadUrl(String fileName, String contentType) {
         if (!ALLOWED_CONTENT_TYPES.contains(contentType.toLowerCase())) {
             throw new IllegalArgumentException("Invalid content type");
@@ -101,80 +241,402 @@ public class S3Service {
                 .putObjectRequest(putObjectRequest)
                 .build();
 
-        return s3Presigner.presignPutObject(presignRequest).url().toString();
+        return presigner().presignPutObject(presignRequest).url().toString();
     }
 
-    public String generatePresignedViewUrl(String s3Key) {
-        if (s3Key == null || s3Key.isEmpty()) {
+    @Override
+    public PresignedUpload presignUpload(String key, String contentType, long contentLength, byte[] sha256, Duration ttl) {
+        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType(contentType)
+                .contentLength(contentLength)
+                .checksumSHA256(Base64.getEncoder().encodeToString(sha256))
+                .cacheControl(IMMUTABLE_CACHE_CONTROL)
+                .build();
+
+        PutObjectPresignRequest presignRequest = PutObjectPresignRequest.builder()
+                .signatureDuration(ttl)
+                .putObjectRequest(putObjectRequest)
+                .build();
+
+        PresignedPutObjectRequest presigned = presigner().presignPutObject(presignRequest);
+        // The client must send exactly the signed headers; Host is set by the HTTP client itself
+        Map<String, String> headers = new LinkedHashMap<>();
+        presigned.signedHeaders().forEach((name, values) -> {
+            if (!"host".equalsIgnoreCase(name)) {
+                headers.put(name, String.join(",", values));
+            }
+        });
+        return new PresignedUpload(presigned.url().toString(), headers);
+    }
+
+    @Override
+    public StoredObject stat(String key) {
+        HeadObjectRequest headObjectRequest = HeadObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .checksumMode(ChecksumMode.ENABLED)
+                .build();
+        try {
+            HeadObjectResponse head = join(client().headObject(headObjectRequest));
+            byte[] sha256 = head.checksumSHA256() != null ? Base64.getDecoder().decode(head.checksumSHA256()) : null;
+            return new StoredObject(head.contentLength(), head.contentType(), sha256);
+        } catch (NoSuchKeyException e) {
             return null;
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return null;
+            }
+            throw e;
         }
+    }
 
-        try {
-            GetObjectRequest getObjectRequest = GetObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(s3Key)
-                    .build();
+    @Override
+    public String viewUrl(String s3Key) {
+        if (s3Key == null || s3Key.isEmpty()) {
+            return null;
+        }
 
-            GetObjectPresignRequest presignRequest = GetObjectPresignRequest.builder()
-                    .signatureDuration(Duration.ofHours(1)) // 1 hour expiry
-                    .getObjectRequest(getObjectRequest)
-                    .build();
+        Instant now = Instant.now();
+        CachedUrl cached = viewUrlCache.get(s3Key);
+        if (cached != null && cached.isFresh(now)) {
+            return cached.url;
+        }
 
-            return s3Presigner.presignGetObject(presignRequest).url().toString();
+        try {
+            return presignAndCache(s3Key, now);
         } catch (Exception e) {
             System.err.println("Failed to generate presigned view URL for key: " + s3Key + " - " + e.getMessage());
             return null;
         }
     }
 
-    public String uploadFile(MultipartFile file, String userId) {
-        validateImage(file);
-        
-        String originalFileName = file.getOriginalFilename();
-        String fileExtension = "";
-        if (originalFileName != null && originalFileName.contains(".")) {
-            fileExtension = originalFileName.substring(originalFileName.lastIndexOf("."));
+    /**
+     * Presigned view URLs for many keys at once, for list views. Cached entries are reused and
+     * only the missing or stale keys are signed; keys that fail to sign map to null.
+     */
+    @Override
+    public Map<String, String> viewUrls(Collection<String> s3Keys) {
+        Map<String, String> urls = new LinkedHashMap<>();
+        Instant now = Instant.now();
+        for (String s3Key : s3Keys) {
+            if (s3Key == null || s3Key.isEmpty() || urls.containsKey(s3Key)) {
+                continue;
+            }
+            CachedUrl cached = viewUrlCache.get(s3Key);
+            if (cached != null && cached.isFresh(now)) {
+                urls.put(s3Key, cached.url);
+                continue;
+            }
+            try {
+                urls.put(s3Key, presignAndCache(s3Key, now));
+            } catch (Exception e) {
+                System.err.println("Failed to generate presigned view URL for key: " + s3Key + " - " + e.getMessage());
+                urls.put(s3Key, null);
+            }
         }
-        
-        String key = "profile-pictures/" + userId + "-" + UUID.randomUUID().toString() + fileExtension;
-        
-        try {
-            PutObjectRequest putObjectRequest = PutObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(key)
-                    .contentType(file.getContentType())
-                    .build();
+        return urls;
+    }
 
-            s3Client.putObject(putObjectRequest, RequestBody.fromBytes(file.getBytes()));
-            
-            // Return just the S3 key, not a public URL (since bucket is private)
-            return key;
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to upload file to S3", e);
+    public void invalidateViewUrl(String s3Key) {
+        if (s3Key != null) {
+            viewUrlCache.remove(s3Key);
         }
     }
 
-    public void deleteFileByKey(String s3Key) {
+    private String presignAndCache(String s3Key, Instant now) {
+        GetObjectRequest getObjectRequest = GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(s3Key)
+                .build();
+
+        GetObjectPresignRequest presignRequest = GetObjectPresignRequest.builder()
+                .signatureDuration(viewUrlTtl)
+                .getObjectRequest(getObjectRequest)
+                .build();
+
+        PresignedGetObjectRequest presigned = presigner().presignGetObject(presignRequest);
+        String url = presigned.url().toString();
+        if (viewUrlCache.size() >= viewUrlCacheMaxEntries) {
+            evictStale(now);
+        }
+        viewUrlCache.put(s3Key, new CachedUrl(url, presigned.expiration().minus(viewUrlRefreshMargin)));
+        return url;
+    }
+
+    private void evictStale(Instant now) {
+        viewUrlCache.values().removeIf(cached -> !cached.isFresh(now));
+        if (viewUrlCache.size() >= viewUrlCacheMaxEntries) {
+            // Still full of live entries; dropping them only costs a re-sign on the next read
+            viewUrlCache.clear();
+        }
+    }
+
+    /**
+     * Uploads the part without blocking the caller. Keys are content hashes, so a HEAD first skips
+     * the transfer entirely when the same image was uploaded before. A skipped object that is not
+     * recent is copied onto itself instead, so the orphan sweep sees it as new until it is referenced.
+     */
+    @Override
+    public CompletableFuture<Void> put(String key, MultipartFile file, String contentType) {
+        retain(key);
+        HeadObjectRequest headObjectRequest = HeadObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .build();
+        
+        return client().headObject(headObjectRequest)
+                .handle((head, error) -> {
+                    if (error == null) {
+                        if (head.lastModified() == null || head.lastModified().isAfter(Instant.now().minus(TOUCH_AFTER))) {
+                            return CompletableFuture.<Void>completedFuture(null);
+                        }
+                        CopyObjectRequest touch = CopyObjectRequest.builder()
+                                .sourceBucket(bucketName)
+                                .sourceKey(key)
+                                .destinationBucket(bucketName)
+                                .destinationKey(key)
+                                .metadataDirective(MetadataDirective.REPLACE)
+                                .contentType(contentType)
+                                .cacheControl(IMMUTABLE_CACHE_CONTROL)
+                                .build();
+                        return client().copyObject(touch).<Void>thenApply(response -> null);
+                    }
+                    Throwable cause = unwrap(error);
+                    if (!(cause instanceof NoSuchKeyException)
+                            && !(cause instanceof S3Exception && ((S3Exception) cause).statusCode() == 404)) {
+                        return CompletableFuture.<Void>failedFuture(cause);
+                    }
+                    PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                            .bucket(bucketName)
+                            .key(key)
+                            .contentType(contentType)
+                            .contentLength(file.getSize())
+                            .cacheControl(IMMUTABLE_CACHE_CONTROL)
+                            .build();
+                    return client().putObject(putObjectRequest, new MultipartRequestBody(file, uploadReader))
+                            .<Void>thenApply(response -> null);
+                })
+                .thenCompose(upload -> upload)
+                .handle((ignored, error) -> {
+                    if (error != null) {
+                        throw new CompletionException("Failed to upload file to S3", unwrap(error));
+                    }
+                    invalidateViewUrl(key);
+                    return null;
+                });
+    }
+
+    @Override
+    public InputStream open(String s3Key) {
+        GetObjectRequest getObjectRequest = GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(s3Key)
+                .build();
+        return join(client().getObject(getObjectRequest, AsyncResponseTransformer.toBlockingInputStream()));
+    }
+
+    @Override
+    public void putBytes(String s3Key, byte[] content, String contentType) {
+        retain(s3Key);
+        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(s3Key)
+                .contentType(contentType)
+                .cacheControl(IMMUTABLE_CACHE_CONTROL)
+                .build();
+        join(client().putObject(putObjectRequest, AsyncRequestBody.fromBytes(content)));
+        invalidateViewUrl(s3Key);
+    }
+
+    /**
+     * Queues the object for deletion and returns immediately. Deletes are flushed in batches by
+     * {@link #flushDeletes()} and retried with backoff, so S3 latency never reaches a request thread.
+     */
+    @Override
+    public void delete(String s3Key) {
         if (s3Key == null || s3Key.isEmpty()) {
             return;
         }
+        // Validate path to ensure it's a profile picture
+        if (!s3Key.startsWith("profile-pictures/")) {
+            System.err.println("Refusing to delete non profile picture key: " + s3Key);
+            return;
+        }
+        if (recentWrites.isRecent(s3Key)) {
+            return;
+        }
+        // Stop handing out the URL right away, even though the object lingers until the flush
+        invalidateViewUrl(s3Key);
+        deleteQueue.add(new PendingDelete(s3Key, 1, 0L));
+    }
+
+    /**
+     * A write of an existing key is skipped, so the object may still be queued for deletion by its
+     * previous owner; drop that delete and keep later ones away until the writer saves its reference.
+     */
+    @Override
+    public void retain(String key) {
+        recentWrites.mark(key);
+        deleteQueue.removeIf(pending -> pending.key.equals(key));
+    }
 
+    /**
+     * Deletes right away with one DeleteObjects call per 1000 keys. Keys that fail go to the
+     * deferred queue so they are retried with backoff like any other delete.
+     */
+    @Override
+    public void deleteAll(Collection<String> keys) {
+        List<String> batch = new ArrayList<>(DELETE_BATCH_SIZE);
+        for (String key : keys) {
+            if (key == null || !key.startsWith("profile-pictures/") || recentWrites.isRecent(key)) {
+                continue;
+            }
+            invalidateViewUrl(key);
+            batch.add(key);
+            if (batch.size() == DELETE_BATCH_SIZE) {
+                deleteBatchNow(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            deleteBatchNow(batch);
+        }
+    }
+
+    private void deleteBatchNow(List<String> keys) {
+        List<ObjectIdentifier> objects = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            objects.add(ObjectIdentifier.builder().key(key).build());
+        }
+        DeleteObjectsRequest request = DeleteObjectsRequest.builder()
+                .bucket(bucketName)
+                .delete(Delete.builder().objects(objects).quiet(true).build())
+                .build();
         try {
-            // Validate path to ensure it's a profile picture
-            if (!s3Key.startsWith("profile-pictures/")) {
-                throw new IllegalArgumentException("Can only delete profile pictures");
+            DeleteObjectsResponse response = join(client().deleteObjects(request));
+            for (S3Error error : response.errors()) {
+                deleteQueue.add(new PendingDelete(error.key(), 2, System.currentTimeMillis() + deleteRetryDelayMillis));
             }
+        } catch (Exception e) {
+            System.err.println("Batch delete failed, queueing " + keys.size() + " keys for retry: " + e.getMessage());
+            for (String key : keys) {
+                deleteQueue.add(new PendingDelete(key, 2, System.currentTimeMillis() + deleteRetryDelayMillis));
+            }
+        }
+    }
+
+    @Override
+    public ObjectListing list(String prefix, String continuationToken, int maxKeys) {
+        ListObjectsV2Request request = ListObjectsV2Request.builder()
+                .bucket(bucketName)
+                .prefix(prefix)
+                .continuationToken(continuationToken)
+                .maxKeys(Math.min(maxKeys, 1000))
+                .build();
+        ListObjectsV2Response response = join(client().listObjectsV2(request));
+        List<ListedObject> objects = new ArrayList<>(response.contents().size());
+        for (S3Object object : response.contents()) {
+            objects.add(new ListedObject(object.key(), object.size(), object.lastModified()));
+        }
+        return new ObjectListing(objects, Boolean.TRUE.equals(response.isTruncated()) ? response.nextContinuationToken() : null);
+    }
 
-            DeleteObjectRequest deleteObjectRequest = DeleteObjectRequest.builder()
+    public int getPendingDeleteCount() {
+        return deleteQueue.size();
+    }
+
+    @Scheduled(fixedDelayString = "${aws.s3.delete-queue.interval-ms:5000}")
+    public void flushDeletes() {
+        if (deleteQueue.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        List<PendingDelete> ready = new ArrayList<>();
+        List<PendingDelete> notYet = new ArrayList<>();
+        int queued = deleteQueue.size();
+        for (int i = 0; i < queued; i++) {
+            PendingDelete pending = deleteQueue.poll();
+            if (pending == null) {
+                break;
+            }
+            (pending.notBefore <= now ? ready : notYet).add(pending);
+        }
+        deleteQueue.addAll(notYet);
+
+        for (int from = 0; from < ready.size(); from += DELETE_BATCH_SIZE) {
+            List<PendingDelete> batch = ready.subList(from, Math.min(from + DELETE_BATCH_SIZE, ready.size()));
+            Map<String, PendingDelete> byKey = new LinkedHashMap<>();
+            for (PendingDelete pending : batch) {
+                if (!recentWrites.isRecent(pending.key)) {
+                    byKey.putIfAbsent(pending.key, pending);
+                }
+            }
+            // The delete was decided up to a few seconds ago; someone may have picked the same content since
+            try {
+                byKey.keySet().removeAll(imageReferences.findReferenced(byKey.keySet()));
+            } catch (Exception e) {
+                for (PendingDelete pending : byKey.values()) {
+                    retryDelete(pending, e.getMessage());
+                }
+                continue;
+            }
+            if (byKey.isEmpty()) {
+                continue;
+            }
+            List<ObjectIdentifier> objects = new ArrayList<>();
+            for (String key : byKey.keySet()) {
+                objects.add(ObjectIdentifier.builder().key(key).build());
+            }
+            DeleteObjectsRequest request = DeleteObjectsRequest.builder()
                     .bucket(bucketName)
-                    .key(s3Key)
+                    .delete(Delete.builder().objects(objects).quiet(true).build())
                     .build();
+            try {
+                // Quiet mode reports only the keys that failed; a missing key counts as deleted
+                DeleteObjectsResponse response = join(client().deleteObjects(request));
+                for (S3Error error : response.errors()) {
+                    retryDelete(byKey.get(error.key()), error.code());
+                }
+            } catch (Exception e) {
+                for (PendingDelete pending : byKey.values()) {
+                    retryDelete(pending, e.getMessage());
+                }
+            }
+        }
+    }
 
-            s3Client.deleteObject(deleteObjectRequest);
-        } catch (Exception e) {
-            // Log error but don't throw - file might already be deleted
-            System.err.println("Failed to delete file from S3: " + e.getMessage());
+    private void retryDelete(PendingDelete pending, String reason) {
+        if (pending == null) {
+            return;
         }
+        if (pending.attempt >= deleteMaxAttempts) {
+            System.err.println("Giving up deleting " + pending.key + " after " + pending.attempt + " attempts: " + reason);
+            return;
+        }
+        long delay = deleteRetryDelayMillis << (pending.attempt - 1);
+        deleteQueue.add(new PendingDelete(pending.key, pending.attempt + 1, System.currentTimeMillis() + delay));
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = unwrap(e);
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
     }
 
     // Legacy method for backward compatibility - now handles both URLs and keys
@@ -200,10 +662,135 @@ public class S3Service {
                 s3Key = fileUrlOrKey;
             }
             
-            deleteFileByKey(s3Key);
+            delete(s3Key);
         } catch (Exception e) {
             // Log error but don't throw - file might already be deleted
             System.err.println("Failed to delete file from S3: " + e.getMessage());
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * Streams a multipart part into the async client. Every subscription (including SDK retries)
+     * reopens the part, so nothing is buffered or reset, and the blocking reads run on a small pool
+     * instead of the event loop.
+     */
+    private static class MultipartRequestBody implements AsyncRequestBody {
+        private final MultipartFile file;
+        private final ExecutorService reader;
+
+        private MultipartRequestBody(MultipartFile file, ExecutorService reader) {
+            this.file = file;
+            this.reader = reader;
+        }
+
+        @Override
+        public Optional<Long> contentLength() {
+            return Optional.of(file.getSize());
+        }
+
+        @Override
+        public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+            InputStream in;
+            try {
+                in = file.getInputStream();
+            } catch (IOException e) {
+                subscriber.onSubscribe(new Subscription() {
+                    @Override
+                    public void request(long n) {
+                    }
+
+                    @Override
+                    public void cancel() {
+                    }
+                });
+                subscriber.onError(e);
+                return;
+            }
+            AsyncRequestBody.fromInputStream(in, file.getSize(), reader).subscribe(new ClosingSubscriber(subscriber, in));
+        }
+    }
+
+    /**
+     * Closes the multipart stream once the SDK is done with it; fromInputStream leaves that to the caller,
+     * and each retry subscribes again with a fresh stream.
+     */
+    private static class ClosingSubscriber implements Subscriber<ByteBuffer> {
+        private final Subscriber<? super ByteBuffer> delegate;
+        private final InputStream in;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private ClosingSubscriber(Subscriber<? super ByteBuffer> delegate, InputStream in) {
+            this.delegate = delegate;
+            this.in = in;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            delegate.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                    subscription.request(n);
+                }
+
+                @Override
+                public void cancel() {
+                    subscription.cancel();
+                    close();
+                }
+            });
+        }
+
+        @Override
+        public void onNext(ByteBuffer buffer) {
+            delegate.onNext(buffer);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            close();
+            delegate.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            close();
+            delegate.onComplete();
+        }
+
+        private void close() {
+            if (closed.compareAndSet(false, true)) {
+                try {
+                    in.close();
+                } catch (IOException e) {
+                    System.err.println("Failed to close upload stream: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static class PendingDelete {
+        private final String key;
+        private final int attempt;
+        private final long notBefore;
+
+        private PendingDelete(String key, int attempt, long notBefore) {
+            this.key = key;
+            this.attempt = attempt;
+            this.notBefore = notBefore;
+        }
+    }
+
+    private static class CachedUrl {
+        private final String url;
+        private final Instant refreshAt;
+
+        private CachedUrl(String url, Instant refreshAt) {
+            this.url = url;
+            this.refreshAt = refreshAt;
+        }
+
+        private boolean isFresh(Instant now) {
+            return now.isBefore(refreshAt);
+        }
+    }
+}
\ No newline at end of file
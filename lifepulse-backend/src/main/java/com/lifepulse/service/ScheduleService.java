@@ -1,13 +1,29 @@
 package com.lifepulse.service;
 
+import com.lifepulse.dto.schedule.BulkCopyRequest;
+import com.lifepulse.dto.schedule.BulkDeleteRequest;
+import com.lifepulse.dto.schedule.BulkScheduleResponse;
+import com.lifepulse.dto.schedule.BulkShiftRequest;
 import com.lifepulse.dto.schedule.ScheduleEventRequest;
 import com.lifepulse.entity.ScheduleEvent;
 import com.lifepulse.repository.ScheduleEventRepository;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,9 +31,14 @@ import java.util.Optional;
 public class ScheduleService {
     
     private final ScheduleEventRepository scheduleRepository;
+    private final MongoTemplate mongoTemplate;
+    private final ReminderService reminderService;
     
-    public ScheduleService(ScheduleEventRepository scheduleRepository) {
+    public ScheduleService(ScheduleEventRepository scheduleRepository, MongoTemplate mongoTemplate,
+                           ReminderService reminderService) {
         this.scheduleRepository = scheduleRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.reminderService = reminderService;
     }
     
     public ScheduleEvent createEvent(ScheduleEventRequest request, String userId) {
@@ -31,7 +52,9 @@ public class ScheduleService {
                 .userId(userId)
                 .build();
         
-        return scheduleRepository.save(event);
+        ScheduleEvent saved = scheduleRepository.save(event);
+        reminderService.onEventSaved(saved);
+        return saved;
     }
     
     public List<ScheduleEvent> getUserEvents(String userId) {
@@ -58,13 +81,16 @@ public class ScheduleService {
         event.setCategory(request.getCategory());
         event.setPriority(request.getPriority());
         
-        return scheduleRepository.save(event);
+        ScheduleEvent saved = scheduleRepository.save(event);
+        reminderService.onEventSaved(saved);
+        return saved;
     }
     
     public void deleteEvent(String eventId, String userId) {
         ScheduleEvent event = scheduleRepository.findByIdAndUserId(eventId, userId)
                 .orElseThrow(() -> new RuntimeException("Event not found"));
         scheduleRepository.delete(event);
+        reminderService.onEventDeleted(eventId);
     }
 
     public List<ScheduleEvent> getScheduleEvents(String userId, String startDate, String endDate) {
@@ -101,4 +127,103 @@ public class ScheduleService {
         
         return scheduleRepository.findEventsByUserIdAndDateRange(userId, startOfDay, now).size();
     }
-} 
\ No newline at end of file
+
+    public BulkScheduleResponse shiftEvents(BulkShiftRequest request, String userId) {
+        if (!request.getEnd().isAfter(request.getStart())) {
+            throw new IllegalArgumentException("End must be after start");
+        }
+        long offsetMillis = request.getOffsetMinutes() * 60_000L;
+        Query query = new Query(Criteria.where("userId").is(userId)
+                .and("startTime").gte(request.getStart()).lt(request.getEnd()));
+        
+        // Single server-side pipeline update; no documents travel to the app
+        AggregationOperation shift = context -> new Document("$set", new Document()
+                .append("startTime", new Document("$add", Arrays.asList("$startTime", offsetMillis)))
+                .append("endTime", new Document("$add", Arrays.asList("$endTime", offsetMillis)))
+                .append("updatedAt", "$$NOW"));
+        UpdateResult result = mongoTemplate.updateMulti(query, AggregationUpdate.from(List.of(shift)), ScheduleEvent.class);
+        reminderService.resyncUser(userId);
+        
+        return BulkScheduleResponse.builder()
+                .matched(result.getMatchedCount())
+                .affected(result.getModifiedCount())
+                .build();
+    }
+    
+    public BulkScheduleResponse copyEvents(BulkCopyRequest request, String userId) {
+        LocalDateTime sourceStart = request.getSourceDate().atStartOfDay();
+        LocalDateTime sourceEnd = sourceStart.plusDays(request.getDays());
+        long offsetDays = ChronoUnit.DAYS.between(request.getSourceDate(), request.getTargetDate());
+        if (offsetDays == 0) {
+            throw new IllegalArgumentException("Target date must differ from source date");
+        }
+        // An overlapping target would let $merge read back the copies it is inserting
+        if (Math.abs(offsetDays) < request.getDays()) {
+            throw new IllegalArgumentException("Target range must not overlap the source range");
+        }
+        long matched = mongoTemplate.count(new Query(Criteria.where("userId").is(userId)
+                .and("startTime").gte(sourceStart).lt(sourceEnd)), ScheduleEvent.class);
+        long affected = 0;
+        if (matched > 0) {
+            // Calendar-day arithmetic in the zone LocalDateTimes are stored in, so copies keep their wall-clock time across DST
+            String zone = ZoneId.systemDefault().getId();
+            // $merge writes the shifted copies back into the same collection inside the server
+            List<Document> pipeline = List.of(
+                    new Document("$match", new Document("userId", userId)
+                            .append("startTime", new Document("$gte", toDate(sourceStart)).append("$lt", toDate(sourceEnd)))),
+                    new Document("$unset", Arrays.asList("_id", "externalUid")),
+                    new Document("$set", new Document()
+                            .append("startTime", addDays("$startTime", offsetDays, zone))
+                            .append("endTime", addDays("$endTime", offsetDays, zone))
+                            .append("createdAt", "$$NOW")
+                            .append("updatedAt", "$$NOW")),
+                    new Document("$merge", new Document("into", mongoTemplate.getCollectionName(ScheduleEvent.class))
+                            .append("whenMatched", "fail")
+                            .append("whenNotMatched", "insert")));
+            mongoTemplate.getCollection(mongoTemplate.getCollectionName(ScheduleEvent.class))
+                    .aggregate(pipeline)
+                    .toCollection();
+            // Copies get fresh _ids and whenMatched is "fail", so $merge either inserted every match or threw
+            affected = matched;
+            reminderService.resyncUser(userId);
+        }
+        
+        return BulkScheduleResponse.builder()
+                .matched(matched)
+                .affected(affected)
+                .build();
+    }
+    
+    private static Document addDays(String field, long days, String zone) {
+        return new Document("$dateAdd", new Document("startDate", field)
+                .append("unit", "day")
+                .append("amount", days)
+                .append("timezone", zone));
+    }
+    
+    public BulkScheduleResponse deleteEvents(BulkDeleteRequest request, String userId) {
+        if (!request.getEnd().isAfter(request.getStart())) {
+            throw new IllegalArgumentException("End must be after start");
+        }
+        Criteria criteria = Criteria.where("userId").is(userId)
+                .and("startTime").gte(request.getStart()).lt(request.getEnd());
+        if (request.getCategory() != null) {
+            criteria = criteria.and("category").is(request.getCategory());
+        }
+        if (request.getPriority() != null) {
+            criteria = criteria.and("priority").is(request.getPriority());
+        }
+        
+        DeleteResult result = mongoTemplate.remove(new Query(criteria), ScheduleEvent.class);
+        reminderService.resyncUser(userId);
+        
+        return BulkScheduleResponse.builder()
+                .matched(result.getDeletedCount())
+                .affected(result.getDeletedCount())
+                .build();
+    }
+    
+    private static Date toDate(LocalDateTime dateTime) {
+        return Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
@@ -0,0 +1,482 @@
+package com.lifepulse.service;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import jakarta.annotation.PreDestroy;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Driver command listener that keeps the most recent slow Mongo commands in a fixed-size ring,
+ * exposed as the {@code slowqueries} actuator endpoint.
+ *
+ * <p>Each entry names the repository method (or the first application frame) that issued the
+ * command, the filter shape with every value replaced by {@code "?"}, the duration and the number
+ * of documents returned. A sample of slow reads is re-run as {@code explain} on a background thread
+ * and the winning plan is attached to the entry.
+ *
+ * <p>The sync driver calls listeners on the thread running the operation, so the call stack is only
+ * walked for commands that were already slow. Fast commands cost one copy of their filter.
+ */
+@Service
+public class SlowQueryLog implements CommandListener {
+
+    private static final String APP_PACKAGE = "com.lifepulse.";
+    private static final String REPOSITORY_PACKAGE = "com.lifepulse.repository.";
+    private static final int MAX_SHAPE_LENGTH = 2000;
+    private static final int MAX_PLAN_LENGTH = 4000;
+    // Bounds the started-command map if the driver ever drops a completion event
+    private static final int MAX_IN_FLIGHT = 10_000;
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    // Fields that describe which documents a command touches; payloads such as inserted documents are never copied
+    private static final Map<String, List<String>> SHAPE_FIELDS = Map.of(
+            "find", List.of("filter", "sort", "projection", "hint", "limit", "skip"),
+            "aggregate", List.of("pipeline", "hint"),
+            "count", List.of("query", "hint"),
+            "distinct", List.of("key", "query"),
+            "findAndModify", List.of("query", "sort"),
+            "update", List.of("updates"),
+            "delete", List.of("deletes"));
+    private static final Set<String> EXPLAINABLE = Set.of("find", "aggregate", "count", "distinct");
+
+    private final ObjectProvider<MongoClient> mongoClient;
+    private final boolean enabled;
+    private final long thresholdMillis;
+    private final double explainSampleRate;
+    private final long explainCooldownMillis;
+    private final Map<Integer, StartedCommand> inFlight = new ConcurrentHashMap<>();
+    // Shape -> time of its last explain, so a hot slow query is not explained over and over
+    private final Map<String, Long> lastExplained = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor explainer;
+
+    private final Entry[] ring;
+    private int next;
+    private long recorded;
+
+    public SlowQueryLog(ObjectProvider<MongoClient> mongoClient,
+                        @Value("${mongo.slow-query.enabled:true}") boolean enabled,
+                        @Value("${mongo.slow-query.threshold-ms:100}") long thresholdMillis,
+                        @Value("${mongo.slow-query.capacity:200}") int capacity,
+                        @Value("${mongo.slow-query.explain-sample-rate:0.1}") double explainSampleRate,
+                        @Value("${mongo.slow-query.explain-cooldown-ms:60000}") long explainCooldownMillis) {
+        this.mongoClient = mongoClient;
+        this.enabled = enabled;
+        this.thresholdMillis = thresholdMillis;
+        this.explainSampleRate = explainSampleRate;
+        this.explainCooldownMillis = explainCooldownMillis;
+        this.ring = new Entry[Math.max(1, capacity)];
+        // One thread, short queue: explains are diagnostics and are dropped rather than queued up
+        this.explainer = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(16), runnable -> {
+            Thread thread = new Thread(runnable, "slow-query-explain");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        explainer.shutdownNow();
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        List<String> fields = SHAPE_FIELDS.get(event.getCommandName());
+        if (fields == null) {
+            return;
+        }
+        if (inFlight.size() >= MAX_IN_FLIGHT) {
+            inFlight.clear();
+        }
+        // The event's document is only valid during this callback, so keep a copy of the parts we need
+        BsonDocument command = event.getCommand();
+        BsonDocument query = new BsonDocument(event.getCommandName(), command.get(event.getCommandName()));
+        for (String field : fields) {
+            BsonValue value = command.get(field);
+            if (value != null) {
+                query.put(field, copy(field, value));
+            }
+        }
+        inFlight.put(event.getRequestId(), new StartedCommand(event.getDatabaseName(), query));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        StartedCommand started = enabled ? inFlight.remove(event.getRequestId()) : null;
+        long elapsedMillis = event.getElapsedTime(TimeUnit.MILLISECONDS);
+        if (!enabled || elapsedMillis < thresholdMillis) {
+            return;
+        }
+        record(event.getCommandName(), event.getDatabaseName(), started, elapsedMillis,
+                documentsReturned(event.getCommandName(), event.getResponse()), null);
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        StartedCommand started = enabled ? inFlight.remove(event.getRequestId()) : null;
+        long elapsedMillis = event.getElapsedTime(TimeUnit.MILLISECONDS);
+        if (!enabled || elapsedMillis < thresholdMillis) {
+            return;
+        }
+        record(event.getCommandName(), event.getDatabaseName(), started, elapsedMillis, -1,
+                event.getThrowable().getClass().getSimpleName());
+    }
+
+    /**
+     * Recorded entries, newest first.
+     */
+    public synchronized List<Entry> entries() {
+        List<Entry> entries = new ArrayList<>(ring.length);
+        for (int i = 1; i <= ring.length; i++) {
+            Entry entry = ring[Math.floorMod(next - i, ring.length)];
+            if (entry == null) {
+                break;
+            }
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    public synchronized long getRecordedCount() {
+        return recorded;
+    }
+
+    public long getThresholdMillis() {
+        return thresholdMillis;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(ring, null);
+        next = 0;
+    }
+
+    private void record(String commandName, String database, StartedCommand started, long elapsedMillis,
+                        long documents, String error) {
+        if ("explain".equals(commandName)) {
+            // Our own diagnostics
+            return;
+        }
+        String collection = null;
+        if (started != null) {
+            BsonValue target = started.query.get(commandName);
+            collection = target != null && target.isString() ? target.asString().getValue() : null;
+        }
+        String shape = started != null ? truncate(redact(started.query).toJson(), MAX_SHAPE_LENGTH) : null;
+        Entry entry = new Entry(Instant.now(), database, collection, commandName, origin(),
+                shape, elapsedMillis, documents, error);
+
+        synchronized (this) {
+            ring[next] = entry;
+            next = (next + 1) % ring.length;
+            recorded++;
+        }
+
+        if (started != null && error == null && EXPLAINABLE.contains(commandName) && shouldExplain(shape)) {
+            explainer.execute(() -> explain(entry, started));
+        }
+    }
+
+    private boolean shouldExplain(String shape) {
+        if (ThreadLocalRandom.current().nextDouble() >= explainSampleRate) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        Long previous = lastExplained.get(shape);
+        if (previous != null && now - previous < explainCooldownMillis) {
+            return false;
+        }
+        if (lastExplained.size() >= MAX_IN_FLIGHT) {
+            lastExplained.clear();
+        }
+        lastExplained.put(shape, now);
+        return true;
+    }
+
+    private void explain(Entry entry, StartedCommand started) {
+        MongoClient client = mongoClient.getIfAvailable();
+        if (client == null) {
+            return;
+        }
+        BsonDocument target = started.query.clone();
+        if (target.containsKey("aggregate") && !target.containsKey("cursor")) {
+            target.put("cursor", new BsonDocument());
+        }
+        BsonDocument explain = new BsonDocument("explain", target)
+                .append("verbosity", new BsonString("queryPlanner"));
+        try {
+            BsonDocument result = client.getDatabase(started.database).runCommand(explain, BsonDocument.class);
+            BsonDocument winningPlan = findWinningPlan(result);
+            if (winningPlan != null) {
+                entry.setPlan(summarize(winningPlan), truncate(winningPlan.toJson(), MAX_PLAN_LENGTH));
+            }
+        } catch (Exception e) {
+            entry.setPlan("explain failed: " + e.getMessage(), null);
+        }
+    }
+
+    /**
+     * The repository method that issued the command when it went through a Spring Data repository,
+     * followed by the first application frame (service or controller) that called it.
+     */
+    private static String origin() {
+        return STACK_WALKER.walk(frames -> {
+            String repositoryMethod = null;
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                Class<?> type = frame.getDeclaringClass();
+                if (repositoryMethod == null && Proxy.isProxyClass(type)) {
+                    for (Class<?> contract : type.getInterfaces()) {
+                        if (contract.getName().startsWith(REPOSITORY_PACKAGE)) {
+                            repositoryMethod = contract.getSimpleName() + "." + frame.getMethodName();
+                        }
+                    }
+                } else if (type.getName().startsWith(APP_PACKAGE) && type != SlowQueryLog.class) {
+                    String caller = type.getSimpleName() + "." + frame.getMethodName() + ":" + frame.getLineNumber();
+                    return repositoryMethod != null ? repositoryMethod + " <- " + caller : caller;
+                }
+            }
+            return repositoryMethod != null ? repositoryMethod : "unknown";
+        });
+    }
+
+    private static long documentsReturned(String commandName, BsonDocument response) {
+        if (response == null) {
+            return -1;
+        }
+        BsonDocument cursor = response.getDocument("cursor", null);
+        if (cursor != null) {
+            BsonArray batch = cursor.containsKey("firstBatch") ? cursor.getArray("firstBatch", null)
+                    : cursor.getArray("nextBatch", null);
+            return batch != null ? batch.size() : -1;
+        }
+        if ("findAndModify".equals(commandName)) {
+            BsonValue value = response.get("value");
+            return value != null && value.isDocument() ? 1 : 0;
+        }
+        if ("distinct".equals(commandName)) {
+            BsonArray values = response.getArray("values", null);
+            return values != null ? values.size() : -1;
+        }
+        // count, update and delete report their document count as n
+        BsonValue n = response.get("n");
+        return n != null && n.isNumber() ? n.asNumber().longValue() : -1;
+    }
+
+    private static BsonValue copy(String field, BsonValue value) {
+        if ("updates".equals(field) || "deletes".equals(field)) {
+            // Keep the filter of each statement, not the update document or replacement
+            BsonArray statements = new BsonArray();
+            for (BsonValue statement : value.asArray()) {
+                if (statement.isDocument() && statement.asDocument().containsKey("q")) {
+                    statements.add(new BsonDocument("q", statement.asDocument().get("q").asDocument().clone()));
+                }
+            }
+            return statements;
+        }
+        if (value.isDocument()) {
+            return value.asDocument().clone();
+        }
+        if (value.isArray()) {
+            return value.asArray().clone();
+        }
+        return value;
+    }
+
+    /**
+     * Keeps field names and operators, replaces every value with "?". Arrays of plain values
+     * (e.g. an $in list) collapse to one placeholder so their length does not change the shape.
+     */
+    static BsonValue redact(BsonValue value) {
+        if (value.isDocument()) {
+            BsonDocument redacted = new BsonDocument();
+            for (Map.Entry<String, BsonValue> field : value.asDocument().entrySet()) {
+                redacted.put(field.getKey(), redact(field.getValue()));
+            }
+            return redacted;
+        }
+        if (value.isArray()) {
+            BsonArray redacted = new BsonArray();
+            for (BsonValue element : value.asArray()) {
+                if (element.isDocument() || element.isArray()) {
+                    redacted.add(redact(element));
+                } else if (redacted.isEmpty()) {
+                    redacted.add(new BsonString("?"));
+                }
+            }
+            return redacted;
+        }
+        return new BsonString("?");
+    }
+
+    private static BsonDocument redact(BsonDocument query) {
+        BsonDocument redacted = new BsonDocument();
+        for (Map.Entry<String, BsonValue> field : query.entrySet()) {
+            // The command name maps to the collection, limit/skip are not sensitive
+            boolean keep = field.getKey().equals(query.getFirstKey())
+                    || "limit".equals(field.getKey()) || "skip".equals(field.getKey());
+            redacted.put(field.getKey(), keep ? field.getValue() : redact(field.getValue()));
+        }
+        return redacted;
+    }
+
+    private static BsonDocument findWinningPlan(BsonDocument document) {
+        BsonValue winningPlan = document.get("winningPlan");
+        if (winningPlan != null && winningPlan.isDocument()) {
+            return winningPlan.asDocument();
+        }
+        for (BsonValue value : document.values()) {
+            BsonDocument found = null;
+            if (value.isDocument()) {
+                found = findWinningPlan(value.asDocument());
+            } else if (value.isArray()) {
+                for (BsonValue element : value.asArray()) {
+                    if (element.isDocument() && (found = findWinningPlan(element.asDocument())) != null) {
+                        break;
+                    }
+                }
+            }
+            if (found != null) {
+                return found;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * One-line plan such as {@code FETCH <- IXSCAN(userId_1_startTime_1)}; a COLLSCAN stands out at a glance.
+     */
+    private static String summarize(BsonDocument plan) {
+        BsonDocument stage = plan.containsKey("queryPlan") ? plan.getDocument("queryPlan") : plan;
+        StringBuilder summary = new StringBuilder(stage.getString("stage", new BsonString("?")).getValue());
+        if (stage.containsKey("indexName")) {
+            summary.append('(').append(stage.getString("indexName").getValue()).append(')');
+        }
+        if (stage.containsKey("inputStage")) {
+            summary.append(" <- ").append(summarize(stage.getDocument("inputStage")));
+        } else if (stage.containsKey("inputStages")) {
+            List<String> inputs = new ArrayList<>();
+            for (BsonValue input : stage.getArray("inputStages")) {
+                inputs.add(summarize(input.asDocument()));
+            }
+            summary.append(" <- [").append(String.join(", ", inputs)).append(']');
+        }
+        return summary.toString();
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value.length() <= maxLength ? value : value.substring(0, maxLength) + "...";
+    }
+
+    private static class StartedCommand {
+        private final String database;
+        private final BsonDocument query;
+
+        StartedCommand(String database, BsonDocument query) {
+            this.database = database;
+            this.query = query;
+        }
+    }
+
+    public static class Entry {
+        private final Instant timestamp;
+        private final String database;
+        private final String collection;
+        private final String command;
+        private final String origin;
+        private final String shape;
+        private final long durationMillis;
+        private final long documentsReturned;
+        private final String error;
+        // Filled in later by the explain thread, if this entry was sampled
+        private volatile String planSummary;
+        private volatile String winningPlan;
+
+        public Entry(Instant timestamp, String database, String collection, String command, String origin,
+                     String shape, long durationMillis, long documentsReturned, String error) {
+            this.timestamp = timestamp;
+            this.database = database;
+            this.collection = collection;
+            this.command = command;
+            this.origin = origin;
+            this.shape = shape;
+            this.durationMillis = durationMillis;
+            this.documentsReturned = documentsReturned;
+            this.error = error;
+        }
+
+        void setPlan(String planSummary, String winningPlan) {
+            this.planSummary = planSummary;
+            this.winningPlan = winningPlan;
+        }
+
+        public Instant getTimestamp() {
+            return timestamp;
+        }
+
+        public String getDatabase() {
+            return database;
+        }
+
+        public String getCollection() {
+            return collection;
+        }
+
+        public String getCommand() {
+            return command;
+        }
+
+        public String getOrigin() {
+            return origin;
+        }
+
+        public String getShape() {
+            return shape;
+        }
+
+        public long getDurationMillis() {
+            return durationMillis;
+        }
+
+        /**
+         * Documents in the reply (batch size for cursors), or -1 if unknown.
+         */
+        public long getDocumentsReturned() {
+            return documentsReturned;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public String getPlanSummary() {
+            return planSummary;
+        }
+
+        public String getWinningPlan() {
+            return winningPlan;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.lifepulse.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Appends sampled request records to gzipped JSON-lines files under {@code traffic.recording.directory},
+ * one record per line, rolling to a new file after {@code max-file-bytes} of uncompressed output.
+ * Request threads only enqueue; a single writer thread serializes and compresses. When the queue is
+ * full records are dropped rather than slowing requests down.
+ */
+@Service
+@ConditionalOnProperty(name = "traffic.recording.enabled", havingValue = "true")
+public class TrafficRecorder implements DisposableBean {
+
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final long maxFileBytes;
+    private final BlockingQueue<ObjectNode> queue;
+    private final Thread writer;
+    private final Counter written;
+    private final Counter dropped;
+
+    private volatile boolean running = true;
+
+    // Writer thread only
+    private OutputStream out;
+    private long fileBytes;
+    private int fileSequence;
+
+    public TrafficRecorder(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                           @Value("${traffic.recording.directory:./data/traffic}") String directory,
+                           @Value("${traffic.recording.max-file-bytes:67108864}") long maxFileBytes,
+                           @Value("${traffic.recording.queue-capacity:10000}") int queueCapacity) throws IOException {
+        this.objectMapper = objectMapper;
+        this.directory = Paths.get(directory);
+        this.maxFileBytes = maxFileBytes;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.written = Counter.builder("traffic.recording.records").tag("result", "written").register(meterRegistry);
+        this.dropped = Counter.builder("traffic.recording.records").tag("result", "dropped").register(meterRegistry);
+
+        Files.createDirectories(this.directory);
+        this.writer = new Thread(this::writeLoop, "traffic-recorder");
+        this.writer.setDaemon(true);
+        this.writer.start();
+        System.out.println("Recording sampled traffic to " + this.directory.toAbsolutePath());
+    }
+
+    public void record(ObjectNode record) {
+        if (!queue.offer(record)) {
+            dropped.increment();
+        }
+    }
+
+    private void writeLoop() {
+        List<ObjectNode> batch = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                ObjectNode first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, 1000);
+                for (ObjectNode record : batch) {
+                    write(objectMapper.writeValueAsBytes(record));
+                }
+                written.increment(batch.size());
+                // Sync-flushed gzip: a crash loses at most the batch being written
+                out.flush();
+            } catch (InterruptedException e) {
+                running = false;
+            } catch (IOException e) {
+                dropped.increment(batch.size());
+                System.err.println("Failed to write traffic records: " + e.getMessage());
+                closeQuietly();
+            } finally {
+                batch.clear();
+            }
+        }
+        closeQuietly();
+    }
+
+    private void write(byte[] line) throws IOException {
+        if (out == null || fileBytes >= maxFileBytes) {
+            closeQuietly();
+            String name = "traffic-" + LocalDateTime.now().format(FILE_TIME) + "-" + (fileSequence++) + ".jsonl.gz";
+            out = new GZIPOutputStream(Files.newOutputStream(directory.resolve(name)), 64 * 1024, true);
+            fileBytes = 0;
+        }
+        out.write(line);
+        out.write('\n');
+        fileBytes += line.length + 1;
+    }
+
+    private void closeQuietly() {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            System.err.println("Failed to close traffic log: " + e.getMessage());
+        }
+        out = null;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+}
@@ -0,0 +1,218 @@
+package com.lifepulse.service;
+
+import com.lifepulse.dto.user.UploadIntentRequest;
+import com.lifepulse.dto.user.UploadIntentResponse;
+import com.lifepulse.entity.UploadIntent;
+import com.lifepulse.entity.User;
+import com.lifepulse.util.ImageHeaderProbe;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Two-phase profile picture upload that keeps the bytes off the app servers: {@link #create} hands
+ * out a presigned PUT for the content-addressed key, the client uploads straight to storage, and
+ * {@link #complete} checks the stored object before swapping it onto the user.
+ */
+@Service
+public class UploadIntentService {
+
+    private final ImageStore imageStore;
+    private final ProfileImageService profileImageService;
+    private final AvatarVariantService avatarVariantService;
+    private final MongoTemplate mongoTemplate;
+    private final Duration ttl;
+    private final Duration completeGrace;
+    private final int cleanupBatchSize;
+
+    public UploadIntentService(ImageStore imageStore, ProfileImageService profileImageService,
+                               AvatarVariantService avatarVariantService, MongoTemplate mongoTemplate,
+                               @Value("${uploads.intents.ttl-seconds:300}") long ttlSeconds,
+                               @Value("${uploads.intents.complete-grace-seconds:60}") long completeGraceSeconds,
+                               @Value("${uploads.intents.cleanup-batch-size:500}") int cleanupBatchSize) {
+        this.imageStore = imageStore;
+        this.profileImageService = profileImageService;
+        this.avatarVariantService = avatarVariantService;
+        this.mongoTemplate = mongoTemplate;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.completeGrace = Duration.ofSeconds(completeGraceSeconds);
+        this.cleanupBatchSize = cleanupBatchSize;
+    }
+
+    /**
+     * Records the intent and presigns the PUT. Length, type and SHA-256 are signed, so storage
+     * itself rejects anything other than the declared file. If identical content is already
+     * stored no URL is issued and the client can complete immediately.
+     */
+    public UploadIntentResponse create(String userId, UploadIntentRequest request) {
+        ImageHeaderProbe.Format format = formatFor(request.getContentType());
+        if (format == null) {
+            throw new IllegalArgumentException("Invalid file type. Only JPEG, PNG, GIF, and WebP images are allowed");
+        }
+        if (request.getContentLength() > ProfileImageService.MAX_FILE_SIZE) {
+            throw new IllegalArgumentException("File size exceeds maximum limit of 5MB");
+        }
+
+        String hash = request.getSha256().toLowerCase(Locale.ROOT);
+        String key = ProfileImageService.KEY_PREFIX + hash + "." + format.getExtension();
+        LocalDateTime now = LocalDateTime.now();
+
+        // Claim the key first: the object may be queued for deletion by a user who just released it
+        imageStore.retain(key);
+        ImageStore.StoredObject existing = imageStore.stat(key);
+        boolean alreadyUploaded = existing != null && existing.getSize() == request.getContentLength();
+        ImageStore.PresignedUpload presigned = alreadyUploaded ? null
+                : imageStore.presignUpload(key, format.getContentType(), request.getContentLength(),
+                        HexFormat.of().parseHex(hash), ttl);
+
+        UploadIntent intent = new UploadIntent(null, userId, key, format.getContentType(), request.getContentLength(),
+                UploadIntent.Status.PENDING, now, now.plus(ttl));
+        intent = mongoTemplate.insert(intent);
+
+        return new UploadIntentResponse(intent.getId(),
+                presigned != null ? presigned.getUrl() : null,
+                presigned != null ? presigned.getHeaders() : null,
+                intent.getExpiresAt(), alreadyUploaded);
+    }
+
+    /**
+     * Verifies the uploaded object with a HEAD and a header read, then makes it the user's picture. Returns the stored key.
+     * A missing object leaves the intent pending, so the client may retry once its PUT has finished.
+     */
+    public String complete(String userId, String intentId) {
+        LocalDateTime now = LocalDateTime.now();
+        // A PUT started just before expiry may finish after it
+        Criteria completable = Criteria.where("id").is(intentId)
+                .and("userId").is(userId)
+                .and("status").is(UploadIntent.Status.PENDING)
+                .and("expiresAt").gt(now.minus(completeGrace));
+
+        UploadIntent intent = mongoTemplate.findOne(new Query(completable), UploadIntent.class);
+        if (intent == null) {
+            throw new IllegalArgumentException("Upload intent not found or expired");
+        }
+
+        verify(intent);
+
+        // Only one completion may win; a replay of the same call finds the intent already completed
+        UploadIntent claimed = mongoTemplate.findAndModify(new Query(completable),
+                new Update().set("status", UploadIntent.Status.COMPLETED),
+                UploadIntent.class);
+        if (claimed == null) {
+            throw new IllegalArgumentException("Upload intent not found or expired");
+        }
+
+        String key = intent.getKey();
+        // Atomic swap: the previous reference comes from the same write, so a concurrent upload
+        // cannot make us release a picture that is still in use
+        User previous = mongoTemplate.findAndModify(
+                new Query(Criteria.where("id").is(userId).and("profilePictureUrl").ne(key)),
+                new Update().set("profilePictureUrl", key)
+                        .unset("profilePictureVariants")
+                        .set("updatedAt", now),
+                FindAndModifyOptions.options().returnNew(false),
+                User.class);
+
+        if (previous != null) {
+            profileImageService.release(userId, previous.getProfilePictureUrl(), previous.getProfilePictureVariants());
+            avatarVariantService.submit(key);
+        }
+        return key;
+    }
+
+    /**
+     * Drops intents past their completion window. Objects uploaded for abandoned intents are deleted
+     * unless a user or another live intent points at the same key.
+     */
+    @Scheduled(fixedDelayString = "${uploads.intents.cleanup-interval-ms:300000}",
+               initialDelayString = "${uploads.intents.cleanup-interval-ms:300000}")
+    public void cleanupExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minus(completeGrace);
+
+        Query abandoned = new Query(Criteria.where("status").is(UploadIntent.Status.PENDING)
+                .and("expiresAt").lt(cutoff))
+                .with(Sort.by(Sort.Direction.ASC, "expiresAt"))
+                .limit(cleanupBatchSize);
+        List<UploadIntent> expired = mongoTemplate.find(abandoned, UploadIntent.class);
+
+        int deletedObjects = 0;
+        for (UploadIntent intent : expired) {
+            String key = intent.getKey();
+            boolean referenced = mongoTemplate.exists(
+                    new Query(Criteria.where("profilePictureUrl").is(key)), User.class);
+            boolean pendingElsewhere = mongoTemplate.exists(
+                    new Query(Criteria.where("key").is(key)
+                            .and("status").is(UploadIntent.Status.PENDING)
+                            .and("expiresAt").gte(cutoff)), UploadIntent.class);
+            if (!referenced && !pendingElsewhere && imageStore.stat(key) != null) {
+                imageStore.delete(key);
+                deletedObjects++;
+            }
+            mongoTemplate.remove(new Query(Criteria.where("id").is(intent.getId())), UploadIntent.class);
+        }
+
+        long completed = mongoTemplate.remove(new Query(Criteria.where("status").is(UploadIntent.Status.COMPLETED)
+                .and("expiresAt").lt(cutoff)), UploadIntent.class).getDeletedCount();
+
+        if (!expired.isEmpty() || completed > 0) {
+            System.out.println("Upload intent cleanup: " + expired.size() + " abandoned (" + deletedObjects
+                    + " objects deleted), " + completed + " completed removed");
+        }
+    }
+
+    private void verify(UploadIntent intent) {
+        ImageStore.StoredObject stored = imageStore.stat(intent.getKey());
+        if (stored == null) {
+            throw new IllegalArgumentException("Upload not found in storage");
+        }
+        if (stored.getSize() != intent.getContentLength()) {
+            throw new IllegalArgumentException("Uploaded size does not match the upload intent");
+        }
+        if (stored.getContentType() != null && !stored.getContentType().equalsIgnoreCase(intent.getContentType())) {
+            throw new IllegalArgumentException("Uploaded content type does not match the upload intent");
+        }
+        if (stored.getSha256() != null) {
+            String name = intent.getKey().substring(ProfileImageService.KEY_PREFIX.length());
+            byte[] expected = HexFormat.of().parseHex(name.substring(0, name.indexOf('.')));
+            if (!Arrays.equals(stored.getSha256(), expected)) {
+                throw new IllegalArgumentException("Uploaded content does not match the upload intent");
+            }
+        }
+        // The signed headers only prove the client declared an image; check the bytes like a regular upload,
+        // which also keeps oversized headers away from the variant decoder
+        ImageHeaderProbe.ImageInfo image;
+        try (InputStream in = imageStore.open(intent.getKey())) {
+            image = profileImageService.validateHeader(in);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Uploaded file is not a valid image");
+        }
+        if (!image.getFormat().getContentType().equalsIgnoreCase(intent.getContentType())) {
+            throw new IllegalArgumentException("Uploaded content type does not match the upload intent");
+        }
+    }
+
+    private static ImageHeaderProbe.Format formatFor(String contentType) {
+        for (ImageHeaderProbe.Format format : ImageHeaderProbe.Format.values()) {
+            if (format.getContentType().equalsIgnoreCase(contentType)) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
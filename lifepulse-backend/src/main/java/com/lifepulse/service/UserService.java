@@ -10,6 +10,10 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
 
 @Service
 public class UserService implements UserDetailsService {
@@ -36,6 +40,12 @@ public class UserService implements UserDetailsService {
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
     }
 
+    public List<User> findAllByIds(Collection<String> ids) {
+        List<User> users = new ArrayList<>();
+        userRepository.findAllById(ids).forEach(users::add);
+        return users;
+    }
+
     public User findByEmail(String email) {
         return userRepository.findByEmail(email)
                 .orElse(null);
@@ -54,7 +64,12 @@ public class UserService implements UserDetailsService {
         }
 
         if (request.getProfilePictureUrl() != null) {
-            user.setProfilePictureUrl(request.getProfilePictureUrl().trim().isEmpty() ? null : request.getProfilePictureUrl().trim());
+            String profilePictureUrl = request.getProfilePictureUrl().trim().isEmpty() ? null : request.getProfilePictureUrl().trim();
+            if (!Objects.equals(profilePictureUrl, user.getProfilePictureUrl())) {
+                // Variants belong to the old picture; new ones are generated asynchronously
+                user.setProfilePictureVariants(null);
+            }
+            user.setProfilePictureUrl(profilePictureUrl);
         }
 
         return userRepository.save(user);
@@ -0,0 +1,191 @@
+package com.lifepulse.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Incremental RFC 5545 reader. Lines are unfolded on the fly and each VEVENT is handed
+ * to the callback as soon as its END line is read, so memory stays proportional to one
+ * event regardless of file size. Properties of nested components (VALARM) are ignored.
+ */
+public class IcsParser {
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private IcsParser() {}
+
+    public static void parse(Reader source, Consumer<Map<String, Property>> onEvent) throws IOException {
+        BufferedReader reader = source instanceof BufferedReader ? (BufferedReader) source : new BufferedReader(source);
+        Map<String, Property> current = null;
+        int nestedDepth = 0;
+
+        StringBuilder logical = null;
+        String line;
+        while (true) {
+            line = reader.readLine();
+            if (line != null && !line.isEmpty() && (line.charAt(0) == ' ' || line.charAt(0) == '\t')) {
+                if (logical != null) {
+                    logical.append(line, 1, line.length());
+                }
+                continue;
+            }
+            if (logical != null) {
+                String content = logical.toString();
+                Property property = Property.parse(content);
+                if (property != null) {
+                    if ("BEGIN".equals(property.getName())) {
+                        if ("VEVENT".equalsIgnoreCase(property.getValue())) {
+                            current = new HashMap<>();
+                            nestedDepth = 0;
+                        } else if (current != null) {
+                            nestedDepth++;
+                        }
+                    } else if ("END".equals(property.getName())) {
+                        if (current != null && nestedDepth > 0) {
+                            nestedDepth--;
+                        } else if (current != null && "VEVENT".equalsIgnoreCase(property.getValue())) {
+                            onEvent.accept(current);
+                            current = null;
+                        }
+                    } else if (current != null && nestedDepth == 0) {
+                        current.putIfAbsent(property.getName(), property);
+                    }
+                }
+            }
+            if (line == null) {
+                break;
+            }
+            logical = new StringBuilder(line);
+        }
+    }
+
+    public static LocalDateTime parseDateTime(Property property) {
+        if (property == null || property.getValue().isEmpty()) {
+            return null;
+        }
+        String value = property.getValue();
+        if ("DATE".equalsIgnoreCase(property.getParam("VALUE")) || value.length() == 8) {
+            return LocalDate.parse(value.substring(0, 8), DATE).atStartOfDay();
+        }
+        if (value.endsWith("Z")) {
+            return LocalDateTime.parse(value.substring(0, value.length() - 1), DATE_TIME)
+                    .atOffset(ZoneOffset.UTC)
+                    .atZoneSameInstant(ZoneId.systemDefault())
+                    .toLocalDateTime();
+        }
+        LocalDateTime local = LocalDateTime.parse(value, DATE_TIME);
+        String tzid = property.getParam("TZID");
+        if (tzid != null) {
+            try {
+                return local.atZone(ZoneId.of(tzid)).withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+            } catch (Exception e) {
+                // Unknown (e.g. Windows-style) zone names are treated as floating times
+            }
+        }
+        return local;
+    }
+
+    public static boolean isAllDay(Property property) {
+        return property != null && ("DATE".equalsIgnoreCase(property.getParam("VALUE")) || property.getValue().length() == 8);
+    }
+
+    public static Duration parseDuration(Property property) {
+        if (property == null) {
+            return null;
+        }
+        try {
+            String value = property.getValue();
+            // java.time.Duration does not accept the week designator
+            if (value.contains("W")) {
+                boolean negative = value.startsWith("-");
+                long weeks = Long.parseLong(value.replaceAll("[^0-9]", ""));
+                Duration duration = Duration.ofDays(weeks * 7);
+                return negative ? duration.negated() : duration;
+            }
+            return Duration.parse(value.replace("+", ""));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    public static String unescape(String value) {
+        if (value == null || value.indexOf('\\') < 0) {
+            return value;
+        }
+        StringBuilder out = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                out.append(next == 'n' || next == 'N' ? '\n' : next);
+            } else {
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+
+    public static final class Property {
+        private final String name;
+        private final Map<String, String> params;
+        private final String value;
+
+        private Property(String name, Map<String, String> params, String value) {
+            this.name = name;
+            this.params = params;
+            this.value = value;
+        }
+
+        static Property parse(String line) {
+            // The value starts at the first colon that is not inside a quoted parameter value
+            boolean quoted = false;
+            int colon = -1;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (c == '"') {
+                    quoted = !quoted;
+                } else if (c == ':' && !quoted) {
+                    colon = i;
+                    break;
+                }
+            }
+            if (colon < 0) {
+                return null;
+            }
+            String[] head = line.substring(0, colon).split(";");
+            Map<String, String> params = new HashMap<>();
+            for (int i = 1; i < head.length; i++) {
+                int eq = head[i].indexOf('=');
+                if (eq > 0) {
+                    params.put(head[i].substring(0, eq).toUpperCase(Locale.ROOT),
+                            head[i].substring(eq + 1).replace("\"", ""));
+                }
+            }
+            return new Property(head[0].toUpperCase(Locale.ROOT), params, line.substring(colon + 1));
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getParam(String param) {
+            return params.get(param);
+        }
+
+        public String getValue() {
+            return value;
+        }
+    }
+}
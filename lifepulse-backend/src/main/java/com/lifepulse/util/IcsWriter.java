@@ -0,0 +1,89 @@
+package com.lifepulse.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Minimal RFC 5545 writer: escapes text values and folds lines at 75 octets.
+ */
+public class IcsWriter {
+
+    private static final DateTimeFormatter UTC_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final int MAX_LINE_OCTETS = 75;
+
+    private final Writer writer;
+
+    public IcsWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    public IcsWriter begin(String component) throws IOException {
+        return line("BEGIN:" + component);
+    }
+
+    public IcsWriter end(String component) throws IOException {
+        return line("END:" + component);
+    }
+
+    public IcsWriter property(String name, String value) throws IOException {
+        return line(name + ":" + value);
+    }
+
+    public IcsWriter text(String name, String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return this;
+        }
+        return line(name + ":" + escape(value));
+    }
+
+    public IcsWriter dateTime(String name, LocalDateTime value) throws IOException {
+        if (value == null) {
+            return this;
+        }
+        String utc = value.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC).format(UTC_DATE_TIME);
+        return line(name + ":" + utc);
+    }
+
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private IcsWriter line(String content) throws IOException {
+        int octets = 0;
+        int i = 0;
+        while (i < content.length()) {
+            int codePoint = content.codePointAt(i);
+            int size = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (octets + size > MAX_LINE_OCTETS) {
+                writer.write("\r\n ");
+                // The leading space of a continuation line counts towards its length
+                octets = 1;
+            }
+            writer.write(Character.toChars(codePoint));
+            octets += size;
+            i += Character.charCount(codePoint);
+        }
+        writer.write("\r\n");
+        return this;
+    }
+
+    static String escape(String value) {
+        StringBuilder out = new StringBuilder(value.length() + 8);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> out.append("\\\\");
+                case ';' -> out.append("\\;");
+                case ',' -> out.append("\\,");
+                case '\n' -> out.append("\\n");
+                case '\r' -> { }
+                default -> out.append(c);
+            }
+        }
+        return out.toString();
+    }
+}
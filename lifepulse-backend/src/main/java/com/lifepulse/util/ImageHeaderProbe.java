@@ -0,0 +1,179 @@
+package com.lifepulse.util;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Identifies an image from its magic bytes and reads its dimensions from the header alone.
+ * Nothing is decoded: PNG, GIF and WebP need the first 30 bytes, JPEG skips segment by segment
+ * to the first frame header. Memory use is one small read buffer regardless of file size.
+ */
+public final class ImageHeaderProbe {
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    public enum Format {
+        JPEG("image/jpeg", "jpg"),
+        PNG("image/png", "png"),
+        GIF("image/gif", "gif"),
+        WEBP("image/webp", "webp");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private ImageHeaderProbe() {
+    }
+
+    /**
+     * Returns the format and dimensions, or null if the bytes are not one of the supported formats.
+     * Throws IOException (including EOFException) when the header is truncated.
+     */
+    public static ImageInfo probe(InputStream input) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(input, BUFFER_SIZE));
+        byte[] head = new byte[12];
+        in.readFully(head, 0, 2);
+
+        if ((head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xD8) {
+            return probeJpeg(in);
+        }
+
+        in.readFully(head, 2, 10);
+        if (Arrays.equals(head, 0, 8, PNG_SIGNATURE, 0, 8)) {
+            // Signature, then the IHDR chunk: length(4) "IHDR" width(4) height(4)
+            byte[] chunkType = new byte[4];
+            in.readFully(chunkType);
+            if (!"IHDR".equals(ascii(chunkType, 0, 4))) {
+                return null;
+            }
+            return new ImageInfo(Format.PNG, in.readInt(), in.readInt());
+        }
+        String magic = ascii(head, 0, 6);
+        if ("GIF87a".equals(magic) || "GIF89a".equals(magic)) {
+            // Logical screen width and height, little endian, straight after the signature
+            return new ImageInfo(Format.GIF, uint16le(head, 6), uint16le(head, 8));
+        }
+        if ("RIFF".equals(ascii(head, 0, 4)) && "WEBP".equals(ascii(head, 8, 4))) {
+            return probeWebp(in);
+        }
+        return null;
+    }
+
+    private static ImageInfo probeJpeg(DataInputStream in) throws IOException {
+        while (true) {
+            int marker = in.readUnsignedByte();
+            if (marker != 0xFF) {
+                return null;
+            }
+            // Any number of 0xFF fill bytes may precede the marker code
+            while (marker == 0xFF) {
+                marker = in.readUnsignedByte();
+            }
+            if (marker == 0x01 || (marker >= 0xD0 && marker <= 0xD8)) {
+                // Standalone markers carry no length
+                continue;
+            }
+            if (marker == 0xD9 || marker == 0xDA) {
+                // End of image or start of scan before any frame header
+                return null;
+            }
+            int length = in.readUnsignedShort();
+            if (length < 2) {
+                return null;
+            }
+            if (isStartOfFrame(marker)) {
+                in.readUnsignedByte(); // sample precision
+                int height = in.readUnsignedShort();
+                int width = in.readUnsignedShort();
+                return new ImageInfo(Format.JPEG, width, height);
+            }
+            in.skipNBytes(length - 2);
+        }
+    }
+
+    // SOF0-SOF15, excluding DHT (C4), JPG (C8) and DAC (CC) which share the range
+    private static boolean isStartOfFrame(int marker) {
+        return marker >= 0xC0 && marker <= 0xCF && marker != 0xC4 && marker != 0xC8 && marker != 0xCC;
+    }
+
+    private static ImageInfo probeWebp(DataInputStream in) throws IOException {
+        byte[] chunk = new byte[18];
+        in.readFully(chunk);
+        String fourCc = ascii(chunk, 0, 4);
+        switch (fourCc) {
+            case "VP8 ":
+                // Lossy: 3-byte frame tag, start code 9D 01 2A, then 14-bit width and height
+                if ((chunk[11] & 0xFF) != 0x9D || (chunk[12] & 0xFF) != 0x01 || (chunk[13] & 0xFF) != 0x2A) {
+                    return null;
+                }
+                return new ImageInfo(Format.WEBP, uint16le(chunk, 14) & 0x3FFF, uint16le(chunk, 16) & 0x3FFF);
+            case "VP8L": {
+                // Lossless: signature 0x2F, then width-1 and height-1 packed as 14 bits each
+                if ((chunk[8] & 0xFF) != 0x2F) {
+                    return null;
+                }
+                int bits = (chunk[9] & 0xFF) | (chunk[10] & 0xFF) << 8 | (chunk[11] & 0xFF) << 16 | (chunk[12] & 0xFF) << 24;
+                return new ImageInfo(Format.WEBP, (bits & 0x3FFF) + 1, ((bits >>> 14) & 0x3FFF) + 1);
+            }
+            case "VP8X":
+                // Extended: 4 bytes of flags, then 24-bit canvas width-1 and height-1
+                return new ImageInfo(Format.WEBP, uint24le(chunk, 12) + 1, uint24le(chunk, 15) + 1);
+            default:
+                return null;
+        }
+    }
+
+    private static String ascii(byte[] bytes, int offset, int length) {
+        return new String(bytes, offset, length, StandardCharsets.US_ASCII);
+    }
+
+    private static int uint16le(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xFF) | (bytes[offset + 1] & 0xFF) << 8;
+    }
+
+    private static int uint24le(byte[] bytes, int offset) {
+        return uint16le(bytes, offset) | (bytes[offset + 2] & 0xFF) << 16;
+    }
+
+    public static class ImageInfo {
+        private final Format format;
+        private final int width;
+        private final int height;
+
+        public ImageInfo(Format format, int width, int height) {
+            this.format = format;
+            this.width = width;
+            this.height = height;
+        }
+
+        public Format getFormat() {
+            return format;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+    }
+}
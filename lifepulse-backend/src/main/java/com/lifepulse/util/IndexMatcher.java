@@ -0,0 +1,93 @@
+package com.lifepulse.util;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Checks a query shape against the compound indexes declared on an entity, following the
+ * equality-sort-range rule: after the fixed prefix, the index must list every equality field,
+ * then the sort field, then the range field. Anything else means an in-memory sort or a wide scan.
+ */
+public final class IndexMatcher {
+
+    private IndexMatcher() {}
+
+    /**
+     * Key lists of the entity's {@code @CompoundIndex} declarations, by index name, in key order.
+     */
+    public static Map<String, List<String>> compoundIndexKeys(Class<?> entityClass) {
+        List<CompoundIndex> declared = new ArrayList<>();
+        CompoundIndexes container = entityClass.getAnnotation(CompoundIndexes.class);
+        if (container != null) {
+            declared.addAll(List.of(container.value()));
+        }
+        for (CompoundIndex index : entityClass.getAnnotationsByType(CompoundIndex.class)) {
+            if (!declared.contains(index)) {
+                declared.add(index);
+            }
+        }
+
+        Map<String, List<String>> indexes = new LinkedHashMap<>();
+        for (CompoundIndex index : declared) {
+            // Document keeps insertion order, which is the index key order
+            indexes.put(index.name(), new ArrayList<>(Document.parse(index.def()).keySet()));
+        }
+        return indexes;
+    }
+
+    /**
+     * Returns the name of the first index that serves the query without a blocking sort, or null.
+     *
+     * @param prefix    field every query is bound on (e.g. userId)
+     * @param equality  fields filtered by equality
+     * @param sortField single sort field, or null
+     * @param range     field filtered by a range, or null
+     */
+    public static String findSupportingIndex(Map<String, List<String>> indexes, String prefix,
+                                             Set<String> equality, String sortField, String range) {
+        for (Map.Entry<String, List<String>> index : indexes.entrySet()) {
+            if (supports(index.getValue(), prefix, equality, sortField, range)) {
+                return index.getKey();
+            }
+        }
+        return null;
+    }
+
+    static boolean supports(List<String> keys, String prefix, Set<String> equality, String sortField, String range) {
+        if (keys.isEmpty() || !keys.get(0).equals(prefix)) {
+            return false;
+        }
+        // Sorting on a field pinned by equality is free
+        if (sortField != null && equality.contains(sortField)) {
+            sortField = null;
+        }
+
+        int position = 1;
+        Set<String> remaining = new HashSet<>(equality);
+        while (position < keys.size() && remaining.remove(keys.get(position))) {
+            position++;
+        }
+        if (!remaining.isEmpty()) {
+            return false;
+        }
+        if (sortField != null) {
+            // A single sort key can be walked in either direction
+            if (position >= keys.size() || !keys.get(position).equals(sortField)) {
+                return false;
+            }
+            position++;
+        }
+        if (range != null && !range.equals(sortField)) {
+            return position < keys.size() && keys.get(position).equals(range);
+        }
+        return true;
+    }
+}
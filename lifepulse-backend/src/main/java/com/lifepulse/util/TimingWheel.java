@@ -0,0 +1,176 @@
+package com.lifepulse.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel keyed by an external id.
+ *
+ * Scheduling and cancellation are O(1): each entry is a node in a doubly linked
+ * bucket list and is found through the key index. Advancing costs O(expired + cascaded)
+ * per tick. Deadlines beyond the span of the top level are parked in the top level and
+ * re-inserted on cascade until they fall within range.
+ *
+ * Not thread-safe; callers are expected to guard access.
+ */
+public class TimingWheel<K, V> {
+
+    private final long tickMillis;
+    private final int bits;
+    private final int mask;
+    private final int levels;
+    private final long span;
+    private final Node<K, V>[][] buckets;
+    private final Map<K, Node<K, V>> index = new HashMap<>();
+
+    private long nextTick;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public TimingWheel(long tickMillis, int wheelBits, int levels, long startMillis) {
+        if (tickMillis <= 0 || wheelBits <= 0 || levels <= 0 || wheelBits * levels >= 63) {
+            throw new IllegalArgumentException("Invalid timing wheel geometry");
+        }
+        this.tickMillis = tickMillis;
+        this.bits = wheelBits;
+        this.mask = (1 << wheelBits) - 1;
+        this.levels = levels;
+        this.span = 1L << (wheelBits * levels);
+        this.buckets = new Node[levels][1 << wheelBits];
+        for (int level = 0; level < levels; level++) {
+            for (int slot = 0; slot <= mask; slot++) {
+                Node<K, V> head = new Node<>(null, null, 0);
+                head.prev = head;
+                head.next = head;
+                buckets[level][slot] = head;
+            }
+        }
+        this.nextTick = startMillis / tickMillis + 1;
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    public boolean contains(K key) {
+        return index.containsKey(key);
+    }
+
+    public V get(K key) {
+        Node<K, V> node = index.get(key);
+        return node != null ? node.value : null;
+    }
+
+    /**
+     * Schedules (or reschedules) the value under the given key. Deadlines in the past
+     * fire on the next tick.
+     */
+    public void schedule(K key, long deadlineMillis, V value) {
+        Node<K, V> existing = index.remove(key);
+        if (existing != null) {
+            unlink(existing);
+        }
+        Node<K, V> node = new Node<>(key, value, Math.max(deadlineMillis / tickMillis, nextTick));
+        index.put(key, node);
+        insert(node);
+    }
+
+    public V cancel(K key) {
+        Node<K, V> node = index.remove(key);
+        if (node == null) {
+            return null;
+        }
+        unlink(node);
+        return node.value;
+    }
+
+    /**
+     * Advances the wheel up to the given time, handing every expired value to the consumer.
+     */
+    public void advance(long nowMillis, Consumer<V> expired) {
+        long target = nowMillis / tickMillis;
+        while (nextTick <= target) {
+            cascade(nextTick);
+            Node<K, V> head = buckets[0][(int) (nextTick & mask)];
+            Node<K, V> node = head.next;
+            while (node != head) {
+                Node<K, V> following = node.next;
+                unlink(node);
+                index.remove(node.key);
+                expired.accept(node.value);
+                node = following;
+            }
+            nextTick++;
+        }
+    }
+
+    public void clear() {
+        for (Node<K, V> node : index.values()) {
+            unlink(node);
+        }
+        index.clear();
+    }
+
+    private void cascade(long tick) {
+        for (int level = 1; level < levels; level++) {
+            if ((tick & ((1L << (bits * level)) - 1)) != 0) {
+                return;
+            }
+            int slot = (int) ((tick >>> (bits * level)) & mask);
+            Node<K, V> head = buckets[level][slot];
+            Node<K, V> node = head.next;
+            head.next = head;
+            head.prev = head;
+            while (node != head) {
+                Node<K, V> following = node.next;
+                insert(node);
+                node = following;
+            }
+            if (slot != 0) {
+                return;
+            }
+        }
+    }
+
+    private void insert(Node<K, V> node) {
+        long delta = node.deadlineTick - nextTick;
+        long effective = node.deadlineTick;
+        if (delta >= span) {
+            effective = nextTick + span - 1;
+            delta = span - 1;
+        }
+        int level = 0;
+        while (level < levels - 1 && delta >= (1L << (bits * (level + 1)))) {
+            level++;
+        }
+        int slot = (int) ((effective >>> (bits * level)) & mask);
+        Node<K, V> head = buckets[level][slot];
+        node.prev = head.prev;
+        node.next = head;
+        head.prev.next = node;
+        head.prev = node;
+    }
+
+    private void unlink(Node<K, V> node) {
+        if (node.prev != null) {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+    }
+
+    private static final class Node<K, V> {
+        private final K key;
+        private final V value;
+        private final long deadlineTick;
+        private Node<K, V> prev;
+        private Node<K, V> next;
+
+        private Node(K key, V value, long deadlineTick) {
+            this.key = key;
+            this.value = value;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
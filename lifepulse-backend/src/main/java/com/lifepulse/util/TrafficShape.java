@@ -0,0 +1,196 @@
+package com.lifepulse.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * The anonymized form of recorded request values, and its inverse for replay.
+ *
+ * <p>Numbers, booleans and enum-like constants ({@code WORK}, {@code HIGH}) are kept as they are.
+ * Object ids become {@code #token}, a keyed hash, so the same entity keeps the same token within a
+ * recording without the id being recoverable. Dates and date-times become offsets from the request
+ * time ({@code @d-1}, {@code @t+3600}) so replayed edits land at the same relative position. Any
+ * other string becomes {@code ~length}, and so does any value under a credential-like name
+ * ({@code password}, {@code calendarFeedToken}, ...) whatever it looks like, so a password such as
+ * {@code HUNTER2} or {@code 12345678} is never kept as an enum or a number.
+ */
+public class TrafficShape {
+
+    private static final Pattern ENUM_LIKE = Pattern.compile("[A-Z][A-Z0-9_]{0,39}");
+    private static final Pattern OBJECT_ID = Pattern.compile("[0-9a-fA-F]{24}");
+    private static final Pattern NUMBER = Pattern.compile("-?\\d{1,18}(\\.\\d{1,9})?");
+    private static final Pattern SENSITIVE_NAME = Pattern.compile(
+            "(?i:.*(password|passwd|secret|token|credential|phone).*)|pin|.*Pin(Code)?");
+    private static final int MAX_PLACEHOLDER_LENGTH = 256;
+    private static final int TOKEN_HEX_LENGTH = 16;
+
+    private final ThreadLocal<Mac> mac;
+
+    public TrafficShape(byte[] salt) {
+        SecretKeySpec key = new SecretKeySpec(salt, "HmacSHA256");
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance("HmacSHA256");
+                instance.init(key);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 unavailable", e);
+            }
+        });
+    }
+
+    /**
+     * Keyed hash of the value, as hex. Stable for a given salt.
+     */
+    public String token(String value) {
+        byte[] digest = mac.get().doFinal(value.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest).substring(0, TOKEN_HEX_LENGTH);
+    }
+
+    public JsonNode shape(JsonNode node, LocalDateTime requestTime) {
+        if (node.isObject()) {
+            ObjectNode shaped = JsonNodeFactory.instance.objectNode();
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                shaped.set(field.getKey(), isSensitive(field.getKey())
+                        ? TextNode.valueOf(redact(field.getValue().isValueNode() ? field.getValue().asText() : ""))
+                        : shape(field.getValue(), requestTime));
+            }
+            return shaped;
+        }
+        if (node.isArray()) {
+            ArrayNode shaped = JsonNodeFactory.instance.arrayNode();
+            node.forEach(element -> shaped.add(shape(element, requestTime)));
+            return shaped;
+        }
+        if (node.isTextual()) {
+            return TextNode.valueOf(shape(node.asText(), requestTime));
+        }
+        return node;
+    }
+
+    /**
+     * Shapes a named value such as a query parameter or path variable, redacting credential-like names.
+     */
+    public String shape(String name, String value, LocalDateTime requestTime) {
+        return isSensitive(name) ? redact(value) : shape(value, requestTime);
+    }
+
+    public String shape(String value, LocalDateTime requestTime) {
+        if (ENUM_LIKE.matcher(value).matches() || NUMBER.matcher(value).matches()
+                || "true".equals(value) || "false".equals(value)) {
+            return value;
+        }
+        if (OBJECT_ID.matcher(value).matches()) {
+            return "#" + token(value.toLowerCase());
+        }
+        if (value.length() == 10) {
+            try {
+                long days = ChronoUnit.DAYS.between(requestTime.toLocalDate(), LocalDate.parse(value));
+                return "@d" + signed(days);
+            } catch (DateTimeParseException e) {
+                // not a date
+            }
+        }
+        if (value.length() >= 16 && value.length() <= 29 && value.charAt(10) == 'T') {
+            try {
+                long seconds = Duration.between(requestTime, LocalDateTime.parse(value)).getSeconds();
+                return "@t" + signed(seconds);
+            } catch (DateTimeParseException e) {
+                // not a local date-time
+            }
+        }
+        return redact(value);
+    }
+
+    private static boolean isSensitive(String name) {
+        return SENSITIVE_NAME.matcher(name).matches();
+    }
+
+    private static String redact(String value) {
+        return "~" + Math.min(value.length(), MAX_PLACEHOLDER_LENGTH);
+    }
+
+    /**
+     * Rebuilds a concrete value from its shape.
+     *
+     * @param ids resolves a {@code #token} to an id valid on the replay target, or null if none is known
+     * @return the value, or null if it is a token {@code ids} could not resolve
+     */
+    public static String unshape(String shaped, LocalDateTime replayTime, Function<String, String> ids) {
+        if (shaped.isEmpty()) {
+            return shaped;
+        }
+        switch (shaped.charAt(0)) {
+            case '#':
+                return ids.apply(shaped.substring(1));
+            case '~':
+                return "x".repeat(Integer.parseInt(shaped.substring(1)));
+            case '@':
+                long offset = Long.parseLong(shaped.substring(2));
+                return shaped.charAt(1) == 'd'
+                        ? replayTime.toLocalDate().plusDays(offset).toString()
+                        : replayTime.truncatedTo(ChronoUnit.SECONDS).plusSeconds(offset).toString();
+            default:
+                return shaped;
+        }
+    }
+
+    /**
+     * @return the rebuilt tree, or null if it references a token {@code ids} could not resolve
+     */
+    public static JsonNode unshape(JsonNode node, LocalDateTime replayTime, Function<String, String> ids) {
+        if (node.isObject()) {
+            ObjectNode rebuilt = JsonNodeFactory.instance.objectNode();
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                JsonNode value = unshape(field.getValue(), replayTime, ids);
+                if (value == null) {
+                    return null;
+                }
+                rebuilt.set(field.getKey(), value);
+            }
+            return rebuilt;
+        }
+        if (node.isArray()) {
+            ArrayNode rebuilt = JsonNodeFactory.instance.arrayNode();
+            for (JsonNode element : node) {
+                JsonNode value = unshape(element, replayTime, ids);
+                if (value == null) {
+                    return null;
+                }
+                rebuilt.add(value);
+            }
+            return rebuilt;
+        }
+        if (node.isTextual()) {
+            String value = unshape(node.asText(), replayTime, ids);
+            return value == null ? null : TextNode.valueOf(value);
+        }
+        return node;
+    }
+
+    private static String signed(long value) {
+        return value >= 0 ? "+" + value : String.valueOf(value);
+    }
+}